@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Gera um arquivo AppCDS para o jar da aplicação (perfil Maven cds).
+#
+# O CDS não lê classes de jars aninhados, então o jar do Spring Boot é desmontado em
+# beerstock.jar (classes da aplicação) + lib/ (dependências). O classpath explícito fica em
+# beerstock.args, para que treino e execução usem exatamente a mesma ordem de jars.
+#
+# Os perfis do treino têm de ser os mesmos do processamento AOT (aot.profiles no pom) e da execução.
+#
+# Uso: scripts/cds-train.sh [jar] [diretório de saída] [perfis]
+set -euo pipefail
+
+JAR=${1:-target/beerstock-0.0.1-SNAPSHOT.jar}
+OUT=${2:-target/cds}
+PROFILES=${3:-prod}
+MAIN_CLASS=com.dio.beerstock.BeerstockApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/lib"
+OUT=$(cd "$OUT" && pwd)
+unpacked=$(mktemp -d)
+trap 'rm -rf "$unpacked"' EXIT
+
+unzip -q "$JAR" -d "$unpacked"
+cp "$unpacked"/BOOT-INF/lib/*.jar "$OUT/lib/"
+jar --create --file "$OUT/beerstock.jar" -C "$unpacked/BOOT-INF/classes" .
+
+classpath="$OUT/beerstock.jar"
+for lib in "$OUT"/lib/*.jar; do
+  classpath+=":$lib"
+done
+printf -- '-cp %s\n%s\n' "$classpath" "$MAIN_CLASS" > "$OUT/beerstock.args"
+
+# treino: sobe o contexto (com AOT) até o refresh e encerra, gravando as classes carregadas
+java -XX:ArchiveClassesAtExit="$OUT/beerstock.jsa" \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.profiles.active="$PROFILES" \
+  @"$OUT/beerstock.args"
+
+echo "AppCDS archive: $OUT/beerstock.jsa"
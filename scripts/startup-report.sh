@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Compara tempo de inicialização e memória residente (RSS) do build JVM, da JVM com
+# AOT + AppCDS e da imagem nativa. Builds ausentes são ignorados.
+#
+# Uso:
+#   ./mvnw -DskipTests package                 # target/beerstock-0.0.1-SNAPSHOT.jar
+#   ./mvnw -Pcds -DskipTests package           # target/cds (jar + AOT + arquivo CDS)
+#   ./mvnw -Dnative -DskipTests package        # target/beerstock (requer GraalVM 22.3+)
+#   scripts/startup-report.sh [jar] [binário nativo] [diretório cds]
+#
+# Tempo de inicialização: do exec até o primeiro 200 em GET /api/v1/beers.
+# RSS: VmRSS do processo logo após essa primeira resposta.
+set -euo pipefail
+
+JAR=${1:-target/beerstock-0.0.1-SNAPSHOT.jar}
+NATIVE=${2:-target/beerstock}
+CDS=${3:-target/cds}
+PORT=${PORT:-18080}
+RUNS=${RUNS:-3}
+ARGS=(--server.port="$PORT" --spring.profiles.active=prod)
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local label=$1; shift
+  local total=0 rss=0
+  for _ in $(seq "$RUNS"); do
+    local start pid
+    start=$(now_ms)
+    "$@" "${ARGS[@]}" >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/v1/beers" >/dev/null; do
+      kill -0 "$pid" 2>/dev/null || { echo "$label: process exited before answering" >&2; return 1; }
+      sleep 0.01
+    done
+    total=$((total + $(now_ms) - start))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+  done
+  printf '| %-6s | %8d ms | %8d MB |\n' "$label" $((total / RUNS)) $((rss / 1024))
+}
+
+echo "| build  | startup     | RSS         |"
+echo "|--------|-------------|-------------|"
+[[ -f $JAR ]] && measure jvm java -jar "$JAR" || echo "| jvm    | (missing $JAR) |"
+[[ -f $CDS/beerstock.jsa ]] && measure cds java -XX:SharedArchiveFile="$CDS/beerstock.jsa" \
+  -Dspring.aot.enabled=true @"$CDS/beerstock.args" || echo "| cds    | (missing $CDS) |"
+[[ -x $NATIVE ]] && measure native "$NATIVE" || echo "| native | (missing $NATIVE) |"
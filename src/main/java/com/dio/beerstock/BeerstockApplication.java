@@ -1,5 +1,6 @@
 package com.dio.beerstock;
 
+import com.dio.beerstock.config.StartupProfilingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class BeerstockApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BeerstockApplication.class, args);
+		SpringApplication application = new SpringApplication(BeerstockApplication.class);
+		application.addListeners(StartupProfilingConfig.applicationStartupListener());
+		application.run(args);
 	}
 
 }
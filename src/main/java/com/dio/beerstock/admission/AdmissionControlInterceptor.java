@@ -0,0 +1,187 @@
+package com.dio.beerstock.admission;
+
+import com.dio.beerstock.exception.RateLimitExceededException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão da API de cervejas.
+ * <p>
+ * Operações de escrita passam por dois token buckets, um por cliente e um global;
+ * se algum estiver vazio, a requisição é recusada com 429 antes de tocar o banco.
+ * O cliente é o usuário autenticado ou, sem autenticação, o endereço remoto (atrás
+ * de proxy, configure {@code server.forward-headers-strategy}); um cabeçalho
+ * escolhido pelo próprio chamador não serve, pois bastaria trocá-lo a cada
+ * requisição. A tabela de baldes tem tamanho máximo: acima dele, clientes novos
+ * dividem um único balde até a limpeza liberar espaço. O token do cliente só é
+ * gasto se o global também aceitar.
+ * <p>
+ * Escritas e leituras têm ainda cada uma um bulkhead (semáforo) que limita quantas
+ * executam ao mesmo tempo; os dois juntos dividem o pool de conexões, de modo que
+ * uma rajada de um tipo não ocupe todas as conexões e derrube o outro junto. Sem
+ * vaga, a resposta é 503. {@code bulkhead.reads=0} desliga o bulkhead de leituras.
+ * <p>
+ * Em respostas assíncronas (comandos de estoque), a vaga do bulkhead é liberada
+ * quando o processamento sai da thread da requisição, e o redespacho assíncrono
+ * não passa de novo pela admissão.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final double clientRate;
+    private final int clientBurst;
+    private final int maxTrackedClients;
+    private final TokenBucket globalBucket;
+    private final TokenBucket overflowBucket;
+    private final ConcurrentMap<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Semaphore readBulkhead;
+    private final Semaphore writeBulkhead;
+    private final long bulkheadWaitMs;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AdmissionControlInterceptor(
+            @Value("${beerstock.admission.client.permits-per-second:50}") double clientRate,
+            @Value("${beerstock.admission.client.burst:100}") int clientBurst,
+            @Value("${beerstock.admission.client.max-tracked:10000}") int maxTrackedClients,
+            @Value("${beerstock.admission.global.permits-per-second:500}") double globalRate,
+            @Value("${beerstock.admission.global.burst:1000}") int globalBurst,
+            @Value("${beerstock.admission.bulkhead.reads:5}") int readConcurrency,
+            @Value("${beerstock.admission.bulkhead.writes:5}") int writeConcurrency,
+            @Value("${beerstock.admission.bulkhead.max-wait-ms:100}") long bulkheadWaitMs,
+            MeterRegistry meterRegistry) {
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.maxTrackedClients = maxTrackedClients;
+        this.globalBucket = new TokenBucket(globalRate, globalBurst);
+        this.overflowBucket = new TokenBucket(clientRate, clientBurst);
+        this.readBulkhead = readConcurrency > 0 ? new Semaphore(readConcurrency) : null;
+        this.writeBulkhead = new Semaphore(writeConcurrency);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.meterRegistry = meterRegistry;
+        if (readBulkhead != null) {
+            meterRegistry.gauge("beerstock.admission.bulkhead.available", Tags.of("kind", "read"),
+                    readBulkhead, Semaphore::availablePermits);
+        }
+        meterRegistry.gauge("beerstock.admission.bulkhead.available", Tags.of("kind", "write"),
+                writeBulkhead, Semaphore::availablePermits);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws RateLimitExceededException, ServiceOverloadedException, InterruptedException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        boolean write = isWrite(request);
+        if (write) {
+            TokenBucket clientBucket = clientBucket(clientKey(request));
+            admit(clientBucket, "client");
+            try {
+                admit(globalBucket, "global");
+            } catch (RateLimitExceededException e) {
+                clientBucket.refund();
+                throw e;
+            }
+        }
+
+        Semaphore bulkhead = write ? writeBulkhead : readBulkhead;
+        if (bulkhead == null) {
+            return true;
+        }
+        if (!bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+            reject(write ? "bulkhead-write" : "bulkhead-read");
+            throw new ServiceOverloadedException(write ? "write" : "read");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        releasePermit(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        releasePermit(request);
+    }
+
+    /**
+     * Remove os baldes de clientes que já estão cheios (equivalentes a um balde novo),
+     * limitando a memória ocupada por clientes que não voltam.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.admission.client.cleanup-interval-ms:60000}")
+    public void evictIdleClients() {
+        clientBuckets.values().removeIf(TokenBucket::isIdle);
+    }
+
+    // =============== Métodos Privados ===============
+
+    private TokenBucket clientBucket(String clientKey) {
+        TokenBucket bucket = clientBuckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (clientBuckets.size() >= maxTrackedClients) {
+            return overflowBucket;
+        }
+        return clientBuckets.computeIfAbsent(clientKey, key -> new TokenBucket(clientRate, clientBurst));
+    }
+
+    private void admit(TokenBucket bucket, String scope) throws RateLimitExceededException {
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            reject(scope);
+            throw new RateLimitExceededException(scope, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        }
+    }
+
+    private void releasePermit(HttpServletRequest request) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Semaphore bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("beerstock.admission.rejected", "reason", reason).increment();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return false;
+        }
+        // busca em lote usa POST, mas é leitura
+        return !request.getRequestURI().endsWith("/_batchGet");
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dio.beerstock.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks, implementado como GCRA (generic cell rate algorithm).
+ * <p>
+ * Todo o estado cabe em um único {@code long}: o instante teórico em que o balde
+ * estaria cheio de novo ({@code tat}). Cada permissão avança esse instante em
+ * {@code 1 / taxa}; a requisição é aceita enquanto ele não passar de
+ * {@code agora + capacidade / taxa}. A atualização é feita por CAS, então não há
+ * bloqueio nem estado parcialmente atualizado sob concorrência.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong tat;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+        this.clock = clock;
+        this.tat = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Tenta consumir uma permissão.
+     *
+     * @return 0 se aceita; caso contrário, nanos até a próxima permissão disponível
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devolve uma permissão consumida por {@link #tryAcquire()}, quando a requisição
+     * acabou recusada por outro limite. Nunca deixa o balde acima da capacidade.
+     */
+    public void refund() {
+        tat.addAndGet(-nanosPerToken);
+    }
+
+    /**
+     * Balde cheio: nenhuma permissão consumida dentro da janela atual.
+     */
+    public boolean isIdle() {
+        return tat.get() <= clock.getAsLong();
+    }
+}
@@ -0,0 +1,201 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.BrandStockDTO;
+import com.dio.beerstock.dto.FillRatioBucketDTO;
+import com.dio.beerstock.dto.TypeStockDTO;
+import com.dio.beerstock.enums.BeerType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Cópia imutável e colunar do catálogo para consultas analíticas.
+ * <p>
+ * Cada cerveja é uma posição {@code i} das colunas: {@code max} e {@code quantity} em
+ * {@code int[]}, a marca como código de um dicionário e o tipo como ordinal de
+ * {@link BeerType}. As agregações percorrem as colunas com streams paralelos, sem objetos
+ * por linha.
+ */
+public final class CatalogSnapshot {
+
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private final int size;
+    private final int[] max;
+    private final int[] quantity;
+    private final int[] brand;
+    private final String[] brandDictionary;
+    private final byte[] type;
+    private final String version;
+    private final Instant takenAt;
+
+    private CatalogSnapshot(Builder builder, String version, Instant takenAt) {
+        this.size = builder.size;
+        this.max = Arrays.copyOf(builder.max, size);
+        this.quantity = Arrays.copyOf(builder.quantity, size);
+        this.brand = Arrays.copyOf(builder.brand, size);
+        this.brandDictionary = builder.brandDictionary.toArray(String[]::new);
+        this.type = Arrays.copyOf(builder.type, size);
+        this.version = version;
+        this.takenAt = takenAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int brandCount() {
+        return brandDictionary.length;
+    }
+
+    /**
+     * Versão do catálogo ({@code CatalogVersionTracker}) no momento da leitura.
+     */
+    public String version() {
+        return version;
+    }
+
+    public Instant takenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Estoque total e capacidade por tipo, na ordem de {@link BeerType}; tipos sem cervejas ficam de fora.
+     */
+    public List<TypeStockDTO> stockByType() {
+        // [0] cervejas, [1] quantidade, [2] capacidade, indexados pelo ordinal
+        long[][] totals = IntStream.range(0, size).parallel().collect(
+                () -> new long[3][TYPES.length],
+                (acc, i) -> {
+                    acc[0][type[i]]++;
+                    acc[1][type[i]] += quantity[i];
+                    acc[2][type[i]] += max[i];
+                },
+                CatalogSnapshot::merge);
+
+        List<TypeStockDTO> result = new ArrayList<>();
+        for (BeerType beerType : TYPES) {
+            int ordinal = beerType.ordinal();
+            if (totals[0][ordinal] > 0) {
+                result.add(TypeStockDTO.builder()
+                        .type(beerType)
+                        .beers((int) totals[0][ordinal])
+                        .quantity(totals[1][ordinal])
+                        .capacity(totals[2][ordinal])
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marcas ordenadas pelo estoque total (desempate pelo nome).
+     */
+    public List<BrandStockDTO> brandRanking(int limit) {
+        // [0] cervejas, [1] quantidade, indexados pelo código da marca
+        long[][] totals = IntStream.range(0, size).parallel().collect(
+                () -> new long[2][brandDictionary.length],
+                (acc, i) -> {
+                    acc[0][brand[i]]++;
+                    acc[1][brand[i]] += quantity[i];
+                },
+                CatalogSnapshot::merge);
+
+        return IntStream.range(0, brandDictionary.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(code -> totals[1][code]).reversed()
+                        .thenComparing(code -> brandDictionary[code]))
+                .limit(limit)
+                .map(code -> BrandStockDTO.builder()
+                        .brand(brandDictionary[code])
+                        .beers((int) totals[0][code])
+                        .quantity(totals[1][code])
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Histograma da ocupação ({@code quantity / max}) em {@code buckets} faixas iguais entre 0 e 1.
+     */
+    public List<FillRatioBucketDTO> fillRatioHistogram(int buckets) {
+        long[] counts = IntStream.range(0, size).parallel().collect(
+                () -> new long[buckets],
+                (acc, i) -> acc[bucketOf(i, buckets)]++,
+                (left, right) -> Arrays.setAll(left, b -> left[b] + right[b]));
+
+        List<FillRatioBucketDTO> result = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            result.add(FillRatioBucketDTO.builder()
+                    .from((double) b / buckets)
+                    .to((double) (b + 1) / buckets)
+                    .beers((int) counts[b])
+                    .build());
+        }
+        return result;
+    }
+
+    // =============== Métodos Privados ===============
+
+    private int bucketOf(int i, int buckets) {
+        double ratio = max[i] > 0 ? (double) quantity[i] / max[i] : 0;
+        return Math.min(Math.max((int) (ratio * buckets), 0), buckets - 1);
+    }
+
+    private static void merge(long[][] left, long[][] right) {
+        for (int column = 0; column < left.length; column++) {
+            for (int i = 0; i < left[column].length; i++) {
+                left[column][i] += right[column][i];
+            }
+        }
+    }
+
+    /**
+     * Acumula as linhas do catálogo em colunas que crescem sob demanda.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] max = new int[1024];
+        private int[] quantity = new int[1024];
+        private int[] brand = new int[1024];
+        private byte[] type = new byte[1024];
+        private final Map<String, Integer> brandCodes = new HashMap<>();
+        private final List<String> brandDictionary = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String brandName, int maxValue, int quantityValue, BeerType beerType) {
+            if (size == max.length) {
+                int capacity = size * 2;
+                max = Arrays.copyOf(max, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+                brand = Arrays.copyOf(brand, capacity);
+                type = Arrays.copyOf(type, capacity);
+            }
+            max[size] = maxValue;
+            quantity[size] = quantityValue;
+            brand[size] = brandCodes.computeIfAbsent(brandName, name -> {
+                brandDictionary.add(name);
+                return brandDictionary.size() - 1;
+            });
+            type[size] = (byte) beerType.ordinal();
+            size++;
+            return this;
+        }
+
+        public CatalogSnapshot build(String version, Instant takenAt) {
+            return new CatalogSnapshot(this, version, takenAt);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.repository.BeerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Mantém o {@link CatalogSnapshot} usado pelos endpoints analíticos.
+ * <p>
+ * A cada intervalo, o resumo do catálogo ({@link BeerStore#catalogFingerprint()}, uma
+ * agregação no banco) é comparado com o do snapshot atual; se mudou, as colunas de estoque
+ * são relidas pelo {@link BeerStore} (sem carregar entidades JPA, e de todos os shards
+ * quando particionado) e o snapshot é trocado de uma vez. Como o resumo vem do banco,
+ * alterações feitas por outras instâncias também são vistas, e as consultas analíticas
+ * ficam no máximo um intervalo atrasadas.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final BeerStore beerStore;
+    private volatile CatalogSnapshot snapshot;
+
+    @Autowired
+    public CatalogSnapshotService(BeerStore beerStore) {
+        this.beerStore = beerStore;
+    }
+
+    /**
+     * Relê o catálogo se ele mudou desde o último snapshot. O resumo é lido antes da
+     * consulta: uma alteração concorrente faz a próxima execução reler, nunca ser ignorada.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.analytics.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        String version = beerStore.catalogFingerprint();
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.version().equals(version)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+        beerStore.scanStock(builder::add);
+        snapshot = builder.build(version, Instant.now());
+        log.debug("Catalog snapshot {} refreshed with {} beers in {} ms",
+                version, snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,236 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.ReorderSuggestionDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sugestões de reposição calculadas a partir da demanda observada.
+ * <p>
+ * Cada cerveja guarda uma soma com decaimento exponencial das unidades retiradas em
+ * {@code decrement} (meia-vida {@code half-life-days}), atualizada em O(1) por movimentação.
+ * O consumo diário é essa soma dividida pela janela efetiva da média; a janela mínima é de
+ * um dia, para que a primeira venda não vire uma taxa absurda. A quantidade sugerida cobre
+ * {@code lead-time-days + coverage-days} de consumo, limitada ao {@code max} da cerveja.
+ * <p>
+ * As cervejas com demanda ficam também em um índice ordenado pela projeção de quando o
+ * estoque acaba, atualizado a cada movimentação. A chave ignora a janela da média (que só
+ * depende de há quanto tempo a cerveja é acompanhada), então dá um limite inferior para os
+ * dias até acabar; a consulta percorre o índice em ordem e para assim que nenhuma cerveja
+ * restante pode entrar entre as {@code limit} primeiras, sem varrer nem ordenar o mapa todo.
+ * <p>
+ * O estado fica só em memória e começa na inicialização: cervejas sem movimentações desde
+ * então não têm demanda conhecida e não recebem sugestão.
+ */
+@Service
+public class ReorderSuggestionService {
+
+    private static final double DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final Comparator<ReorderSuggestionDTO> BY_STOCK_OUT =
+            Comparator.comparing(ReorderSuggestionDTO::getDaysUntilStockOut);
+
+    private final double decayMillis;
+    private final double horizonDays;
+    // menor janela possível da média, em dias (cerveja acompanhada há um dia ou menos)
+    private final double minWindowDays;
+    private final Map<Long, Demand> demand = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> byStockOut = new ConcurrentSkipListSet<>();
+
+    @Autowired
+    public ReorderSuggestionService(@Value("${beerstock.reorder.half-life-days:7}") double halfLifeDays,
+                                    @Value("${beerstock.reorder.lead-time-days:3}") double leadTimeDays,
+                                    @Value("${beerstock.reorder.coverage-days:14}") double coverageDays) {
+        this.decayMillis = halfLifeDays * DAY_MILLIS / Math.log(2);
+        this.horizonDays = leadTimeDays + coverageDays;
+        this.minWindowDays = decayMillis * (1 - Math.exp(-DAY_MILLIS / decayMillis)) / DAY_MILLIS;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.getType() == BeerEventType.DELETED) {
+            Demand removed = demand.remove(event.getBeerId());
+            if (removed != null) {
+                removed.remove();
+            }
+            return;
+        }
+        long at = event.getOccurredAt().toEpochMilli();
+        Demand beerDemand = demand.computeIfAbsent(event.getBeerId(), id -> new Demand(id, at));
+        beerDemand.record(event, at);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        batch.getEvents().forEach(this::onBeerChanged);
+    }
+
+    /**
+     * Cervejas que precisam de reposição, das que acabam primeiro para as que acabam depois.
+     */
+    public List<ReorderSuggestionDTO> suggestions(int limit) {
+        return suggestions(limit, Instant.now());
+    }
+
+    List<ReorderSuggestionDTO> suggestions(int limit, Instant now) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        long at = now.toEpochMilli();
+        PriorityQueue<ReorderSuggestionDTO> best = new PriorityQueue<>(BY_STOCK_OUT.reversed());
+        Set<Long> seen = new HashSet<>();
+        for (Ranked ranked : byStockOut) {
+            if (best.size() == limit && minDaysUntilStockOut(ranked, at) >= best.peek().getDaysUntilStockOut()) {
+                break;
+            }
+            Demand beerDemand = demand.get(ranked.beerId());
+            if (beerDemand == null || !seen.add(ranked.beerId())) {
+                continue;
+            }
+            ReorderSuggestionDTO suggestion = beerDemand.suggest(ranked.beerId(), at);
+            if (suggestion != null) {
+                best.add(suggestion);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<ReorderSuggestionDTO> sorted = new ArrayList<>(best);
+        sorted.sort(BY_STOCK_OUT);
+        return sorted;
+    }
+
+    // =============== Métodos Privados ===============
+
+    /**
+     * Dias até acabar com a menor janela possível: nenhuma cerveja com esta chave acaba antes.
+     */
+    private double minDaysUntilStockOut(Ranked ranked, long now) {
+        return Math.exp(ranked.key() + now / decayMillis) * minWindowDays;
+    }
+
+    /**
+     * Posição de uma cerveja no índice. {@code key} é o logaritmo de
+     * {@code quantity / (decayedUnits * e^(decayedAt / decay))}: somado a {@code now / decay},
+     * dá os dias até acabar com a janela de um dia, e a ordem entre cervejas não muda com o tempo.
+     */
+    private record Ranked(double key, long beerId) implements Comparable<Ranked> {
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byKey = Double.compare(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(beerId, other.beerId);
+        }
+    }
+
+    private final class Demand {
+        private final long beerId;
+        private final long trackedSince;
+        private double decayedUnits;
+        private long decayedAt;
+        private String name;
+        private String brand;
+        private int quantity;
+        private int max;
+        private long stateAt = Long.MIN_VALUE;
+        private Ranked ranked;
+        private boolean removed;
+
+        Demand(long beerId, long trackedSince) {
+            this.beerId = beerId;
+            this.trackedSince = trackedSince;
+            this.decayedAt = trackedSince;
+        }
+
+        synchronized void record(BeerChangedEvent event, long at) {
+            if (removed) {
+                return;
+            }
+            if (event.getType() == BeerEventType.DECREMENTED && event.getDelta() < 0) {
+                double units = -event.getDelta();
+                if (at >= decayedAt) {
+                    decayedUnits = decayedUnits * decay(at - decayedAt) + units;
+                    decayedAt = at;
+                } else {
+                    // evento atrasado (commits concorrentes): entra já decaído até o instante atual
+                    decayedUnits += units * decay(decayedAt - at);
+                }
+            }
+            if (at >= stateAt) {
+                BeerDTO beer = event.getBeer();
+                stateAt = at;
+                name = beer.getName();
+                brand = beer.getBrand();
+                quantity = beer.getQuantity();
+                max = beer.getMax();
+            }
+            reindex();
+        }
+
+        synchronized void remove() {
+            removed = true;
+            if (ranked != null) {
+                byStockOut.remove(ranked);
+                ranked = null;
+            }
+        }
+
+        synchronized ReorderSuggestionDTO suggest(Long beerId, long now) {
+            double window = decayMillis * (1 - decay(Math.max(now - trackedSince, (long) DAY_MILLIS)));
+            double daily = decayedUnits * decay(Math.max(now - decayedAt, 0)) / window * DAY_MILLIS;
+            if (daily <= 0) {
+                return null;
+            }
+            int needed = (int) Math.ceil(daily * horizonDays) - quantity;
+            int suggested = Math.min(needed, max - quantity);
+            if (suggested <= 0) {
+                return null;
+            }
+            return ReorderSuggestionDTO.builder()
+                    .beerId(beerId)
+                    .name(name)
+                    .brand(brand)
+                    .quantity(quantity)
+                    .max(max)
+                    .dailyConsumption(daily)
+                    .daysUntilStockOut(quantity / daily)
+                    .suggestedQuantity(suggested)
+                    .build();
+        }
+
+        private void reindex() {
+            Ranked updated = decayedUnits > 0
+                    ? new Ranked(Math.log(quantity) - Math.log(decayedUnits) - decayedAt / decayMillis, beerId)
+                    : null;
+            if (ranked != null) {
+                byStockOut.remove(ranked);
+            }
+            if (updated != null) {
+                byStockOut.add(updated);
+            }
+            ranked = updated;
+        }
+
+        private double decay(long elapsedMillis) {
+            return Math.exp(-elapsedMillis / decayMillis);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.StockSeriesPointDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buffer circular de tamanho fixo com o estoque de uma cerveja agregado em faixas de
+ * tempo ({@code min}, {@code max} e {@code last} por faixa). Ao encher, a faixa mais antiga
+ * é sobrescrita.
+ * <p>
+ * Cada faixa guarda o nível herdado da anterior (o estoque valia isso até a primeira
+ * alteração da faixa), e {@code min}/{@code max} o incluem, cobrindo o intervalo inteiro.
+ * Faixas sem alterações não são gravadas: o nível delas é o {@code last} da faixa anterior.
+ * Um evento atrasado cuja faixa não foi gravada insere a faixa na posição dela; se ele
+ * passa a ser o último nível da faixa, o nível herdado pela seguinte é corrigido.
+ * Os arrays crescem sob demanda até {@code capacity}, para que cervejas com poucas
+ * alterações ocupem pouca memória. Não é thread-safe; o chamador sincroniza.
+ */
+class StockRollupRing {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int NO_LEVEL = -1;
+
+    private final long resolutionMillis;
+    private final int capacity;
+    private long[] start;
+    private long[] lastAt;
+    private int[] min;
+    private int[] max;
+    private int[] last;
+    private int[] opening;
+    private int newest = -1;
+    private int count;
+
+    StockRollupRing(long resolutionMillis, int capacity) {
+        int initial = Math.min(capacity, INITIAL_CAPACITY);
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+        this.start = new long[initial];
+        this.lastAt = new long[initial];
+        this.min = new int[initial];
+        this.max = new int[initial];
+        this.last = new int[initial];
+        this.opening = new int[initial];
+    }
+
+    void record(long at, int quantity) {
+        long bucket = at - Math.floorMod(at, resolutionMillis);
+        if (count > 0) {
+            if (bucket == start[newest]) {
+                update(newest, at, quantity);
+                return;
+            }
+            if (bucket < start[newest]) {
+                // evento atrasado (commits concorrentes)
+                recordLate(bucket, at, quantity);
+                return;
+            }
+        }
+
+        if (count == start.length && count < capacity) {
+            grow();
+        }
+        int previous = newest;
+        newest = (newest + 1) % start.length;
+        count = Math.min(count + 1, start.length);
+        write(newest, bucket, at, quantity, count > 1 ? last[previous] : NO_LEVEL);
+    }
+
+    /**
+     * Faixas gravadas, da mais antiga para a mais recente.
+     */
+    List<StockSeriesPointDTO> points() {
+        List<StockSeriesPointDTO> points = new ArrayList<>(count);
+        for (int k = count - 1; k >= 0; k--) {
+            int slot = Math.floorMod(newest - k, start.length);
+            points.add(StockSeriesPointDTO.builder()
+                    .start(Instant.ofEpochMilli(start[slot]))
+                    .min(opening[slot] == NO_LEVEL ? min[slot] : Math.min(min[slot], opening[slot]))
+                    .max(opening[slot] == NO_LEVEL ? max[slot] : Math.max(max[slot], opening[slot]))
+                    .last(last[slot])
+                    .build());
+        }
+        return points;
+    }
+
+    // =============== Métodos Privados ===============
+
+    private void update(int slot, long at, int quantity) {
+        min[slot] = Math.min(min[slot], quantity);
+        max[slot] = Math.max(max[slot], quantity);
+        if (at >= lastAt[slot]) {
+            lastAt[slot] = at;
+            last[slot] = quantity;
+            if (slot != newest) {
+                opening[(slot + 1) % start.length] = quantity;
+            }
+        }
+    }
+
+    /**
+     * Evento de uma faixa anterior à mais recente: atualiza a faixa, ou a insere em ordem se ela
+     * não foi gravada. Com o buffer cheio, a inserção descarta a faixa mais antiga; eventos
+     * anteriores a todas as faixas do buffer são ignorados.
+     */
+    private void recordLate(long bucket, long at, int quantity) {
+        // posição lógica (0 = mais antiga) da primeira faixa posterior ao evento
+        int position = count - 1;
+        while (position > 0 && start[slotAt(position - 1)] > bucket) {
+            position--;
+        }
+        int before = position - 1;
+        if (before >= 0 && start[slotAt(before)] == bucket) {
+            update(slotAt(before), at, quantity);
+            return;
+        }
+        if (count == start.length && count < capacity) {
+            grow();
+        }
+        if (count < start.length) {
+            newest = (newest + 1) % start.length;
+            count++;
+            for (int k = count - 1; k > position; k--) {
+                copy(slotAt(k - 1), slotAt(k));
+            }
+        } else if (position == 0) {
+            return;
+        } else {
+            for (int k = 0; k < position - 1; k++) {
+                copy(slotAt(k + 1), slotAt(k));
+            }
+            position--;
+        }
+        int slot = slotAt(position);
+        int next = slotAt(position + 1);
+        write(slot, bucket, at, quantity, position > 0 ? last[slotAt(position - 1)] : opening[next]);
+        opening[next] = quantity;
+    }
+
+    private void write(int slot, long bucket, long at, int quantity, int inherited) {
+        start[slot] = bucket;
+        lastAt[slot] = at;
+        last[slot] = quantity;
+        min[slot] = quantity;
+        max[slot] = quantity;
+        opening[slot] = inherited;
+    }
+
+    private void copy(int from, int to) {
+        start[to] = start[from];
+        lastAt[to] = lastAt[from];
+        last[to] = last[from];
+        min[to] = min[from];
+        max[to] = max[from];
+        opening[to] = opening[from];
+    }
+
+    private int slotAt(int position) {
+        return Math.floorMod(newest - (count - 1 - position), start.length);
+    }
+
+    private void grow() {
+        // só cresce antes de dar a volta: as faixas ainda estão em ordem a partir do slot 0
+        int length = Math.min(start.length * 2, capacity);
+        start = Arrays.copyOf(start, length);
+        lastAt = Arrays.copyOf(lastAt, length);
+        min = Arrays.copyOf(min, length);
+        max = Arrays.copyOf(max, length);
+        last = Arrays.copyOf(last, length);
+        opening = Arrays.copyOf(opening, length);
+    }
+}
@@ -0,0 +1,80 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.StockSeriesDTO;
+import com.dio.beerstock.dto.StockSeriesPointDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.SeriesResolution;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Série temporal do estoque de cada cerveja, mantida só em memória.
+ * <p>
+ * Cada alteração confirmada de estoque é amostrada em dois {@link StockRollupRing}: um por
+ * minuto e outro por hora, com tamanho fixo. A memória fica limitada a
+ * {@code (minute-buckets + hour-buckets)} faixas por cerveja do catálogo; a série de uma
+ * cerveja removida é descartada. O histórico começa na inicialização da aplicação.
+ */
+@Service
+public class StockTimeSeriesService {
+
+    private final int minuteBuckets;
+    private final int hourBuckets;
+    private final Map<Long, BeerSeries> series = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StockTimeSeriesService(@Value("${beerstock.timeseries.minute-buckets:120}") int minuteBuckets,
+                                  @Value("${beerstock.timeseries.hour-buckets:48}") int hourBuckets) {
+        this.minuteBuckets = minuteBuckets;
+        this.hourBuckets = hourBuckets;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.getType() == BeerEventType.DELETED) {
+            series.remove(event.getBeerId());
+            return;
+        }
+        series.computeIfAbsent(event.getBeerId(), id -> new BeerSeries())
+                .record(event.getOccurredAt().toEpochMilli(), event.getBeer().getQuantity());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        batch.getEvents().forEach(this::onBeerChanged);
+    }
+
+    /**
+     * Série de uma cerveja na resolução pedida; vazia se não houve alterações desde a inicialização.
+     */
+    public StockSeriesDTO series(Long beerId, SeriesResolution resolution) {
+        BeerSeries beerSeries = series.get(beerId);
+        return StockSeriesDTO.builder()
+                .beerId(beerId)
+                .resolution(resolution)
+                .points(beerSeries != null ? beerSeries.points(resolution) : List.of())
+                .build();
+    }
+
+    private final class BeerSeries {
+        private final StockRollupRing minutes = new StockRollupRing(SeriesResolution.MINUTE.getBucket().toMillis(), minuteBuckets);
+        private final StockRollupRing hours = new StockRollupRing(SeriesResolution.HOUR.getBucket().toMillis(), hourBuckets);
+
+        synchronized void record(long at, int quantity) {
+            minutes.record(at, quantity);
+            hours.record(at, quantity);
+        }
+
+        synchronized List<StockSeriesPointDTO> points(SeriesResolution resolution) {
+            return resolution == SeriesResolution.MINUTE ? minutes.points() : hours.points();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.dio.beerstock.cache;
+
+import com.dio.beerstock.dto.BeerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache local de cervejas por id, versionado pela versão JPA da entidade.
+ * <p>
+ * Para cada cerveja é guardada também a maior versão já invalidada (o "piso"):
+ * entradas com versão abaixo do piso são descartadas e nunca mais inseridas, de
+ * modo que uma leitura lenta que carregou uma versão antiga não repovoa o cache
+ * depois da invalidação, e mensagens de invalidação atrasadas ou repetidas são
+ * ignoradas. Piso e entrada de uma cerveja são atualizados juntos, dentro do
+ * {@code compute} do mapa.
+ * <p>
+ * Como o transporte das invalidações é "melhor esforço", cada entrada também
+ * expira após {@code beerstock.cache.ttl-ms}, limitando o tempo de uma leitura
+ * desatualizada quando uma mensagem se perde. Pisos vivem o mesmo TTL: depois
+ * dele, nenhuma leitura iniciada antes da invalidação ainda está em andamento.
+ * <p>
+ * Com o cache cheio, cada inserção nova remove, dentre algumas entradas amostradas
+ * a partir de um ponto sorteado da tabela, a mais antiga (amostragem à moda do
+ * Redis, sem lista de acesso compartilhada).
+ */
+@Component
+public class BeerCache {
+
+    /**
+     * Versão usada para cervejas removidas: invalida qualquer versão em cache.
+     */
+    public static final long DELETED = Long.MAX_VALUE;
+
+    private static final int EVICTION_SAMPLES = 8;
+
+    /**
+     * Cerveja junto com a versão JPA em que foi lida.
+     */
+    public record Versioned(BeerDTO beer, long version) {
+    }
+
+    private record Entry(long version, BeerDTO beer, long expiresAt) {
+    }
+
+    private record Floor(long version, long expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Floor> floors = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleInvalidations;
+    private final Counter evictions;
+
+    @Autowired
+    public BeerCache(@Value("${beerstock.cache.enabled:false}") boolean enabled,
+                     @Value("${beerstock.cache.max-entries:10000}") int maxEntries,
+                     @Value("${beerstock.cache.ttl-ms:30000}") long ttlMs,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.hits = meterRegistry.counter("beerstock.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("beerstock.cache.requests", "result", "miss");
+        this.staleInvalidations = meterRegistry.counter("beerstock.cache.invalidations.stale");
+        this.evictions = meterRegistry.counter("beerstock.cache.evictions");
+        meterRegistry.gaugeMapSize("beerstock.cache.size", Tags.empty(), entries);
+        meterRegistry.gaugeMapSize("beerstock.cache.floors", Tags.empty(), floors);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return cópia da cerveja em cache, ou vazio se não houver entrada válida
+     */
+    public Optional<BeerDTO> get(Long id) {
+        return get(id, Long.MIN_VALUE);
+    }
+
+    /**
+     * Como {@link #get(Long)}, mas trata como ausente uma entrada anterior a {@code minVersion}
+     * (ex.: a versão já usada na ETag da resposta).
+     */
+    public Optional<BeerDTO> get(Long id, long minVersion) {
+        return lookup(id, minVersion).map(entry -> entry.beer().toBuilder().build());
+    }
+
+    /**
+     * Como {@link #get(Long)}, junto com a versão da entrada.
+     */
+    public Optional<Versioned> getVersioned(Long id) {
+        return lookup(id, Long.MIN_VALUE).map(entry -> new Versioned(entry.beer().toBuilder().build(), entry.version()));
+    }
+
+    /**
+     * Guarda a cerveja lida na versão informada, a menos que essa versão já tenha sido invalidada
+     * ou que o cache tenha uma versão mais nova.
+     */
+    public void put(BeerDTO beer, long version) {
+        if (!enabled) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(beer.getId())) {
+            evictOne();
+        }
+        BeerDTO copy = beer.toBuilder().build();
+        long expiresAt = System.nanoTime() + ttlNanos;
+        entries.compute(beer.getId(), (id, current) -> {
+            Floor floor = floors.get(id);
+            if (floor != null && version < floor.version()) {
+                return current;
+            }
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            return new Entry(version, copy, expiresAt);
+        });
+    }
+
+    /**
+     * Invalida as versões da cerveja anteriores a {@code version}.
+     *
+     * @return {@code false} se uma invalidação igual ou mais nova já tinha sido aplicada
+     */
+    public boolean invalidate(Long id, long version) {
+        if (!enabled) {
+            return false;
+        }
+        boolean[] applied = {false};
+        long expiresAt = System.nanoTime() + ttlNanos;
+        entries.compute(id, (key, current) -> {
+            Floor floor = floors.get(key);
+            if (floor != null && floor.version() >= version) {
+                return current;
+            }
+            floors.put(key, new Floor(version, expiresAt));
+            applied[0] = true;
+            return current != null && current.version() >= version ? current : null;
+        });
+        if (!applied[0]) {
+            staleInvalidations.increment();
+        }
+        return applied[0];
+    }
+
+    /**
+     * Remove os pisos mais velhos que o TTL. O piso é atualizado dentro do {@code compute}
+     * da entrada, então a remoção também passa por ele.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.cache.ttl-ms:30000}")
+    public void pruneFloors() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Floor> floor : floors.entrySet()) {
+            if (floor.getValue().expiresAt() - now < 0) {
+                entries.compute(floor.getKey(), (id, current) -> {
+                    floors.remove(id, floor.getValue());
+                    return current;
+                });
+            }
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private Optional<Entry> lookup(Long id, long minVersion) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt() - System.nanoTime() < 0) {
+            entries.remove(id, entry);
+            entry = null;
+        }
+        if (entry == null || entry.version() < minVersion) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Remove, dentre algumas entradas consecutivas de um trecho sorteado da tabela, a que foi
+     * gravada há mais tempo. O trecho é escolhido descendo por metades sorteadas do
+     * {@link Spliterator} do mapa (cada divisão fica com metade da tabela), sem percorrê-lo.
+     */
+    private void evictOne() {
+        Map.Entry<Long, Entry> oldest = oldestOf(randomRegion());
+        if (oldest == null) {
+            // trecho sorteado vazio: amostra do início da tabela
+            oldest = oldestOf(entries.entrySet().spliterator());
+        }
+        if (oldest != null && entries.remove(oldest.getKey(), oldest.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    private Spliterator<Map.Entry<Long, Entry>> randomRegion() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Spliterator<Map.Entry<Long, Entry>> region = entries.entrySet().spliterator();
+        while (region.estimateSize() > EVICTION_SAMPLES) {
+            Spliterator<Map.Entry<Long, Entry>> half = region.trySplit();
+            if (half == null) {
+                break;
+            }
+            if (random.nextBoolean()) {
+                region = half;
+            }
+        }
+        return region;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map.Entry<Long, Entry> oldestOf(Spliterator<Map.Entry<Long, Entry>> region) {
+        Map.Entry<Long, Entry>[] oldest = new Map.Entry[1];
+        for (int sampled = 0; sampled < EVICTION_SAMPLES; sampled++) {
+            boolean advanced = region.tryAdvance(candidate -> {
+                if (oldest[0] == null || candidate.getValue().expiresAt() - oldest[0].getValue().expiresAt() < 0) {
+                    oldest[0] = candidate;
+                }
+            });
+            if (!advanced) {
+                break;
+            }
+        }
+        return oldest[0];
+    }
+}
@@ -0,0 +1,166 @@
+package com.dio.beerstock.cache;
+
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.service.CatalogVersionTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Barramento de invalidação do {@link BeerCache} entre instâncias.
+ * <p>
+ * Após o commit de uma alteração, a cerveja é invalidada no cache local e a
+ * invalidação (id e a versão levada pelo evento) entra na fila de envio, sem
+ * consultar o banco. A fila guarda apenas a
+ * maior versão por id e é enviada em lotes a cada {@code flush-interval-ms}.
+ * <p>
+ * Formato da mensagem: {@code [int MAGIC][long nó][int n][n x (long id, long versão)]}.
+ * Mensagens do próprio nó são ignoradas; as demais são aplicadas com
+ * {@link BeerCache#invalidate}, que descarta versões já superadas, e avançam o
+ * {@link CatalogVersionTracker}, para que a ETag da listagem também mude com as
+ * alterações das outras instâncias. Uma mensagem perdida deixa a listagem com a
+ * ETag antiga até a próxima alteração recebida.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.cache.enabled", havingValue = "true")
+public class InvalidationBus {
+
+    static final int MAGIC = 0x42434931; // "BCI1"
+    static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    static final int ENTRY_BYTES = Long.BYTES * 2;
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final BeerCache beerCache;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final InvalidationTransport transport;
+    private final int maxBatch;
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final ConcurrentMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter received;
+
+    @Autowired
+    public InvalidationBus(BeerCache beerCache,
+                           CatalogVersionTracker catalogVersionTracker,
+                           InvalidationTransport transport,
+                           @Value("${beerstock.cache.bus.max-batch:256}") int maxBatch,
+                           MeterRegistry meterRegistry) {
+        this.beerCache = beerCache;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.transport = transport;
+        this.maxBatch = maxBatch;
+        this.sent = meterRegistry.counter("beerstock.cache.bus.messages", "direction", "sent");
+        this.received = meterRegistry.counter("beerstock.cache.bus.messages", "direction", "received");
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        transport.start(this::receive);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        long version = event.getType() == BeerEventType.DELETED ? BeerCache.DELETED : event.getVersion();
+        beerCache.invalidate(event.getBeerId(), version);
+        pending.merge(event.getBeerId(), version, Math::max);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        batch.getEvents().forEach(this::onBeerChanged);
+    }
+
+    /**
+     * Envia as invalidações pendentes em mensagens de até {@code maxBatch} cervejas.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.cache.bus.flush-interval-ms:10}")
+    public void flush() {
+        List<long[]> batch = new ArrayList<>(maxBatch);
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (ids.hasNext()) {
+            Long id = ids.next();
+            Long version = pending.remove(id);
+            if (version != null) {
+                batch.add(new long[]{id, version});
+            }
+            if (batch.size() == maxBatch) {
+                send(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        transport.close();
+    }
+
+    // =============== Métodos Privados ===============
+
+    private void send(List<long[]> batch) {
+        try {
+            transport.send(encode(nodeId, batch));
+            sent.increment();
+        } catch (IOException e) {
+            // mesmo efeito de um datagrama perdido: as outras instâncias ficam com a
+            // versão antiga até a próxima invalidação ou até o TTL da entrada
+            log.warn("Could not send {} beer invalidations", batch.size(), e);
+        }
+    }
+
+    void receive(ByteBuffer message) {
+        try {
+            if (message.getInt() != MAGIC) {
+                return;
+            }
+            if (message.getLong() == nodeId) {
+                return;
+            }
+            received.increment();
+            int count = message.getInt();
+            for (int i = 0; i < count; i++) {
+                beerCache.invalidate(message.getLong(), message.getLong());
+            }
+            catalogVersionTracker.onRemoteChanges(count);
+        } catch (BufferUnderflowException e) {
+            log.warn("Dropping truncated invalidation message");
+        }
+    }
+
+    static ByteBuffer encode(long nodeId, List<long[]> batch) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + ENTRY_BYTES * batch.size())
+                .putInt(MAGIC)
+                .putLong(nodeId)
+                .putInt(batch.size());
+        for (long[] entry : batch) {
+            buffer.putLong(entry[0]).putLong(entry[1]);
+        }
+        return buffer.flip();
+    }
+}
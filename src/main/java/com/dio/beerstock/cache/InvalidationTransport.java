@@ -0,0 +1,20 @@
+package com.dio.beerstock.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Meio de entrega das mensagens do {@link InvalidationBus} entre instâncias.
+ * A entrega é "melhor esforço": mensagens podem se perder, repetir ou chegar fora de ordem.
+ */
+public interface InvalidationTransport extends Closeable {
+
+    /**
+     * Começa a receber mensagens, inclusive as enviadas por esta instância.
+     */
+    void start(Consumer<ByteBuffer> receiver) throws IOException;
+
+    void send(ByteBuffer message) throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.dio.beerstock.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Transporte dentro da própria JVM: entrega cada mensagem, de forma síncrona, a
+ * todos os transportes abertos no mesmo grupo. Serve para uma instância única e
+ * para testes com várias instâncias no mesmo processo.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final ConcurrentMap<String, Set<LoopbackInvalidationTransport>> GROUPS = new ConcurrentHashMap<>();
+
+    private final String group;
+    private volatile Consumer<ByteBuffer> receiver;
+
+    public LoopbackInvalidationTransport(String group) {
+        this.group = group;
+    }
+
+    @Override
+    public void start(Consumer<ByteBuffer> receiver) {
+        this.receiver = receiver;
+        GROUPS.computeIfAbsent(group, key -> new CopyOnWriteArraySet<>()).add(this);
+    }
+
+    @Override
+    public void send(ByteBuffer message) {
+        for (LoopbackInvalidationTransport member : GROUPS.getOrDefault(group, Set.of())) {
+            member.receiver.accept(message.duplicate().asReadOnlyBuffer());
+        }
+    }
+
+    @Override
+    public void close() {
+        Set<LoopbackInvalidationTransport> members = GROUPS.get(group);
+        if (members != null) {
+            members.remove(this);
+        }
+    }
+}
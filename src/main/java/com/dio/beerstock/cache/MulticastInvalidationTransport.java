@@ -0,0 +1,82 @@
+package com.dio.beerstock.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.function.Consumer;
+
+/**
+ * Transporte UDP multicast: cada mensagem é um datagrama enviado ao grupo, e
+ * todas as instâncias que entraram no grupo (inclusive no mesmo host, via
+ * {@code IP_MULTICAST_LOOP}) o recebem.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+    private static final int MAX_DATAGRAM_BYTES = 65_507;
+
+    private final InetAddress group;
+    private final int port;
+    private final NetworkInterface networkInterface;
+    private final int ttl;
+    private DatagramChannel channel;
+    private Thread receiverThread;
+
+    public MulticastInvalidationTransport(InetAddress group, int port, NetworkInterface networkInterface, int ttl) {
+        this.group = group;
+        this.port = port;
+        this.networkInterface = networkInterface;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public synchronized void start(Consumer<ByteBuffer> receiver) throws IOException {
+        channel = DatagramChannel.open(StandardProtocolFamily.INET)
+                .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                .bind(new InetSocketAddress(port))
+                .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface)
+                .setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true)
+                .setOption(StandardSocketOptions.IP_MULTICAST_TTL, ttl);
+        channel.join(group, networkInterface);
+
+        DatagramChannel receiving = channel;
+        receiverThread = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES);
+            while (receiving.isOpen()) {
+                try {
+                    buffer.clear();
+                    receiving.receive(buffer);
+                    receiver.accept(buffer.flip());
+                } catch (ClosedChannelException e) {
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Dropping invalidation datagram", e);
+                }
+            }
+        }, "beer-cache-multicast");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    @Override
+    public void send(ByteBuffer message) throws IOException {
+        channel.send(message, new InetSocketAddress(group, port));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.cache.InvalidationTransport;
+import com.dio.beerstock.cache.LoopbackInvalidationTransport;
+import com.dio.beerstock.cache.MulticastInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+
+/**
+ * Transporte do barramento de invalidação do cache, escolhido por
+ * {@code beerstock.cache.bus.transport}: {@code loopback} (padrão) ou {@code multicast}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.cache.enabled", havingValue = "true")
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.cache.bus.transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport loopbackInvalidationTransport(
+            @Value("${beerstock.cache.bus.group:beerstock}") String group) {
+        return new LoopbackInvalidationTransport(group);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.cache.bus.transport", havingValue = "multicast")
+    public InvalidationTransport multicastInvalidationTransport(
+            @Value("${beerstock.cache.bus.multicast.address:239.255.42.99}") String address,
+            @Value("${beerstock.cache.bus.multicast.port:4446}") int port,
+            @Value("${beerstock.cache.bus.multicast.interface:lo}") String interfaceName,
+            @Value("${beerstock.cache.bus.multicast.ttl:1}") int ttl) throws UnknownHostException, SocketException {
+        NetworkInterface networkInterface = NetworkInterface.getByName(interfaceName);
+        if (networkInterface == null) {
+            throw new IllegalStateException("Unknown network interface for cache bus: " + interfaceName);
+        }
+        return new MulticastInvalidationTransport(InetAddress.getByName(address), port, networkInterface, ttl);
+    }
+}
@@ -0,0 +1,20 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.eventlog.BeerEventLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "beerstock.event-log.enabled", havingValue = "true")
+public class EventLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public BeerEventLog beerEventLog(@Value("${beerstock.event-log.path}") String path,
+                                     @Value("${beerstock.event-log.fsync:false}") boolean fsync) {
+        return new BeerEventLog(Path.of(path), fsync);
+    }
+}
@@ -0,0 +1,56 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.dto.BatchGetItemDTO;
+import com.dio.beerstock.dto.BatchGetRequestDTO;
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.StockLevelDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.entity.StockMovement;
+import com.dio.beerstock.entity.StockSnapshot;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.exception.RateLimitExceededException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Hints de reflexão e de recursos para a imagem nativa (perfil Maven {@code native}).
+ * O processamento AOT do Spring já cobre os beans; aqui ficam os tipos acessados por
+ * Jackson, Hibernate e Bean Validation fora do que ele consegue inferir.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BeerstockRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final List<Class<?>> REFLECTIVE_TYPES = List.of(
+            Beer.class, StockMovement.class, StockSnapshot.class,
+            BeerDTO.class, BeerDTO.BeerDTOBuilder.class, BatchGetRequestDTO.class, BatchGetItemDTO.class,
+            StockLevelDTO.class,
+            BeerType.class, BeerEventType.class,
+            BeerNotFoundException.class, BeerAlreadyRegisteredException.class, BeerStockExceededException.class,
+            RateLimitExceededException.class, ServiceOverloadedException.class);
+
+    static class BeerstockRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            REFLECTIVE_TYPES.forEach(type -> hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS));
+            hints.resources()
+                    .registerPattern("db/migration/*.sql")
+                    .registerPattern("db/sharding/*.sql")
+                    .registerPattern("logback-spring.xml");
+        }
+    }
+}
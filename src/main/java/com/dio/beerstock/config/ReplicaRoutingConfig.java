@@ -0,0 +1,93 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.replication.ReplicaRoutingDataSource;
+import com.dio.beerstock.replication.ReplicationState;
+import com.dio.beerstock.replication.StandInReplicator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Leituras em réplica (opcional): transações {@code readOnly} vão para o banco de
+ * {@code beerstock.replica.url} enquanto ele estiver em dia; o resto vai para o primário
+ * configurado em {@code spring.datasource.*}.
+ * <p>
+ * Com {@code beerstock.replica.stand-in=false}, quem replica é externo e não informa
+ * posições ao {@link ReplicationState}; sem medida de atraso, as leituras ficam no primário.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    @Bean
+    public ReplicationState replicationState(@Value("${beerstock.replica.max-lag-ms:1000}") long maxLagMs,
+                                             @Value("${beerstock.replica.stand-in:true}") boolean standIn,
+                                             MeterRegistry meterRegistry) {
+        ReplicationState state = new ReplicationState(maxLagMs, meterRegistry);
+        if (!standIn) {
+            log.warn("beerstock.replica.stand-in=false: no replication lag source, reads stay on the primary");
+        }
+        return state;
+    }
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties,
+                                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource replicaDataSource(@Value("${beerstock.replica.url}") String url,
+                                              @Value("${beerstock.replica.username:sa}") String username,
+                                              @Value("${beerstock.replica.password:}") String password,
+                                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+
+    /**
+     * O proxy só obtém a conexão no primeiro comando SQL, quando a transação já
+     * sabe se é somente leitura e o roteamento pode escolher o banco.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicationState replicationState,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, replicationState, meterRegistry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "beerstock.replica.stand-in", havingValue = "true", matchIfMissing = true)
+    public StandInReplicator standInReplicator(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ReplicationState replicationState,
+                                               @Value("${beerstock.replica.lag-ms:0}") long lagMs) {
+        return new StandInReplicator(primary, replica, replicationState, lagMs);
+    }
+}
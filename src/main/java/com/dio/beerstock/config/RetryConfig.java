@@ -0,0 +1,54 @@
+package com.dio.beerstock.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Retry das operações de estoque em conflitos de versão.
+ * A ordem garante que o retry envolva a transação: cada tentativa roda em uma
+ * transação nova, relendo a versão atual da cerveja.
+ */
+@Configuration
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryConfig {
+
+    public static final String STOCK_RETRY_LISTENER = "stockRetryListener";
+
+    @Bean(STOCK_RETRY_LISTENER)
+    public RetryListener stockRetryListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                         Throwable throwable) {
+                if (throwable instanceof OptimisticLockingFailureException) {
+                    meterRegistry.counter("beerstock.stock.conflicts", "operation", operation(context)).increment();
+                }
+            }
+
+            @Override
+            public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                                       Throwable throwable) {
+                int failedAttempts = context.getRetryCount();
+                int retries = throwable == null ? failedAttempts : failedAttempts - 1;
+                if (retries > 0) {
+                    meterRegistry.counter("beerstock.stock.retries", "operation", operation(context)).increment(retries);
+                }
+                if (throwable instanceof OptimisticLockingFailureException) {
+                    meterRegistry.counter("beerstock.stock.retries.exhausted", "operation", operation(context)).increment();
+                }
+            }
+        };
+    }
+
+    private static String operation(RetryContext context) {
+        Object name = context.getAttribute(RetryContext.NAME);
+        return name != null ? name.toString() : "unknown";
+    }
+}
@@ -0,0 +1,73 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.sharding.ShardedBeerStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Armazenamento de cervejas particionado entre vários bancos (opcional).
+ * Os bancos dos shards e o do índice global são independentes do datasource principal;
+ * o {@link ShardedBeerStore} passa a ser o {@code BeerStore} do {@code BeerService} e
+ * fecha os pools desses bancos no encerramento.
+ * <p>
+ * O log de eventos e a réplica de leitura trabalham sobre a tabela {@code beer} do
+ * datasource principal, que fica vazia neste modo; por isso não podem ser ligados junto.
+ */
+@Configuration
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardFanOutExecutor(@Value("${beerstock.sharding.shard-urls}") String[] shardUrls) {
+        return Executors.newFixedThreadPool(shardUrls.length);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedBeerStore shardedBeerStore(@Value("${beerstock.sharding.shard-urls}") String[] shardUrls,
+                                             @Value("${beerstock.sharding.index-url}") String indexUrl,
+                                             @Value("${beerstock.sharding.username:sa}") String username,
+                                             @Value("${beerstock.sharding.password:}") String password,
+                                             ExecutorService shardFanOutExecutor,
+                                             Environment environment) {
+        for (String incompatible : List.of("beerstock.event-log.enabled", "beerstock.replica.enabled")) {
+            if (environment.getProperty(incompatible, Boolean.class, false)) {
+                throw new IllegalStateException("beerstock.sharding.enabled cannot be combined with " + incompatible
+                        + ": it works on the primary beer table, which is not used when sharding");
+            }
+        }
+        List<DataSource> shards = Arrays.stream(shardUrls)
+                .map(url -> dataSource(url, username, password))
+                .toList();
+        ShardedBeerStore store = new ShardedBeerStore(shards, dataSource(indexUrl, username, password),
+                shardFanOutExecutor);
+        try {
+            store.initializeSchema();
+        } catch (RuntimeException e) {
+            try {
+                store.close();
+            } catch (Exception closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        return store;
+    }
+
+    private static DataSource dataSource(String url, String username, String password) {
+        return DataSourceBuilder.create()
+                .url(url.trim())
+                .username(username)
+                .password(password)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.dio.beerstock.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultJsonQueryLogEntryCreator;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Perfil prod: substitui o log de todo SQL (show-sql/BasicBinder) por um log
+ * amostrado apenas das queries acima de um limite de latência, com os valores
+ * dos parâmetros, no logger {@code beerstock.sql.slow}.
+ * <p>
+ * Só os {@link DataSource} que abrem conexões de fato são envolvidos: os que apenas
+ * delegam para outro (roteamento da réplica, proxy preguiçoso) ficam de fora, para
+ * que cada statement seja medido e registrado uma única vez, com o nome do banco real.
+ */
+@Configuration
+@Profile("prod")
+public class SlowQueryLoggingConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(Environment environment) {
+        long thresholdMillis = environment.getProperty("beerstock.sql.slow-query-threshold-ms", Long.class, 100L);
+        double sampleRate = environment.getProperty("beerstock.sql.slow-query-sample-rate", Double.class, 1.0);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !delegates(dataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SlowQueryLogListener(thresholdMillis, sampleRate))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean delegates(DataSource dataSource) {
+        return dataSource instanceof DelegatingDataSource
+                || dataSource instanceof AbstractRoutingDataSource
+                || dataSource instanceof ProxyDataSource;
+    }
+
+    static class SlowQueryLogListener implements QueryExecutionListener {
+
+        private static final Logger log = LoggerFactory.getLogger("beerstock.sql.slow");
+
+        private final long thresholdMillis;
+        private final double sampleRate;
+        private final DefaultJsonQueryLogEntryCreator entryCreator = new DefaultJsonQueryLogEntryCreator();
+
+        SlowQueryLogListener(long thresholdMillis, double sampleRate) {
+            this.thresholdMillis = thresholdMillis;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+                return;
+            }
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return;
+            }
+            log.warn(entryCreator.getLogEntry(execInfo, queryInfoList, false, true, false));
+        }
+    }
+}
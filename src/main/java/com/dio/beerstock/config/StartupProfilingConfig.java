@@ -0,0 +1,86 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.startup.StartupRankingWebExtension;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Perfil de diagnóstico da inicialização ({@code spring.profiles.active=startup}): beans
+ * preguiçosos, passos do {@link org.springframework.core.metrics.ApplicationStartup}
+ * gravados em memória e expostos, ordenados, em {@code /actuator/startup}.
+ * <p>
+ * A gravação depende do {@link #applicationStartupListener()} registrado antes do {@code run};
+ * sem ele o perfil ainda sobe, só que sem o ranking.
+ */
+@Configuration
+@Profile(StartupProfilingConfig.PROFILE)
+public class StartupProfilingConfig {
+
+    public static final String PROFILE = "startup";
+
+    /**
+     * Troca o {@code ApplicationStartup} da aplicação por um {@link BufferingApplicationStartup}
+     * quando o perfil está ativo. Precisa ser registrado no {@code SpringApplication} antes do
+     * {@code run}, porque o contexto recebe o {@code ApplicationStartup} ao ser criado.
+     */
+    public static ApplicationListener<ApplicationEnvironmentPreparedEvent> applicationStartupListener() {
+        return event -> {
+            if (event.getEnvironment().acceptsProfiles(Profiles.of(PROFILE))) {
+                int capacity = event.getEnvironment()
+                        .getProperty("beerstock.startup.buffer-capacity", Integer.class, 10_000);
+                event.getSpringApplication().setApplicationStartup(new BufferingApplicationStartup(capacity));
+            }
+        };
+    }
+
+    /**
+     * Beans com métodos {@code @Scheduled} continuam ansiosos: o agendamento só é registrado
+     * quando o bean é criado. Os tipos são descobertos pelas anotações, como faz o
+     * {@code ScheduledAnnotationBeanPostProcessor}. Os {@code SmartInitializingSingleton}
+     * (reconstrução do log de eventos) já são excluídos pelo próprio Spring Boot.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = StartupEndpoint.class)
+    @ConditionalOnBean(BufferingApplicationStartup.class)
+    public StartupRankingWebExtension startupRankingWebExtension(BufferingApplicationStartup applicationStartup) {
+        return new StartupRankingWebExtension(applicationStartup);
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        if (beanType == null || !AnnotationUtils.isCandidateClass(beanType, List.of(Scheduled.class, Schedules.class))) {
+            return false;
+        }
+        return !MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                (MethodIntrospector.MetadataLookup<Boolean>) StartupProfilingConfig::isScheduled).isEmpty();
+    }
+
+    private static Boolean isScheduled(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.dio.beerstock.config;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retry de uma operação de estoque em conflitos de versão: tentativas e backoff
+ * exponencial com jitter de {@code beerstock.stock.retry.*}, métricas pelo
+ * {@link RetryConfig#STOCK_RETRY_LISTENER}. O valor é o nome da operação nas métricas.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${beerstock.stock.retry.max-attempts:5}",
+        backoff = @Backoff(delayExpression = "${beerstock.stock.retry.delay-ms:5}",
+                maxDelayExpression = "${beerstock.stock.retry.max-delay-ms:100}",
+                multiplier = 2, random = true),
+        listeners = RetryConfig.STOCK_RETRY_LISTENER)
+public @interface StockRetry {
+
+    @AliasFor(annotation = Retryable.class, attribute = "label")
+    String value();
+}
@@ -1,12 +1,31 @@
 package com.dio.beerstock.config;
 
+import com.dio.beerstock.admission.AdmissionControlInterceptor;
+import com.dio.beerstock.replication.ReadAfterInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectProvider<AdmissionControlInterceptor> admissionControl;
+    private final ObjectProvider<ReadAfterInterceptor> readAfter;
+
+    @Autowired
+    public WebConfig(ObjectProvider<AdmissionControlInterceptor> admissionControl,
+                     ObjectProvider<ReadAfterInterceptor> readAfter) {
+        this.admissionControl = admissionControl;
+        this.readAfter = readAfter;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -15,4 +34,21 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // respostas da API variam com o formato negociado (JSON, CBOR ou Smile)
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+
+        admissionControl.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/v1/beers/**"));
+        readAfter.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
 }
\ No newline at end of file
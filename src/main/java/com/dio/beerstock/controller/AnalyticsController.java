@@ -0,0 +1,76 @@
+package com.dio.beerstock.controller;
+
+import com.dio.beerstock.analytics.CatalogSnapshot;
+import com.dio.beerstock.analytics.CatalogSnapshotService;
+import com.dio.beerstock.dto.BrandStockDTO;
+import com.dio.beerstock.dto.FillRatioBucketDTO;
+import com.dio.beerstock.dto.TypeStockDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST das consultas analíticas do catálogo.
+ * As respostas vêm do snapshot colunar periódico; {@code Last-Modified} indica quando ele foi tirado.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class AnalyticsController {
+
+    static final int MAX_BUCKETS = 100;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    public AnalyticsController(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    /**
+     * Estoque total e capacidade por tipo de cerveja.
+     *
+     * @return ResponseEntity com um item por tipo presente no catálogo e status 200 (OK)
+     */
+    @GetMapping("/stock-by-type")
+    public ResponseEntity<List<TypeStockDTO>> stockByType() {
+        CatalogSnapshot snapshot = catalogSnapshotService.snapshot();
+        return ok(snapshot, snapshot.stockByType());
+    }
+
+    /**
+     * Ranking das marcas pelo estoque total.
+     *
+     * @param limit Quantidade máxima de marcas (padrão 10)
+     * @return ResponseEntity com as marcas em ordem decrescente de estoque e status 200 (OK)
+     */
+    @GetMapping("/brands")
+    public ResponseEntity<List<BrandStockDTO>> brandRanking(@RequestParam(defaultValue = "10") int limit) {
+        CatalogSnapshot snapshot = catalogSnapshotService.snapshot();
+        return ok(snapshot, snapshot.brandRanking(Math.max(limit, 0)));
+    }
+
+    /**
+     * Histograma da ocupação do estoque ({@code quantity / max}).
+     *
+     * @param buckets Número de faixas entre 0 e 1 (padrão 10, máximo 100)
+     * @return ResponseEntity com a contagem de cervejas por faixa e status 200 (OK)
+     */
+    @GetMapping("/fill-ratio")
+    public ResponseEntity<List<FillRatioBucketDTO>> fillRatioHistogram(@RequestParam(defaultValue = "10") int buckets) {
+        CatalogSnapshot snapshot = catalogSnapshotService.snapshot();
+        return ok(snapshot, snapshot.fillRatioHistogram(Math.min(Math.max(buckets, 1), MAX_BUCKETS)));
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static <T> ResponseEntity<T> ok(CatalogSnapshot snapshot, T body) {
+        return ResponseEntity.ok()
+                .lastModified(snapshot.takenAt())
+                .body(body);
+    }
+}
@@ -1,17 +1,25 @@
 package com.dio.beerstock.controller;
 
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.dto.BatchGetItemDTO;
+import com.dio.beerstock.dto.BatchGetRequestDTO;
 import com.dio.beerstock.dto.BeerDTO;
 import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
 import com.dio.beerstock.exception.BeerNotFoundException;
 import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.replication.ReplicationState;
 import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador REST para gerenciamento de cervejas.
@@ -22,10 +30,15 @@ import java.util.List;
 public class BeerController {
 
     private final BeerService beerService;
+    private final StockCommandGateway stockCommandGateway;
+    private final ReplicationState replicationState;
 
     @Autowired
-    public BeerController(BeerService beerService) {
+    public BeerController(BeerService beerService, StockCommandGateway stockCommandGateway,
+                          ObjectProvider<ReplicationState> replicationState) {
         this.beerService = beerService;
+        this.stockCommandGateway = stockCommandGateway;
+        this.replicationState = replicationState.getIfAvailable();
     }
 
     /**
@@ -45,37 +58,72 @@ public class BeerController {
 
     /**
      * Busca uma cerveja pelo ID.
+     * Suporta GET condicional: a ETag (fraca) vem da versão da cerveja, lida junto com o corpo
+     * (do cache ou do mesmo banco), e, se coincidir com {@code If-None-Match}, responde 304
+     * sem serializar a entidade.
      *
      * @param id ID da cerveja
-     * @return ResponseEntity com a cerveja encontrada e status 200 (OK)
+     * @return ResponseEntity com a cerveja encontrada e status 200 (OK), ou 304 (NOT_MODIFIED)
      * @throws BeerNotFoundException Se o ID não existir
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BeerDTO> findById(@PathVariable Long id) throws BeerNotFoundException {
-        BeerDTO beerDTO = beerService.findById(id);
-        return ResponseEntity.ok(beerDTO);
+    public ResponseEntity<BeerDTO> findById(@PathVariable Long id, WebRequest request) throws BeerNotFoundException {
+        boolean conditional = conditionalGetAllowed();
+        BeerCache.Versioned beer = beerService.findVersionedById(id);
+        if (conditional && request.checkNotModified(weakETag(BeerService.versionTag(id, beer.version())))) {
+            return null;
+        }
+        return ResponseEntity.ok(beer.beer());
     }
 
     /**
-     * Busca uma cerveja pelo nome.
+     * Busca uma cerveja pelo nome. Suporta GET condicional como {@link #findById}.
      *
      * @param name Nome da cerveja
-     * @return ResponseEntity com a cerveja encontrada e status 200 (OK)
+     * @return ResponseEntity com a cerveja encontrada e status 200 (OK), ou 304 (NOT_MODIFIED)
      * @throws BeerNotFoundException Se o nome não for encontrado
      */
     @GetMapping("/name/{name}")
-    public ResponseEntity<BeerDTO> findByName(@PathVariable String name) throws BeerNotFoundException {
-        BeerDTO beerDTO = beerService.findByName(name);
-        return ResponseEntity.ok(beerDTO);
+    public ResponseEntity<BeerDTO> findByName(@PathVariable String name, WebRequest request)
+            throws BeerNotFoundException {
+        boolean conditional = conditionalGetAllowed();
+        BeerCache.Versioned beer = beerService.findVersionedByName(name);
+        String tag = BeerService.versionTag(beer.beer().getId(), beer.version());
+        if (conditional && request.checkNotModified(weakETag(tag))) {
+            return null;
+        }
+        return ResponseEntity.ok(beer.beer());
+    }
+
+    /**
+     * Busca várias cervejas por id e/ou nome em uma única chamada, evitando um GET por item.
+     *
+     * @param request Ids e nomes a buscar (até 500 de cada)
+     * @return Um item por chave pedida, na ordem do pedido, com {@code found = false}
+     *         para as que não existem, e status 200 (OK)
+     */
+    @PostMapping("/_batchGet")
+    public ResponseEntity<List<BatchGetItemDTO>> batchGet(@RequestBody @Valid BatchGetRequestDTO request) {
+        List<BatchGetItemDTO> items = beerService.batchGet(request.getIds(), request.getNames());
+        return ResponseEntity.ok(items);
     }
 
     /**
      * Lista todas as cervejas cadastradas.
+     * Suporta GET condicional com ETag derivada do contador de alterações do catálogo.
+     * O contador não vem do banco lido, então, enquanto a leitura puder ir para uma réplica
+     * atrasada, a resposta não leva ETag: ela poderia descrever um catálogo mais novo que o corpo.
      *
-     * @return Lista de cervejas (pode ser vazia) com status 200 (OK)
+     * @return Lista de cervejas (pode ser vazia) com status 200 (OK), ou 304 (NOT_MODIFIED)
      */
     @GetMapping
-    public ResponseEntity<List<BeerDTO>> listAll() {
+    public ResponseEntity<List<BeerDTO>> listAll(WebRequest request) {
+        // a tag é lida antes de consultar a réplica: se ela já conta uma escrita, a posição do
+        // primário também (ver StandInReplicator), e a réplica que não a aplicou é vista atrasada
+        String tag = beerService.catalogVersionTag();
+        if (conditionalGetAllowed() && request.checkNotModified(weakETag(tag))) {
+            return null;
+        }
         List<BeerDTO> beers = beerService.listAll();
         return ResponseEntity.ok(beers);
     }
@@ -113,37 +161,52 @@ public class BeerController {
 
     /**
      * Incrementa a quantidade em estoque de uma cerveja.
+     * A resposta é assíncrona: o comando passa pelo {@link StockCommandGateway}, que pode
+     * enfileirá-lo no shard da cerveja. Falhas completam o futuro com
+     * {@link BeerNotFoundException} (404) ou {@link BeerStockExceededException} (400).
      *
      * @param id                   ID da cerveja
      * @param quantityToIncrement  Quantidade a ser adicionada
-     * @return ResponseEntity com a cerveja atualizada e status 200 (OK)
-     * @throws BeerNotFoundException      Se a cerveja não existir
-     * @throws BeerStockExceededException Se o incremento exceder o estoque máximo
+     * @return Futuro com a cerveja atualizada e status 200 (OK)
      */
     @PatchMapping("/{id}/increment")
-    public ResponseEntity<BeerDTO> increment(
+    public CompletableFuture<ResponseEntity<BeerDTO>> increment(
             @PathVariable Long id,
-            @RequestParam int quantityToIncrement)
-            throws BeerNotFoundException, BeerStockExceededException {
-        BeerDTO updatedBeer = beerService.increment(id, quantityToIncrement);
-        return ResponseEntity.ok(updatedBeer);
+            @RequestParam int quantityToIncrement) {
+        return stockCommandGateway.increment(id, quantityToIncrement).thenApply(ResponseEntity::ok);
     }
 
     /**
      * Decrementa a quantidade em estoque de uma cerveja (ex: venda).
+     * Assíncrono como {@link #increment}; estoque insuficiente resulta em 400.
      *
      * @param id                   ID da cerveja
      * @param quantityToDecrement  Quantidade a ser removida
-     * @return ResponseEntity com a cerveja atualizada e status 200 (OK)
-     * @throws BeerNotFoundException      Se a cerveja não existir
-     * @throws BeerStockExceededException Se o estoque ficar negativo
+     * @return Futuro com a cerveja atualizada e status 200 (OK)
      */
     @PatchMapping("/{id}/decrement")
-    public ResponseEntity<BeerDTO> decrement(
+    public CompletableFuture<ResponseEntity<BeerDTO>> decrement(
             @PathVariable Long id,
-            @RequestParam int quantityToDecrement)
-            throws BeerNotFoundException, BeerStockExceededException {
-        BeerDTO updatedBeer = beerService.decrement(id, quantityToDecrement);
-        return ResponseEntity.ok(updatedBeer);
+            @RequestParam int quantityToDecrement) {
+        return stockCommandGateway.decrement(id, quantityToDecrement).thenApply(ResponseEntity::ok);
+    }
+
+    // =============== Métodos Privados ===============
+
+    /**
+     * Com leituras em réplica, não há GET condicional enquanto a leitura puder ir para uma
+     * réplica atrasada: ela pode devolver ao cliente a mesma versão que ele já tem, quando o
+     * primário tem uma mais nova.
+     */
+    private boolean conditionalGetAllowed() {
+        return replicationState == null || !replicationState.mayReadBehindPrimary();
+    }
+
+    /**
+     * A mesma versão é servida em JSON, CBOR ou Smile, com ou sem gzip; por isso a ETag
+     * é fraca ({@code W/"..."}), válida para qualquer representação da mesma versão.
+     */
+    private static String weakETag(String tag) {
+        return tag == null ? null : "W/\"" + tag + "\"";
     }
 }
@@ -0,0 +1,63 @@
+package com.dio.beerstock.controller;
+
+import com.dio.beerstock.dto.CsvImportReportDTO;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import com.dio.beerstock.importer.CsvBeerImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controlador REST da importação de catálogos de fornecedores em CSV.
+ * O arquivo é lido em fluxo: o corpo não é carregado inteiro em memória.
+ */
+@RestController
+@RequestMapping("/api/v1/beers")
+public class BeerImportController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private final CsvBeerImportService csvBeerImportService;
+
+    @Autowired
+    public BeerImportController(CsvBeerImportService csvBeerImportService) {
+        this.csvBeerImportService = csvBeerImportService;
+    }
+
+    /**
+     * Importa cervejas de um CSV enviado como corpo da requisição ({@code text/csv}).
+     * Cabeçalho obrigatório com as colunas {@code name,brand,max,quantity,type}.
+     *
+     * @param body Conteúdo do CSV em UTF-8
+     * @return ResponseEntity com o relatório da importação e status 200 (OK)
+     * @throws ServiceOverloadedException Se outra importação estiver em andamento
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    public ResponseEntity<CsvImportReportDTO> importCsv(InputStream body)
+            throws IOException, ServiceOverloadedException {
+        return ResponseEntity.ok(csvBeerImportService.importCsv(body));
+    }
+
+    /**
+     * Importa cervejas de um arquivo CSV enviado como {@code multipart/form-data} (campo {@code file}).
+     *
+     * @param file Arquivo CSV em UTF-8
+     * @return ResponseEntity com o relatório da importação e status 200 (OK)
+     * @throws ServiceOverloadedException Se outra importação estiver em andamento
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CsvImportReportDTO> importCsvFile(@RequestParam("file") MultipartFile file)
+            throws IOException, ServiceOverloadedException {
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(csvBeerImportService.importCsv(input));
+        }
+    }
+}
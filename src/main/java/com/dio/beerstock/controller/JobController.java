@@ -0,0 +1,110 @@
+package com.dio.beerstock.controller;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.BulkJobDTO;
+import com.dio.beerstock.dto.BulkJobErrorDTO;
+import com.dio.beerstock.dto.BulkStockItemDTO;
+import com.dio.beerstock.exception.JobNotFoundException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import com.dio.beerstock.job.BulkJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controlador REST das operações em massa executadas em segundo plano.
+ * A submissão responde 202 (ACCEPTED) com o job; o progresso é consultado pelo id.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    static final int MAX_ERRORS_PAGE = 1000;
+
+    private final BulkJobService bulkJobService;
+
+    @Autowired
+    public JobController(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    /**
+     * Cadastra várias cervejas em segundo plano. Cada item é validado individualmente;
+     * os recusados aparecem em {@code /{id}/errors}.
+     *
+     * @param beers Cervejas a cadastrar
+     * @return ResponseEntity com o job criado e status 202 (ACCEPTED)
+     * @throws ServiceOverloadedException Se a fila de jobs estiver cheia
+     */
+    @PostMapping("/bulk-create")
+    public ResponseEntity<BulkJobDTO> submitBulkCreate(@RequestBody List<BeerDTO> beers)
+            throws ServiceOverloadedException {
+        return accepted(bulkJobService.submitBulkCreate(beers));
+    }
+
+    /**
+     * Aplica vários incrementos/decrementos de estoque em segundo plano.
+     *
+     * @param items Movimentações a aplicar, na ordem
+     * @return ResponseEntity com o job criado e status 202 (ACCEPTED)
+     * @throws ServiceOverloadedException Se a fila de jobs estiver cheia
+     */
+    @PostMapping("/bulk-stock")
+    public ResponseEntity<BulkJobDTO> submitBulkStock(@RequestBody List<BulkStockItemDTO> items)
+            throws ServiceOverloadedException {
+        return accepted(bulkJobService.submitBulkStock(items));
+    }
+
+    /**
+     * Estado e progresso de um job.
+     *
+     * @param id ID do job
+     * @return ResponseEntity com o job e status 200 (OK)
+     * @throws JobNotFoundException Se o ID não existir
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobDTO> findById(@PathVariable Long id) throws JobNotFoundException {
+        return ResponseEntity.ok(bulkJobService.findById(id));
+    }
+
+    /**
+     * Relatório dos itens recusados, paginado pelo índice do item.
+     *
+     * @param id    ID do job
+     * @param from  Primeiro índice de item (padrão 0)
+     * @param limit Quantidade máxima de itens (padrão 100, máximo 1000)
+     * @return ResponseEntity com os itens recusados e status 200 (OK)
+     * @throws JobNotFoundException Se o ID não existir
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<BulkJobErrorDTO>> errors(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "0") int from,
+                                                        @RequestParam(defaultValue = "100") int limit)
+            throws JobNotFoundException {
+        return ResponseEntity.ok(bulkJobService.errors(id, Math.max(from, 0),
+                Math.min(Math.max(limit, 1), MAX_ERRORS_PAGE)));
+    }
+
+    /**
+     * Pede o cancelamento de um job; o trabalho para antes do próximo bloco.
+     *
+     * @param id ID do job
+     * @return ResponseEntity com o job e status 202 (ACCEPTED)
+     * @throws JobNotFoundException Se o ID não existir
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<BulkJobDTO> cancel(@PathVariable Long id) throws JobNotFoundException {
+        return ResponseEntity.accepted().body(bulkJobService.cancel(id));
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static ResponseEntity<BulkJobDTO> accepted(BulkJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/jobs/" + job.getId()))
+                .body(job);
+    }
+}
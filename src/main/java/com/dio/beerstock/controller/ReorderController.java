@@ -0,0 +1,38 @@
+package com.dio.beerstock.controller;
+
+import com.dio.beerstock.analytics.ReorderSuggestionService;
+import com.dio.beerstock.dto.ReorderSuggestionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST das sugestões de reposição, calculadas em memória a partir da demanda.
+ */
+@RestController
+@RequestMapping("/api/v1/reorder-suggestions")
+public class ReorderController {
+
+    private final ReorderSuggestionService reorderSuggestionService;
+
+    @Autowired
+    public ReorderController(ReorderSuggestionService reorderSuggestionService) {
+        this.reorderSuggestionService = reorderSuggestionService;
+    }
+
+    /**
+     * Cervejas que devem ser repostas, ordenadas pelos dias até o estoque acabar.
+     *
+     * @param limit Quantidade máxima de sugestões (padrão 50)
+     * @return ResponseEntity com as sugestões e status 200 (OK)
+     */
+    @GetMapping
+    public ResponseEntity<List<ReorderSuggestionDTO>> suggestions(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(reorderSuggestionService.suggestions(Math.max(limit, 0)));
+    }
+}
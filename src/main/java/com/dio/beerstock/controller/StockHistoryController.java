@@ -0,0 +1,63 @@
+package com.dio.beerstock.controller;
+
+import com.dio.beerstock.analytics.StockTimeSeriesService;
+import com.dio.beerstock.dto.StockLevelDTO;
+import com.dio.beerstock.dto.StockSeriesDTO;
+import com.dio.beerstock.enums.SeriesResolution;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.service.StockLedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * Controlador REST para consulta do histórico de estoque (ledger de movimentações).
+ */
+@RestController
+@RequestMapping("/api/v1/beers")
+public class StockHistoryController {
+
+    private final StockLedgerService stockLedgerService;
+    private final StockTimeSeriesService stockTimeSeriesService;
+
+    @Autowired
+    public StockHistoryController(StockLedgerService stockLedgerService,
+                                  StockTimeSeriesService stockTimeSeriesService) {
+        this.stockLedgerService = stockLedgerService;
+        this.stockTimeSeriesService = stockTimeSeriesService;
+    }
+
+    /**
+     * Reconstrói o estoque de uma cerveja em um instante do passado.
+     *
+     * @param id ID da cerveja
+     * @param at Instante desejado (ISO-8601, ex: 2024-01-01T10:00:00Z); padrão é o instante atual
+     * @return ResponseEntity com o estoque no instante informado e status 200 (OK)
+     * @throws BeerNotFoundException Se não houver movimentações da cerveja até o instante
+     */
+    @GetMapping("/{id}/stock-history")
+    public ResponseEntity<StockLevelDTO> stockAt(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at)
+            throws BeerNotFoundException {
+        StockLevelDTO stockLevel = stockLedgerService.stockAt(id, at != null ? at : Instant.now());
+        return ResponseEntity.ok(stockLevel);
+    }
+
+    /**
+     * Série temporal do estoque de uma cerveja (min/max/último por faixa), servida da memória.
+     *
+     * @param id         ID da cerveja
+     * @param resolution Tamanho da faixa: MINUTE (padrão) ou HOUR
+     * @return ResponseEntity com as faixas registradas desde a inicialização e status 200 (OK)
+     */
+    @GetMapping("/{id}/stock-series")
+    public ResponseEntity<StockSeriesDTO> stockSeries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "MINUTE") SeriesResolution resolution) {
+        return ResponseEntity.ok(stockTimeSeriesService.series(id, resolution));
+    }
+}
@@ -0,0 +1,27 @@
+package com.dio.beerstock.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item da busca em lote: a chave pedida (id ou nome) e a cerveja,
+ * ou {@code found = false} se ela não existir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchGetItemDTO {
+
+    private Long id;
+
+    private String name;
+
+    private boolean found;
+
+    private BeerDTO beer;
+}
@@ -0,0 +1,22 @@
+package com.dio.beerstock.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequestDTO {
+
+    @Size(max = 500)
+    private List<Long> ids;
+
+    @Size(max = 500)
+    private List<String> names;
+}
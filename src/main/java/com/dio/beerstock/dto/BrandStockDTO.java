@@ -0,0 +1,19 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrandStockDTO {
+
+    private String brand;
+
+    private Integer beers;
+
+    private Long quantity;
+}
@@ -0,0 +1,39 @@
+package com.dio.beerstock.dto;
+
+import com.dio.beerstock.enums.JobStatus;
+import com.dio.beerstock.enums.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobDTO {
+
+    private Long id;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    private Integer total;
+
+    private Integer processed;
+
+    private Integer succeeded;
+
+    private Integer failed;
+
+    private Boolean cancelRequested;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobErrorDTO {
+
+    private Integer index;
+
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.dio.beerstock.dto;
+
+import com.dio.beerstock.enums.BeerEventType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockItemDTO {
+
+    @NotNull
+    private Long beerId;
+
+    /**
+     * {@code INCREMENTED} ou {@code DECREMENTED}.
+     */
+    @NotNull
+    private BeerEventType type;
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+}
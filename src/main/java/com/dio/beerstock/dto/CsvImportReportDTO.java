@@ -0,0 +1,30 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvImportReportDTO {
+
+    private Integer rows;
+
+    private Integer imported;
+
+    private Integer rejected;
+
+    private Long elapsedMs;
+
+    /**
+     * Verdadeiro se houve mais recusas do que as listadas em {@code errors}.
+     */
+    private Boolean errorsTruncated;
+
+    private List<CsvRowErrorDTO> errors;
+}
@@ -0,0 +1,17 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvRowErrorDTO {
+
+    private Integer line;
+
+    private String message;
+}
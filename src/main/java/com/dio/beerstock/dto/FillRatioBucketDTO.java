@@ -0,0 +1,23 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Faixa do histograma de ocupação ({@code quantity / max}): {@code [from, to)}, exceto a
+ * última, que inclui 1.0.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FillRatioBucketDTO {
+
+    private Double from;
+
+    private Double to;
+
+    private Integer beers;
+}
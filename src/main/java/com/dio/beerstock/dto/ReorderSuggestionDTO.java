@@ -0,0 +1,29 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderSuggestionDTO {
+
+    private Long beerId;
+
+    private String name;
+
+    private String brand;
+
+    private Integer quantity;
+
+    private Integer max;
+
+    private Double dailyConsumption;
+
+    private Double daysUntilStockOut;
+
+    private Integer suggestedQuantity;
+}
@@ -0,0 +1,22 @@
+package com.dio.beerstock.dto;
+
+import com.dio.beerstock.enums.SeriesResolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSeriesDTO {
+
+    private Long beerId;
+
+    private SeriesResolution resolution;
+
+    private List<StockSeriesPointDTO> points;
+}
@@ -0,0 +1,23 @@
+package com.dio.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSeriesPointDTO {
+
+    private Instant start;
+
+    private Integer min;
+
+    private Integer max;
+
+    private Integer last;
+}
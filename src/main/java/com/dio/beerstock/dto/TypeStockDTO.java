@@ -0,0 +1,22 @@
+package com.dio.beerstock.dto;
+
+import com.dio.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeStockDTO {
+
+    private BeerType type;
+
+    private Integer beers;
+
+    private Long quantity;
+
+    private Long capacity;
+}
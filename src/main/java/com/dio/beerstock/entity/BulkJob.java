@@ -0,0 +1,71 @@
+package com.dio.beerstock.entity;
+
+import com.dio.beerstock.enums.JobStatus;
+import com.dio.beerstock.enums.JobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Operação em massa executada em segundo plano, em blocos de itens.
+ * <p>
+ * Os itens ficam no {@code payload} (JSON) e {@code processed} aponta o primeiro item
+ * ainda não confirmado: cada bloco grava seus efeitos e o avanço na mesma transação,
+ * então um job interrompido recomeça exatamente do bloco seguinte. {@code owner} identifica a
+ * instância que está executando o job.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_bulk_job_status", columnList = "status"))
+public class BulkJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private int processed;
+
+    @Column(nullable = false)
+    private int succeeded;
+
+    @Column(nullable = false)
+    private int failed;
+
+    @Column(nullable = false)
+    private boolean cancelRequested;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
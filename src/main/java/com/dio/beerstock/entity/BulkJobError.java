@@ -0,0 +1,34 @@
+package com.dio.beerstock.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item recusado de um {@link BulkJob}, com o motivo da recusa.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_bulk_job_error_job", columnList = "jobId, itemIndex"))
+public class BulkJobError {
+
+    public static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private int itemIndex;
+
+    @Column(nullable = false, length = MAX_MESSAGE_LENGTH)
+    private String message;
+}
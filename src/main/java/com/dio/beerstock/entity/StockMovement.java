@@ -0,0 +1,43 @@
+package com.dio.beerstock.entity;
+
+import com.dio.beerstock.enums.BeerEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Registro imutável de uma movimentação de estoque (append-only).
+ * O estoque de uma cerveja em um instante T é o último {@link StockSnapshot}
+ * até T somado aos deltas das movimentações posteriores a ele.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_stock_movement_beer", columnList = "beerId, id"))
+public class StockMovement {
+
+    // Sequence (e não IDENTITY) para permitir insert em lote pelo Hibernate
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BeerEventType type;
+
+    @Column(nullable = false)
+    private int delta;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
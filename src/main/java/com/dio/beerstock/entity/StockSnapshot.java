@@ -0,0 +1,38 @@
+package com.dio.beerstock.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Estoque consolidado de uma cerveja até a movimentação {@code lastMovementId}.
+ * Gerado periodicamente pela compactação do ledger.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_stock_snapshot_beer", columnList = "beerId, lastMovementId"))
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private Long lastMovementId;
+
+    @Column(nullable = false)
+    private Instant takenAt;
+}
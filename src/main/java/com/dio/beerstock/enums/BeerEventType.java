@@ -0,0 +1,9 @@
+package com.dio.beerstock.enums;
+
+public enum BeerEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INCREMENTED,
+    DECREMENTED
+}
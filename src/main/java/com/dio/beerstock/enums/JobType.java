@@ -0,0 +1,6 @@
+package com.dio.beerstock.enums;
+
+public enum JobType {
+    BULK_CREATE,
+    BULK_STOCK
+}
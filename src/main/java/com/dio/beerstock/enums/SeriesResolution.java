@@ -0,0 +1,18 @@
+package com.dio.beerstock.enums;
+
+import java.time.Duration;
+
+public enum SeriesResolution {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1));
+
+    private final Duration bucket;
+
+    SeriesResolution(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dio.beerstock.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Alterações de várias cervejas confirmadas na mesma transação (um bloco da importação em
+ * massa), publicadas de uma vez. Os listeners tratam cada {@link BeerChangedEvent} como se
+ * tivesse sido publicado sozinho, mas podem agrupar o trabalho (um batch JDBC, uma escrita no log).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BeerBatchChangedEvent {
+
+    private final List<BeerChangedEvent> events;
+}
@@ -0,0 +1,41 @@
+package com.dio.beerstock.event;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Evento publicado pelo {@code BeerService} a cada alteração de uma cerveja.
+ * Carrega o estado da cerveja após a operação (ou antes, no caso de remoção),
+ * a variação de estoque provocada por ela e a versão JPA resultante (na remoção,
+ * a versão removida). Se a operação renomeou a cerveja, {@code previousName} traz o
+ * nome anterior; caso contrário é {@code null}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BeerChangedEvent {
+
+    private final BeerEventType type;
+    private final BeerDTO beer;
+    private final String previousName;
+    private final int delta;
+    private final long version;
+    private final Instant occurredAt;
+
+    public static BeerChangedEvent of(BeerEventType type, BeerDTO beer, int delta, long version) {
+        return of(type, beer, null, delta, version);
+    }
+
+    public static BeerChangedEvent of(BeerEventType type, BeerDTO beer, String previousName, int delta, long version) {
+        return new BeerChangedEvent(type, beer, previousName, delta, version, Instant.now());
+    }
+
+    public Long getBeerId() {
+        return beer.getId();
+    }
+}
@@ -0,0 +1,263 @@
+package com.dio.beerstock.eventlog;
+
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Log local, append-only e com checksum dos eventos de cerveja.
+ * <p>
+ * Formato: um cabeçalho {@code MAGIC} seguido de registros
+ * {@code [int tamanho][int crc32][payload]}. A leitura é feita mapeando o arquivo
+ * em memória ({@link MappedByteBuffer}) em segmentos; um registro incompleto ou
+ * com checksum inválido marca o fim do log e é descartado na abertura.
+ */
+public class BeerEventLog implements Closeable {
+
+    static final int MAGIC = 0x42454C32; // "BEL2": registros com versão e estado completo
+    static final int RECORD_HEADER_BYTES = 8;
+    static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+    static final long DEFAULT_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private static final Logger log = LoggerFactory.getLogger(BeerEventLog.class);
+
+    /**
+     * Recebe a posição de cada registro válido encontrado na varredura do log.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(int segment, int payloadOffset, long beerId);
+    }
+
+    private final Path path;
+    private final boolean fsync;
+    private final long segmentBytes;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private FileChannel channel;
+
+    public BeerEventLog(Path path, boolean fsync) {
+        this(path, fsync, DEFAULT_SEGMENT_BYTES);
+    }
+
+    BeerEventLog(Path path, boolean fsync, long segmentBytes) {
+        this.path = path;
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Varre os registros existentes, descarta uma cauda corrompida e abre o log para escrita.
+     *
+     * @return quantidade de registros válidos encontrados
+     */
+    public synchronized long open(RecordHandler handler) throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Event log already open: " + path);
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip(), 0);
+        }
+        long[] records = {0};
+        long validEnd = scan((segment, offset, beerId) -> {
+            records[0]++;
+            handler.onRecord(segment, offset, beerId);
+        });
+        if (validEnd < channel.size()) {
+            log.warn("Truncating event log {} from {} to {} bytes (torn or corrupted tail)",
+                    path, channel.size(), validEnd);
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        return records[0];
+    }
+
+    public synchronized void append(BeerEventRecord record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Acrescenta os registros em ordem, com uma única sincronização com o disco no fim.
+     */
+    public synchronized void appendAll(List<BeerEventRecord> records) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Event log is not open: " + path);
+        }
+        for (BeerEventRecord record : records) {
+            write(record);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Decodifica o registro cujo payload começa em {@code payloadOffset} do segmento informado.
+     * Seguro para uso concorrente: cada chamada trabalha sobre uma cópia do buffer.
+     */
+    public BeerEventRecord read(int segment, int payloadOffset) {
+        ByteBuffer buffer = segments.get(segment).duplicate();
+        buffer.position(payloadOffset);
+        return decode(buffer);
+    }
+
+    /**
+     * Libera os segmentos mapeados usados na varredura inicial.
+     */
+    public synchronized void releaseSegments() {
+        segments.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segments.clear();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private void write(BeerEventRecord record) throws IOException {
+        ByteBuffer payload = encode(record);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.remaining())
+                .putInt(payload.remaining())
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private long scan(RecordHandler handler) throws IOException {
+        long size = channel.size();
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(magic, 0);
+        if (magic.flip().remaining() < Integer.BYTES || magic.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a beer event log (or an older format): " + path);
+        }
+
+        segments.clear();
+        long position = Integer.BYTES;
+        CRC32 crc = new CRC32();
+        while (position < size) {
+            long windowEnd = Math.min(size, position + segmentBytes);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowEnd - position);
+            int segment = segments.size();
+            segments.add(window);
+
+            boolean remap = false;
+            while (window.hasRemaining()) {
+                int recordStart = window.position();
+                if (window.remaining() < RECORD_HEADER_BYTES) {
+                    remap = true;
+                    break;
+                }
+                int length = window.getInt();
+                int checksum = window.getInt();
+                if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+                    return position + recordStart;
+                }
+                if (window.remaining() < length) {
+                    window.position(recordStart);
+                    remap = true;
+                    break;
+                }
+
+                int payloadOffset = window.position();
+                ByteBuffer payload = window.slice(payloadOffset, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return position + recordStart;
+                }
+                handler.onRecord(segment, payloadOffset, payload.getLong(1));
+                window.position(payloadOffset + length);
+            }
+
+            long consumed = window.position();
+            if (remap && (windowEnd == size || consumed == 0)) {
+                // registro incompleto no fim do arquivo: escrita interrompida
+                return position + consumed;
+            }
+            position += consumed;
+        }
+        return position;
+    }
+
+    static ByteBuffer encode(BeerEventRecord record) {
+        byte[] name = bytes(record.getName());
+        byte[] brand = bytes(record.getBrand());
+        byte[] beerType = bytes(record.getBeerType() != null ? record.getBeerType().name() : null);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES * 3 + Integer.BYTES * 3
+                + Integer.BYTES * 3 + name.length + brand.length + beerType.length);
+        buffer.put((byte) record.getType().ordinal())
+                .putLong(record.getBeerId())
+                .putLong(record.getTimestamp())
+                .putInt(record.getDelta())
+                .putLong(record.getVersion());
+        if (record.carriesState()) {
+            buffer.putInt(record.getMax())
+                    .putInt(record.getQuantity());
+            putBytes(buffer, name);
+            putBytes(buffer, brand);
+            putBytes(buffer, beerType);
+        }
+        return buffer.flip();
+    }
+
+    static BeerEventRecord decode(ByteBuffer buffer) {
+        BeerEventRecord record = new BeerEventRecord();
+        record.setType(BeerEventType.values()[buffer.get()]);
+        record.setBeerId(buffer.getLong());
+        record.setTimestamp(buffer.getLong());
+        record.setDelta(buffer.getInt());
+        record.setVersion(buffer.getLong());
+        if (record.carriesState()) {
+            record.setMax(buffer.getInt());
+            record.setQuantity(buffer.getInt());
+            record.setName(getString(buffer));
+            record.setBrand(getString(buffer));
+            record.setBeerType(BeerType.valueOf(getString(buffer)));
+        }
+        return record;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,258 @@
+package com.dio.beerstock.eventlog;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.sharding.ShardHashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Modo persistente baseado em event sourcing: toda alteração de cerveja é
+ * gravada no {@link BeerEventLog} e, na inicialização, a tabela {@code beer}
+ * é reconstruída a partir do log antes do servidor web começar a atender.
+ * <p>
+ * O registro é gravado antes do commit da transação que alterou a cerveja, depois dos
+ * demais listeners {@code BEFORE_COMMIT} (o ledger grava e descarrega as movimentações
+ * antes); se a gravação falhar, a alteração é desfeita. Threads diferentes podem gravar
+ * fora da ordem dos commits, então cada registro leva a versão JPA e o estado completo da
+ * cerveja, e o replay fica com o registro de maior versão de cada uma (em empate, o mais
+ * recente no log). Um {@code CREATED} inicia uma nova vida do id e descarta as anteriores,
+ * e o contador de ids recomeça depois do maior id já gravado no log, inclusive os removidos.
+ * <p>
+ * A reconstrução varre o log uma única vez, distribui os registros em
+ * partições por hash do id e processa as partições em paralelo.
+ */
+@Service
+@ConditionalOnProperty(name = "beerstock.event-log.enabled", havingValue = "true")
+public class BeerEventLogService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BeerEventLogService.class);
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "insert into beer (id, name, brand, max, quality, type, version) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final BeerEventLog eventLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitions;
+
+    // maior id encontrado no último replay, inclusive de cervejas removidas
+    private volatile long highestLoggedId;
+
+    @Autowired
+    public BeerEventLogService(BeerEventLog eventLog,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${beerstock.event-log.replay-partitions:0}") int partitions) {
+        this.eventLog = eventLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Reconstrói a tabela {@code beer} a partir do log. Linhas já existentes são substituídas
+     * pelo estado do log, que é a fonte da verdade neste modo; com o log vazio e a tabela
+     * preenchida, a inicialização é recusada para não apagar dados que o log não tem.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from beer", Integer.class);
+        try {
+            long[] records = {0};
+            List<Map<Long, BeerEventRecord>> state = replay(records);
+            if (existing != null && existing > 0) {
+                if (records[0] == 0) {
+                    throw new IllegalStateException(String.format(
+                            "Beer table has %d rows but the event log is empty; refusing to start "
+                                    + "(clear the table or disable beerstock.event-log.enabled)", existing));
+                }
+                log.warn("Beer table already has {} rows; replacing them with the event log state", existing);
+                jdbcTemplate.update("delete from beer");
+            }
+            int loaded = load(state);
+            log.info("Rebuilt {} beers from event log in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay beer event log", e);
+        } finally {
+            eventLog.releaseSegments();
+        }
+    }
+
+    /**
+     * Grava o registro antes do commit, depois dos demais listeners; uma falha de E/S desfaz a alteração.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        try {
+            eventLog.append(toRecord(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to beer event log", e);
+        }
+    }
+
+    /**
+     * Grava os registros do lote antes do commit, com uma única sincronização com o disco.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        try {
+            eventLog.appendAll(batch.getEvents().stream().map(BeerEventLogService::toRecord).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to beer event log", e);
+        }
+    }
+
+    /**
+     * Lê o log e devolve o estado final de cada cerveja, agrupado por partição.
+     */
+    public List<Map<Long, BeerEventRecord>> replay() throws IOException {
+        return replay(new long[1]);
+    }
+
+    /**
+     * Insere o estado reconstruído na tabela {@code beer}, preservando os ids originais. O
+     * contador de ids recomeça depois do maior id do log (lido no último {@link #replay()}), para
+     * que o id de uma cerveja removida nunca seja reaproveitado.
+     *
+     * @return quantidade de cervejas inseridas
+     */
+    public int load(List<Map<Long, BeerEventRecord>> state) {
+        int loaded = state.parallelStream()
+                .mapToInt(this::insert)
+                .sum();
+        long maxId = state.stream()
+                .flatMap(partition -> partition.keySet().stream())
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0L);
+        maxId = Math.max(maxId, highestLoggedId);
+        jdbcTemplate.execute("alter table beer alter column id restart with " + (maxId + 1));
+        return loaded;
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static BeerEventRecord toRecord(BeerChangedEvent event) {
+        BeerDTO beer = event.getBeer();
+        return BeerEventRecord.builder()
+                .type(event.getType())
+                .beerId(event.getBeerId())
+                .timestamp(event.getOccurredAt().toEpochMilli())
+                .delta(event.getDelta())
+                .version(event.getVersion())
+                .max(beer.getMax())
+                .quantity(beer.getQuantity())
+                .name(beer.getName())
+                .brand(beer.getBrand())
+                .beerType(beer.getType())
+                .build();
+    }
+
+    private List<Map<Long, BeerEventRecord>> replay(long[] records) throws IOException {
+        LongList[] positions = new LongList[partitions];
+        Arrays.setAll(positions, i -> new LongList());
+        long[] highestId = {0};
+        records[0] = eventLog.open((segment, offset, beerId) -> {
+            positions[partitionOf(beerId)].add(((long) segment << 32) | offset);
+            highestId[0] = Math.max(highestId[0], beerId);
+        });
+        highestLoggedId = highestId[0];
+
+        return IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(partition -> fold(positions[partition]))
+                .collect(Collectors.toList());
+    }
+
+    private int partitionOf(long beerId) {
+        return ShardHashing.partitionOf(beerId, partitions);
+    }
+
+    private Map<Long, BeerEventRecord> fold(LongList positions) {
+        Map<Long, BeerEventRecord> beers = new HashMap<>();
+        for (int i = 0; i < positions.size; i++) {
+            long position = positions.values[i];
+            BeerEventRecord record = eventLog.read((int) (position >>> 32), (int) position);
+            // as posições estão na ordem do log: CREATED inicia uma nova vida do id; dentro de uma
+            // vida vence a maior versão e, em empate, o registro mais recente
+            beers.merge(record.getBeerId(), record,
+                    (current, next) -> next.getType() == BeerEventType.CREATED
+                            || next.getVersion() >= current.getVersion() ? next : current);
+        }
+        beers.values().removeIf(record -> !record.carriesState());
+        return beers;
+    }
+
+    private int insert(Map<Long, BeerEventRecord> partition) {
+        // uma transação por partição, inserindo em ordem de id (append no índice primário)
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                int batched = 0;
+                List<BeerEventRecord> beers = new ArrayList<>(partition.values());
+                beers.sort(Comparator.comparingLong(BeerEventRecord::getBeerId));
+                for (BeerEventRecord beer : beers) {
+                    statement.setLong(1, beer.getBeerId());
+                    statement.setString(2, beer.getName());
+                    statement.setString(3, beer.getBrand());
+                    statement.setInt(4, beer.getMax());
+                    statement.setInt(5, beer.getQuantity());
+                    statement.setString(6, beer.getBeerType().name());
+                    statement.setLong(7, beer.getVersion());
+                    statement.addBatch();
+                    if (++batched % INSERT_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+                return partition.size();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
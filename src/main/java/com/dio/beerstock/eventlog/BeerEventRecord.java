@@ -0,0 +1,35 @@
+package com.dio.beerstock.eventlog;
+
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro decodificado do log de eventos. Todo registro leva a versão JPA da cerveja
+ * após a alteração e, exceto na remoção, o estado completo dela ({@code name},
+ * {@code brand}, {@code max}, {@code quantity}, {@code beerType}).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerEventRecord {
+
+    private BeerEventType type;
+    private long beerId;
+    private long timestamp;
+    private int delta;
+    private long version;
+    private int max;
+    private int quantity;
+    private String name;
+    private String brand;
+    private BeerType beerType;
+
+    public boolean carriesState() {
+        return type != BeerEventType.DELETED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.dio.beerstock.exception;
+
+public class JobNotFoundException extends Exception {
+    public JobNotFoundException(Long id) {
+        super(String.format("Job with id '%d' not found.", id));
+    }
+}
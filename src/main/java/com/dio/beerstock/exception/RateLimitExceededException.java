@@ -0,0 +1,15 @@
+package com.dio.beerstock.exception;
+
+public class RateLimitExceededException extends Exception {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String scope, long retryAfterSeconds) {
+        super(String.format("Too many stock operations (%s limit). Retry after %d second(s).", scope, retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.dio.beerstock.exception;
+
+public class ServiceOverloadedException extends Exception {
+    public ServiceOverloadedException(String kind) {
+        super(String.format("Too many concurrent %s operations. Please retry shortly.", kind));
+    }
+}
@@ -0,0 +1,190 @@
+package com.dio.beerstock.grpc;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.grpc.proto.Beer;
+import com.dio.beerstock.grpc.proto.BeerStockGrpc;
+import com.dio.beerstock.grpc.proto.GetBeerRequest;
+import com.dio.beerstock.grpc.proto.ListBeersRequest;
+import com.dio.beerstock.grpc.proto.StockMovement;
+import com.dio.beerstock.grpc.proto.StockMovementResult;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Serviço gRPC de estoque para clientes internos de alto volume.
+ * Toda regra de negócio é delegada ao {@link BeerService}, como no {@code BeerController};
+ * as movimentações de estoque passam pelo {@link StockCommandGateway}.
+ */
+@Service
+public class BeerGrpcService extends BeerStockGrpc.BeerStockImplBase {
+
+    static final int LIST_PAGE_SIZE = 500;
+    static final int MOVEMENTS_IN_FLIGHT = 64;
+
+    private final BeerService beerService;
+    private final StockCommandGateway stockCommandGateway;
+    private final BeerProtoMapper beerProtoMapper;
+
+    @Autowired
+    public BeerGrpcService(BeerService beerService, StockCommandGateway stockCommandGateway,
+                           BeerProtoMapper beerProtoMapper) {
+        this.beerService = beerService;
+        this.stockCommandGateway = stockCommandGateway;
+        this.beerProtoMapper = beerProtoMapper;
+    }
+
+    @Override
+    public void getBeer(GetBeerRequest request, StreamObserver<Beer> responseObserver) {
+        try {
+            BeerDTO beerDTO = switch (request.getKeyCase()) {
+                case ID -> beerService.findById(request.getId());
+                case NAME -> beerService.findByName(request.getName());
+                case KEY_NOT_SET -> throw Status.INVALID_ARGUMENT
+                        .withDescription("Either id or name must be informed.")
+                        .asRuntimeException();
+            };
+            responseObserver.onNext(beerProtoMapper.toProto(beerDTO));
+            responseObserver.onCompleted();
+        } catch (BeerNotFoundException e) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+        } catch (RuntimeException e) {
+            responseObserver.onError(e);
+        }
+    }
+
+    /**
+     * Transmite o catálogo em páginas de {@value #LIST_PAGE_SIZE} cervejas, respeitando o
+     * controle de fluxo do cliente: só envia enquanto a chamada estiver pronta
+     * ({@code isReady}) e retoma no {@code onReadyHandler}.
+     */
+    @Override
+    public void listBeers(ListBeersRequest request, StreamObserver<Beer> responseObserver) {
+        ServerCallStreamObserver<Beer> call = (ServerCallStreamObserver<Beer>) responseObserver;
+        CatalogStream stream = new CatalogStream(call);
+        call.setOnCancelHandler(stream::cancel);
+        call.setOnReadyHandler(stream::drain);
+    }
+
+    /**
+     * Envia cada movimentação recebida ao {@link StockCommandGateway} assim que chega e
+     * responde, na ordem de chegada, com o estado atualizado da cerveja ou com o motivo
+     * da rejeição. Um erro em uma movimentação não encerra o stream.
+     * <p>
+     * O pedido automático de mensagens fica desligado: no máximo {@value #MOVEMENTS_IN_FLIGHT}
+     * movimentações ficam sem resposta por stream, e cada resposta enviada libera a próxima.
+     * Um cliente mais rápido que o estoque espera no controle de fluxo em vez de acumular
+     * futuros no servidor.
+     */
+    @Override
+    public StreamObserver<StockMovement> streamStockMovements(StreamObserver<StockMovementResult> responseObserver) {
+        ServerCallStreamObserver<StockMovementResult> call = (ServerCallStreamObserver<StockMovementResult>) responseObserver;
+        call.disableAutoRequest();
+        call.request(MOVEMENTS_IN_FLIGHT);
+        return new StreamObserver<>() {
+            // respostas encadeadas na ordem de chegada; os callbacks do gRPC são serializados
+            private CompletableFuture<Void> responses = CompletableFuture.completedFuture(null);
+
+            @Override
+            public void onNext(StockMovement movement) {
+                CompletableFuture<StockMovementResult> result = apply(movement)
+                        .handle((beerDTO, failure) -> toResult(movement, beerDTO, failure));
+                responses = responses.thenCombine(result, (previous, next) -> {
+                    call.onNext(next);
+                    call.request(1);
+                    return null;
+                });
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // cliente cancelou o stream; nada a responder
+            }
+
+            @Override
+            public void onCompleted() {
+                responses.whenComplete((ignored, failure) -> call.onCompleted());
+            }
+        };
+    }
+
+    // =============== Métodos Privados ===============
+
+    private CompletableFuture<BeerDTO> apply(StockMovement movement) {
+        return switch (movement.getDirection()) {
+            case INCREMENT -> stockCommandGateway.increment(movement.getBeerId(), movement.getQuantity());
+            case DECREMENT -> stockCommandGateway.decrement(movement.getBeerId(), movement.getQuantity());
+            default -> CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Movement direction must be INCREMENT or DECREMENT."));
+        };
+    }
+
+    /**
+     * Qualquer falha (estoque, cerveja inexistente, conflito de versão esgotado, banco)
+     * afeta só esta movimentação.
+     */
+    private StockMovementResult toResult(StockMovement movement, BeerDTO beerDTO, Throwable failure) {
+        StockMovementResult.Builder result = StockMovementResult.newBuilder()
+                .setCorrelationId(movement.getCorrelationId());
+        if (failure == null) {
+            return result.setBeer(beerProtoMapper.toProto(beerDTO)).build();
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return result.setError(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName())
+                .build();
+    }
+
+    /**
+     * Estado de um {@code listBeers} em andamento: o último id enviado e a página atual.
+     */
+    private final class CatalogStream {
+
+        private final ServerCallStreamObserver<Beer> call;
+        private Iterator<BeerDTO> page = Collections.emptyIterator();
+        private long lastId;
+        private boolean finished;
+
+        private CatalogStream(ServerCallStreamObserver<Beer> call) {
+            this.call = call;
+        }
+
+        synchronized void drain() {
+            try {
+                while (!finished && call.isReady()) {
+                    if (!page.hasNext()) {
+                        List<BeerDTO> next = beerService.listPage(lastId, LIST_PAGE_SIZE);
+                        if (next.isEmpty()) {
+                            finished = true;
+                            call.onCompleted();
+                            return;
+                        }
+                        page = next.iterator();
+                    }
+                    BeerDTO beerDTO = page.next();
+                    lastId = beerDTO.getId();
+                    call.onNext(beerProtoMapper.toProto(beerDTO));
+                }
+            } catch (RuntimeException e) {
+                finished = true;
+                call.onError(Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+            }
+        }
+
+        synchronized void cancel() {
+            finished = true;
+        }
+    }
+}
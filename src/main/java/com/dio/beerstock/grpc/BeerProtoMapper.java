@@ -0,0 +1,21 @@
+package com.dio.beerstock.grpc;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.grpc.proto.Beer;
+import com.dio.beerstock.grpc.proto.BeerType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BeerProtoMapper {
+
+    public Beer toProto(BeerDTO dto) {
+        return Beer.newBuilder()
+                .setId(dto.getId())
+                .setName(dto.getName())
+                .setBrand(dto.getBrand())
+                .setMax(dto.getMax())
+                .setQuantity(dto.getQuantity())
+                .setType(BeerType.valueOf(dto.getType().name())) // enums com os mesmos nomes
+                .build();
+    }
+}
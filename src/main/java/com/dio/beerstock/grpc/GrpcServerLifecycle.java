@@ -0,0 +1,71 @@
+package com.dio.beerstock.grpc;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobe o servidor gRPC junto com o contexto Spring (beerstock.grpc.enabled=true).
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.grpc.enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final BeerGrpcService beerGrpcService;
+    private final int port;
+    private Server server;
+
+    @Autowired
+    public GrpcServerLifecycle(BeerGrpcService beerGrpcService,
+                               @Value("${beerstock.grpc.port:9090}") int port) {
+        this.beerGrpcService = beerGrpcService;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = ServerBuilder.forPort(port)
+                    .addService(beerGrpcService)
+                    .build()
+                    .start();
+            log.info("gRPC server started on port {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,513 @@
+package com.dio.beerstock.importer;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.CsvImportReportDTO;
+import com.dio.beerstock.dto.CsvRowErrorDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import com.dio.beerstock.repository.BeerStore;
+import com.dio.beerstock.service.BeerService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de cervejas a partir de CSV, em pipeline.
+ * <p>
+ * Estágios: leitura (thread da requisição) agrupa as linhas em blocos de {@code chunk-size};
+ * {@code validators} threads convertem e validam os blocos em paralelo (Bean Validation do
+ * {@link BeerDTO} e regras de estoque do {@link BeerService}); uma thread de escrita grava os
+ * blocos na ordem do arquivo, com um batch JDBC por bloco via {@link BeerStore#insertBatch}.
+ * Os estágios são ligados por filas limitadas e o total de blocos em andamento é limitado, então
+ * a leitura do upload desacelera quando o banco não acompanha.
+ * <p>
+ * Cada bloco gravado é uma transação que publica, dentro dela, um {@link BeerBatchChangedEvent}
+ * com um {@code CREATED} por cerveja: ledger e log de eventos gravam o bloco antes do commit, e
+ * os demais listeners o recebem após o commit, como no cadastro individual. Uma falha interrompe
+ * a importação, mas os blocos já gravados ficam.
+ * Nomes repetidos no arquivo ou já cadastrados são recusados linha a linha.
+ */
+@Service
+public class CsvBeerImportService {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("name", "brand", "max", "quantity", "type");
+
+    private static final Logger log = LoggerFactory.getLogger(CsvBeerImportService.class);
+    private static final long POLL_MILLIS = 100;
+    private static final int HEADER_LINE = 1;
+
+    private final BeerStore beerStore;
+    private final BeerService beerService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int validators;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+    private final Semaphore concurrentImports;
+
+    @Autowired
+    public CsvBeerImportService(BeerStore beerStore,
+                                BeerService beerService,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${beerstock.import.chunk-size:1000}") int chunkSize,
+                                @Value("${beerstock.import.validators:0}") int validators,
+                                @Value("${beerstock.import.queue-capacity:4}") int queueCapacity,
+                                @Value("${beerstock.import.max-reported-errors:1000}") int maxReportedErrors,
+                                @Value("${beerstock.import.max-concurrent:1}") int maxConcurrent) {
+        this.beerStore = beerStore;
+        this.beerService = beerService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.validators = validators > 0 ? validators : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.maxReportedErrors = maxReportedErrors;
+        this.concurrentImports = new Semaphore(Math.max(maxConcurrent, 1));
+    }
+
+    /**
+     * Importa o CSV (UTF-8, com cabeçalho contendo {@link #REQUIRED_COLUMNS} em qualquer ordem).
+     *
+     * @return contagens e as linhas recusadas, em ordem
+     * @throws ServiceOverloadedException Se já houver {@code max-concurrent} importações em andamento
+     */
+    public CsvImportReportDTO importCsv(InputStream input) throws IOException, ServiceOverloadedException {
+        if (!concurrentImports.tryAcquire()) {
+            throw new ServiceOverloadedException("import");
+        }
+        try {
+            long start = System.nanoTime();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+            Pipeline pipeline = new Pipeline();
+            String header = reader.readLine();
+            if (header != null) {
+                pipeline.run(header, reader);
+            }
+            CsvImportReportDTO report = pipeline.report(System.nanoTime() - start);
+            log.info("Imported {} of {} CSV rows in {} ms", report.getImported(), report.getRows(), report.getElapsedMs());
+            return report;
+        } finally {
+            concurrentImports.release();
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private record RawChunk(long sequence, int[] lines, String[] values) {
+    }
+
+    private record ValidChunk(long sequence, List<Row> rows, List<CsvRowErrorDTO> errors) {
+    }
+
+    private record Row(int line, BeerDTO beer) {
+    }
+
+    /**
+     * Sinaliza a um estágio que outro estágio falhou e a importação foi interrompida.
+     */
+    private static final class ImportAbortedException extends RuntimeException {
+        ImportAbortedException() {
+            super("CSV import aborted", null, false, false);
+        }
+    }
+
+    private static final RawChunk END_OF_INPUT = new RawChunk(-1, new int[0], new String[0]);
+
+    /**
+     * Estado de uma importação: filas entre os estágios, relatório e sinal de interrupção.
+     */
+    private final class Pipeline {
+
+        private final BlockingQueue<RawChunk> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<ValidChunk> validated = new ArrayBlockingQueue<>(queueCapacity);
+        // blocos lidos e ainda não gravados (inclui os que esperam a vez na reordenação)
+        private final Semaphore inFlight = new Semaphore(queueCapacity * 2 + validators);
+        private final List<CsvRowErrorDTO> errors = new ArrayList<>();
+        private volatile boolean aborted;
+        private int rows;
+        private int imported;
+        private int rejected;
+        private Map<String, Integer> columns;
+
+        void run(String header, BufferedReader reader) throws IOException {
+            columns = parseHeader(header);
+            if (columns == null) {
+                return;
+            }
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(validators + 1,
+                    task -> new Thread(task, "beerstock-import-" + threads.incrementAndGet()));
+            try {
+                List<Future<?>> stages = new ArrayList<>(validators + 1);
+                stages.add(executor.submit(this::runWriter));
+                for (int i = 0; i < validators; i++) {
+                    stages.add(executor.submit(this::runValidator));
+                }
+                Exception readFailure = null;
+                try {
+                    read(reader);
+                } catch (IOException | RuntimeException e) {
+                    aborted = true;
+                    readFailure = e;
+                }
+                RuntimeException stageFailure = await(stages);
+                // a causa original vem do estágio que falhou; os demais só foram abortados
+                if (stageFailure != null && !(stageFailure instanceof ImportAbortedException)) {
+                    throw stageFailure;
+                }
+                if (readFailure instanceof IOException e) {
+                    throw e;
+                }
+                if (readFailure != null) {
+                    throw (RuntimeException) readFailure;
+                }
+                if (stageFailure != null) {
+                    throw stageFailure;
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        CsvImportReportDTO report(long elapsedNanos) {
+            errors.sort(Comparator.comparing(CsvRowErrorDTO::getLine));
+            return CsvImportReportDTO.builder()
+                    .rows(rows)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .errorsTruncated(rejected > errors.size())
+                    .errors(errors)
+                    .build();
+        }
+
+        // ----- leitura -----
+
+        private Map<String, Integer> parseHeader(String header) {
+            Map<String, Integer> positions = new HashMap<>();
+            List<String> names = CsvLineParser.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            for (int i = 0; i < names.size(); i++) {
+                positions.putIfAbsent(names.get(i).toLowerCase(Locale.ROOT), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream()
+                    .filter(column -> !positions.containsKey(column))
+                    .toList();
+            if (!missing.isEmpty()) {
+                errors.add(new CsvRowErrorDTO(HEADER_LINE, "Missing column(s): " + String.join(", ", missing)));
+                return null;
+            }
+            return positions;
+        }
+
+        private void read(BufferedReader reader) throws IOException {
+            long sequence = 0;
+            int[] lines = new int[chunkSize];
+            String[] values = new String[chunkSize];
+            int size = 0;
+            int lineNumber = HEADER_LINE;
+            String line;
+            while ((line = reader.readLine()) != null && !aborted) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines[size] = lineNumber;
+                values[size++] = line;
+                if (size == chunkSize) {
+                    dispatch(new RawChunk(sequence++, lines, values));
+                    lines = new int[chunkSize];
+                    values = new String[chunkSize];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                dispatch(new RawChunk(sequence++, Arrays.copyOf(lines, size), Arrays.copyOf(values, size)));
+            }
+            put(parsed, END_OF_INPUT);
+            put(validated, new ValidChunk(sequence, null, null));
+        }
+
+        private void dispatch(RawChunk chunk) {
+            rows += chunk.values().length;
+            acquire();
+            put(parsed, chunk);
+        }
+
+        // ----- validação (paralela) -----
+
+        private void runValidator() {
+            try {
+                RawChunk chunk;
+                while ((chunk = take(parsed)) != END_OF_INPUT) {
+                    put(validated, validate(chunk));
+                }
+                put(parsed, END_OF_INPUT); // repassa o fim para as demais threads de validação
+            } catch (RuntimeException e) {
+                aborted = true;
+                throw e;
+            }
+        }
+
+        private ValidChunk validate(RawChunk chunk) {
+            List<Row> valid = new ArrayList<>(chunk.values().length);
+            List<CsvRowErrorDTO> rejections = new ArrayList<>();
+            for (int i = 0; i < chunk.values().length; i++) {
+                int line = chunk.lines()[i];
+                try {
+                    BeerDTO beer = toBeer(CsvLineParser.parse(chunk.values()[i]));
+                    Set<ConstraintViolation<BeerDTO>> violations = validator.validate(beer);
+                    if (!violations.isEmpty()) {
+                        rejections.add(new CsvRowErrorDTO(line, violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining("; "))));
+                        continue;
+                    }
+                    beerService.validateStock(beer);
+                    valid.add(new Row(line, beer));
+                } catch (IllegalArgumentException | BeerStockExceededException e) {
+                    rejections.add(new CsvRowErrorDTO(line, e.getMessage()));
+                }
+            }
+            return new ValidChunk(chunk.sequence(), valid, rejections);
+        }
+
+        private BeerDTO toBeer(List<String> fields) {
+            return BeerDTO.builder()
+                    .name(field(fields, "name"))
+                    .brand(field(fields, "brand"))
+                    .max(integer(fields, "max"))
+                    .quantity(integer(fields, "quantity"))
+                    .type(type(fields))
+                    .build();
+        }
+
+        private String field(List<String> fields, String column) {
+            int position = columns.get(column);
+            if (position >= fields.size()) {
+                throw new IllegalArgumentException(String.format(
+                        "Expected at least %d fields but found %d", position + 1, fields.size()));
+            }
+            String value = fields.get(position);
+            return value.isEmpty() ? null : value;
+        }
+
+        private Integer integer(List<String> fields, String column) {
+            String value = field(fields, column);
+            try {
+                return value != null ? Integer.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + ": '" + value + "' is not an integer");
+            }
+        }
+
+        private BeerType type(List<String> fields) {
+            String value = field(fields, "type");
+            try {
+                return value != null ? BeerType.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("type: unknown beer type '" + value + "'");
+            }
+        }
+
+        // ----- escrita (uma thread, na ordem do arquivo) -----
+
+        private void runWriter() {
+            try {
+                Map<String, Integer> firstLineByName = new HashMap<>();
+                TreeMap<Long, ValidChunk> waiting = new TreeMap<>();
+                long next = 0;
+                long total = -1;
+                while (total < 0 || next < total) {
+                    ValidChunk chunk = take(validated);
+                    if (chunk.rows() == null) {
+                        total = chunk.sequence();
+                    } else {
+                        waiting.put(chunk.sequence(), chunk);
+                    }
+                    while (!waiting.isEmpty() && waiting.firstKey() == next) {
+                        write(waiting.pollFirstEntry().getValue(), firstLineByName);
+                        inFlight.release();
+                        next++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                aborted = true;
+                throw e;
+            }
+        }
+
+        private void write(ValidChunk chunk, Map<String, Integer> firstLineByName) {
+            List<CsvRowErrorDTO> rejections = new ArrayList<>(chunk.errors());
+            List<Row> unique = new ArrayList<>(chunk.rows().size());
+            for (Row row : chunk.rows()) {
+                Integer firstLine = firstLineByName.putIfAbsent(row.beer().getName(), row.line());
+                if (firstLine != null) {
+                    rejections.add(new CsvRowErrorDTO(row.line(), "Duplicate name in file (first at line " + firstLine + ")."));
+                } else {
+                    unique.add(row);
+                }
+            }
+
+            try {
+                imported += transactionTemplate.execute(status -> insert(unique, rejections));
+            } catch (DataIntegrityViolationException e) {
+                // corrida com um cadastro concorrente: refaz o bloco linha a linha
+                Set<Integer> retried = unique.stream().map(Row::line).collect(Collectors.toSet());
+                rejections.removeIf(rejection -> retried.contains(rejection.getLine()));
+                imported += insertOneByOne(unique, rejections);
+            }
+
+            rejected += rejections.size();
+            rejections.sort(Comparator.comparing(CsvRowErrorDTO::getLine));
+            int room = Math.max(maxReportedErrors - errors.size(), 0);
+            errors.addAll(rejections.subList(0, Math.min(room, rejections.size())));
+        }
+
+        /**
+         * Grava o bloco e publica o evento dele na transação corrente.
+         *
+         * @return cervejas criadas
+         */
+        private int insert(List<Row> rows, List<CsvRowErrorDTO> rejections) {
+            Set<String> existing = beerStore.findExistingNames(
+                    rows.stream().map(row -> row.beer().getName()).toList());
+            List<BeerDTO> beers = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                if (existing.contains(row.beer().getName())) {
+                    rejections.add(new CsvRowErrorDTO(row.line(),
+                            new BeerAlreadyRegisteredException(row.beer().getName()).getMessage()));
+                } else {
+                    beers.add(row.beer());
+                }
+            }
+            List<Long> ids = beerStore.insertBatch(beers);
+            List<BeerChangedEvent> created = new ArrayList<>(beers.size());
+            for (int i = 0; i < beers.size(); i++) {
+                BeerDTO beer = beers.get(i).toBuilder().id(ids.get(i)).build();
+                created.add(BeerChangedEvent.of(BeerEventType.CREATED, beer, beer.getQuantity(), 0));
+            }
+            if (!created.isEmpty()) {
+                eventPublisher.publishEvent(new BeerBatchChangedEvent(created));
+            }
+            return created.size();
+        }
+
+        private int insertOneByOne(List<Row> rows, List<CsvRowErrorDTO> rejections) {
+            int created = 0;
+            for (Row row : rows) {
+                try {
+                    beerService.createBeer(row.beer());
+                    created++;
+                } catch (BeerAlreadyRegisteredException | BeerStockExceededException | DataIntegrityViolationException e) {
+                    rejections.add(new CsvRowErrorDTO(row.line(), e.getMessage()));
+                }
+            }
+            return created;
+        }
+
+        // ----- coordenação -----
+
+        private void acquire() {
+            try {
+                while (!inFlight.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    checkAborted();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("CSV import interrupted", e);
+            }
+        }
+
+        private <T> void put(BlockingQueue<T> queue, T item) {
+            try {
+                while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    checkAborted();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("CSV import interrupted", e);
+            }
+        }
+
+        private <T> T take(BlockingQueue<T> queue) {
+            try {
+                T item;
+                while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    checkAborted();
+                }
+                return item;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("CSV import interrupted", e);
+            }
+        }
+
+        private void checkAborted() {
+            if (aborted) {
+                throw new ImportAbortedException();
+            }
+        }
+
+        private RuntimeException await(List<Future<?>> stages) {
+            RuntimeException failure = null;
+            for (Future<?> stage : stages) {
+                try {
+                    stage.get();
+                } catch (ExecutionException e) {
+                    if (failure == null || failure instanceof ImportAbortedException) {
+                        failure = e.getCause() instanceof RuntimeException runtime
+                                ? runtime
+                                : new IllegalStateException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("CSV import interrupted", e);
+                }
+            }
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.dio.beerstock.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser de uma linha CSV (RFC 4180): campos separados por vírgula, opcionalmente entre
+ * aspas duplas, com {@code ""} representando uma aspa. Campos sem aspas são aparados.
+ * Quebras de linha dentro de campos não são suportadas.
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i = readQuoted(line, i + 1, field);
+                while (i < line.length() && line.charAt(i) != ',') {
+                    if (!Character.isWhitespace(line.charAt(i))) {
+                        throw new IllegalArgumentException("Unexpected character after quoted field at column " + (i + 1));
+                    }
+                    i++;
+                }
+                fields.add(field.toString());
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) {
+                    end = line.length();
+                }
+                fields.add(line.substring(i, end).trim());
+                i = end;
+            }
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // vírgula
+        }
+    }
+
+    private static int readQuoted(String line, int i, StringBuilder field) {
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            field.append(c);
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated quoted field");
+    }
+}
@@ -0,0 +1,260 @@
+package com.dio.beerstock.job;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.BulkStockItemDTO;
+import com.dio.beerstock.entity.BulkJob;
+import com.dio.beerstock.entity.BulkJobError;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.JobStatus;
+import com.dio.beerstock.enums.JobType;
+import com.dio.beerstock.repository.BulkJobErrorRepository;
+import com.dio.beerstock.repository.BulkJobRepository;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Executa um {@link BulkJob} em blocos de {@code chunk-size} itens.
+ * <p>
+ * Antes de começar, o runner assume o job com uma atualização condicional, e cada bloco só
+ * avança o job a partir da posição que leu e enquanto o job ainda for seu; assim um job
+ * despachado duas vezes, ou assumido por outra instância, é executado por um runner só. Cada bloco é uma transação: os itens passam pela Bean Validation do DTO e pelas
+ * regras do {@link BeerService} (movimentações pelo {@link StockCommandGateway}), os recusados
+ * viram {@link BulkJobError} e o avanço do job é gravado junto com os efeitos. Conflitos de
+ * optimistic locking e de nome único desfazem o bloco inteiro, que é repetido até
+ * {@code chunk-attempts} vezes; na repetição, um nome criado em paralelo é recusado como item.
+ * Entre blocos o runner verifica o pedido de cancelamento e se a aplicação está sendo
+ * encerrada; nesse caso o job fica em {@code RUNNING} e é retomado na próxima inicialização.
+ * <p>
+ * Com {@code beerstock.stock.mode=sharded} as movimentações são confirmadas pelos shards, fora
+ * da transação do bloco: um bloco desfeito não as desfaz. Por isso a repetição após conflito
+ * não reaplica os itens já enviados aos shards, só grava de novo o resultado deles; uma
+ * retomada após queda ainda pode reaplicar os do bloco interrompido.
+ */
+@Component
+public class BulkJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobRunner.class);
+    private static final TypeReference<List<BeerDTO>> BEERS = new TypeReference<>() { };
+    private static final TypeReference<List<BulkStockItemDTO>> STOCK_ITEMS = new TypeReference<>() { };
+
+    private final BulkJobRepository jobRepository;
+    private final BulkJobErrorRepository errorRepository;
+    private final BeerService beerService;
+    private final StockCommandGateway stockCommandGateway;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int chunkAttempts;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public BulkJobRunner(BulkJobRepository jobRepository,
+                         BulkJobErrorRepository errorRepository,
+                         BeerService beerService,
+                         StockCommandGateway stockCommandGateway,
+                         Validator validator,
+                         ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${beerstock.jobs.chunk-size:500}") int chunkSize,
+                         @Value("${beerstock.jobs.chunk-attempts:3}") int chunkAttempts) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.beerService = beerService;
+        this.stockCommandGateway = stockCommandGateway;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.chunkAttempts = Math.max(chunkAttempts, 1);
+    }
+
+    /**
+     * Executa o job a partir do primeiro item ainda não confirmado.
+     *
+     * @param keepRunning consultado antes de cada bloco; falso interrompe o job sem finalizá-lo
+     */
+    public void run(Long jobId, BooleanSupplier keepRunning) {
+        if (!claim(jobId)) {
+            log.debug("Job {} is finished, missing or already running", jobId);
+            return;
+        }
+        // leitura em transação de escrita para ir ao primário (a réplica só copia a tabela beer)
+        BulkJob job = transactionTemplate.execute(status -> jobRepository.findById(jobId)).orElseThrow();
+        try {
+            List<?> items = decode(job);
+            int position = job.getProcessed();
+            while (position < items.size()) {
+                if (!keepRunning.getAsBoolean()) {
+                    log.info("Job {} paused at item {} of {}", jobId, position, items.size());
+                    return;
+                }
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> jobRepository.isCancelRequested(jobId)))) {
+                    finish(jobId, JobStatus.CANCELLED, null);
+                    return;
+                }
+                int end = Math.min(position + chunkSize, items.size());
+                if (!runChunk(job, items, position, end)) {
+                    log.warn("Job {} was advanced past item {} or claimed by another runner; stopping", jobId, position);
+                    return;
+                }
+                position = end;
+            }
+            finish(jobId, JobStatus.SUCCEEDED, null);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.error("Job {} failed", jobId, e);
+            finish(jobId, JobStatus.FAILED, truncate(e.toString()));
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private List<?> decode(BulkJob job) throws JsonProcessingException {
+        return switch (job.getType()) {
+            case BULK_CREATE -> objectMapper.readValue(job.getPayload(), BEERS);
+            case BULK_STOCK -> objectMapper.readValue(job.getPayload(), STOCK_ITEMS);
+        };
+    }
+
+    private boolean claim(Long jobId) {
+        Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(jobId, owner,
+                List.of(JobStatus.QUEUED, JobStatus.RUNNING), Instant.now()));
+        return claimed != null && claimed == 1;
+    }
+
+    /**
+     * @return falso se o job já tinha sido avançado ou assumido por outro runner (o bloco é desfeito)
+     */
+    private boolean runChunk(BulkJob job, List<?> items, int from, int to) {
+        // resultado de cada item já aplicado; só sobrevive a um conflito se o efeito não foi desfeito
+        List<String> outcomes = new ArrayList<>();
+        boolean appliedOutsideChunk = job.getType() == JobType.BULK_STOCK && stockCommandGateway.isSharded();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Boolean.TRUE.equals(
+                        transactionTemplate.execute(status -> applyChunk(status, job, items, from, to, outcomes)));
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= chunkAttempts) {
+                    throw e;
+                }
+                if (!appliedOutsideChunk) {
+                    outcomes.clear();
+                }
+                log.debug("Retrying chunk [{}, {}) of job {} after conflict", from, to, job.getId());
+            }
+        }
+    }
+
+    private boolean applyChunk(TransactionStatus status, BulkJob job, List<?> items, int from, int to,
+                               List<String> outcomes) {
+        for (int index = from + outcomes.size(); index < to; index++) {
+            outcomes.add(apply(status, job.getType(), items.get(index)));
+        }
+        List<BulkJobError> errors = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            String error = outcomes.get(index - from);
+            if (error != null) {
+                errors.add(BulkJobError.builder()
+                        .jobId(job.getId())
+                        .itemIndex(index)
+                        .message(truncate(error))
+                        .build());
+            }
+        }
+        errorRepository.saveAll(errors);
+        int succeeded = to - from - errors.size();
+        if (jobRepository.advance(job.getId(), owner, from, to, succeeded, errors.size(), Instant.now()) == 0) {
+            status.setRollbackOnly();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Aplica um item e devolve o motivo da recusa, ou {@code null} se foi aceito. Exceções não
+     * checadas que marcaram a transação para rollback são repassadas e falham o bloco; as
+     * demais (movimentações recusadas por um shard) recusam só o item.
+     */
+    private String apply(TransactionStatus status, JobType type, Object item) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            switch (type) {
+                case BULK_CREATE -> beerService.createBeer(((BeerDTO) item).toBuilder().id(null).build());
+                case BULK_STOCK -> {
+                    return applyStock((BulkStockItemDTO) item);
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            if (status.isRollbackOnly()) {
+                throw e;
+            }
+            return String.valueOf(e.getMessage());
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    private String applyStock(BulkStockItemDTO item) throws Exception {
+        CompletableFuture<?> result;
+        if (item.getType() == BeerEventType.INCREMENTED) {
+            result = stockCommandGateway.increment(item.getBeerId(), item.getQuantity());
+        } else if (item.getType() == BeerEventType.DECREMENTED) {
+            result = stockCommandGateway.decrement(item.getBeerId(), item.getQuantity());
+        } else {
+            return "type: must be INCREMENTED or DECREMENTED";
+        }
+        try {
+            result.join();
+            return null;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void finish(Long jobId, JobStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.finish(jobId, owner, status, error, Instant.now()));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= BulkJobError.MAX_MESSAGE_LENGTH
+                ? message
+                : message.substring(0, BulkJobError.MAX_MESSAGE_LENGTH);
+    }
+}
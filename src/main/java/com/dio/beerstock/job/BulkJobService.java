@@ -0,0 +1,193 @@
+package com.dio.beerstock.job;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.BulkJobDTO;
+import com.dio.beerstock.dto.BulkJobErrorDTO;
+import com.dio.beerstock.dto.BulkStockItemDTO;
+import com.dio.beerstock.entity.BulkJob;
+import com.dio.beerstock.enums.JobStatus;
+import com.dio.beerstock.enums.JobType;
+import com.dio.beerstock.exception.JobNotFoundException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import com.dio.beerstock.repository.BulkJobErrorRepository;
+import com.dio.beerstock.repository.BulkJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Submissão, acompanhamento e cancelamento de operações em massa.
+ * <p>
+ * O pedido só grava o {@link BulkJob} e devolve o id; o trabalho roda no
+ * {@link BulkJobRunner} em um pool limitado ({@code workers} threads e fila de
+ * {@code queue-capacity} jobs). Com a fila cheia a submissão é recusada com
+ * {@link ServiceOverloadedException}. Jobs não finalizados são retomados na inicialização,
+ * o que no perfil {@code durable} inclui os interrompidos por um reinício.
+ */
+@Service
+public class BulkJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final BulkJobRepository jobRepository;
+    private final BulkJobErrorRepository errorRepository;
+    private final BulkJobRunner runner;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private volatile boolean running = true;
+
+    @Autowired
+    public BulkJobService(BulkJobRepository jobRepository,
+                          BulkJobErrorRepository errorRepository,
+                          BulkJobRunner runner,
+                          ObjectMapper objectMapper,
+                          @Value("${beerstock.jobs.workers:2}") int workers,
+                          @Value("${beerstock.jobs.queue-capacity:100}") int queueCapacity) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.runner = runner;
+        this.objectMapper = objectMapper;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "beerstock-job-" + threads.incrementAndGet()));
+    }
+
+    public BulkJobDTO submitBulkCreate(List<BeerDTO> beers) throws ServiceOverloadedException {
+        return submit(JobType.BULK_CREATE, beers);
+    }
+
+    public BulkJobDTO submitBulkStock(List<BulkStockItemDTO> items) throws ServiceOverloadedException {
+        return submit(JobType.BULK_STOCK, items);
+    }
+
+    // transação de escrita de propósito: o progresso é lido do primário (a réplica só copia a tabela beer)
+    @Transactional
+    public BulkJobDTO findById(Long id) throws JobNotFoundException {
+        return toDTO(verifyIfExists(id));
+    }
+
+    /**
+     * Itens recusados do job, em ordem, a partir do índice {@code fromIndex}.
+     */
+    @Transactional
+    public List<BulkJobErrorDTO> errors(Long id, int fromIndex, int limit) throws JobNotFoundException {
+        verifyIfExists(id);
+        return errorRepository.findByJobIdAndItemIndexGreaterThanEqualOrderByItemIndex(id, fromIndex, Limit.of(limit))
+                .stream()
+                .map(error -> BulkJobErrorDTO.builder()
+                        .index(error.getItemIndex())
+                        .message(error.getMessage())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Pede o cancelamento do job. O runner para antes do próximo bloco; os blocos já
+     * confirmados permanecem aplicados. Sem efeito em jobs finalizados.
+     */
+    @Transactional
+    public BulkJobDTO cancel(Long id) throws JobNotFoundException {
+        jobRepository.requestCancel(id, List.of(JobStatus.QUEUED, JobStatus.RUNNING));
+        return toDTO(verifyIfExists(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<Long> unfinished = jobRepository.findIdsByStatusIn(List.of(JobStatus.QUEUED, JobStatus.RUNNING));
+        for (Long id : unfinished) {
+            try {
+                dispatch(id);
+            } catch (RejectedExecutionException e) {
+                log.warn("Job queue is full; {} unfinished jobs wait for the next restart", unfinished.size());
+                return;
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("Resumed {} unfinished jobs", unfinished.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // jobs param no próximo bloco e continuam RUNNING/QUEUED para serem retomados
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Jobs still running after {} s; interrupting", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private BulkJobDTO submit(JobType type, List<?> items) throws ServiceOverloadedException {
+        Instant now = Instant.now();
+        BulkJob job = jobRepository.save(BulkJob.builder()
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .total(items.size())
+                .payload(encode(items))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            dispatch(job.getId());
+        } catch (RejectedExecutionException e) {
+            jobRepository.deleteById(job.getId());
+            throw new ServiceOverloadedException("job");
+        }
+        return toDTO(job);
+    }
+
+    private void dispatch(Long id) {
+        executor.execute(() -> runner.run(id, () -> running));
+    }
+
+    private String encode(List<?> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize job items", e);
+        }
+    }
+
+    private BulkJob verifyIfExists(Long id) throws JobNotFoundException {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new JobNotFoundException(id));
+    }
+
+    private BulkJobDTO toDTO(BulkJob job) {
+        return BulkJobDTO.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .succeeded(job.getSucceeded())
+                .failed(job.getFailed())
+                .cancelRequested(job.isCancelRequested())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -14,7 +14,8 @@ public class BeerMapper {
                 dto.getBrand(),
                 dto.getMax(),
                 dto.getQuantity(), // mapeia quantity → quality
-                dto.getType()
+                dto.getType(),
+                null // versão é controlada pelo JPA
         );
     }
 
@@ -0,0 +1,47 @@
+package com.dio.beerstock.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Lê o header {@code X-Beerstock-Read-After}: leituras da requisição só vão para a réplica
+ * se ela já tiver aplicado essa posição (devolvida pelas escritas em {@code X-Beerstock-Position}).
+ * As escritas confirmadas na própria requisição também passam a ser exigidas.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.replica.enabled", havingValue = "true")
+public class ReadAfterInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String READ_AFTER_HEADER = "X-Beerstock-Read-After";
+    public static final String POSITION_HEADER = "X-Beerstock-Position";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicationState.clearRequiredPosition();
+        ReplicationState.trackWrites();
+        String readAfter = request.getHeader(READ_AFTER_HEADER);
+        if (readAfter != null) {
+            try {
+                ReplicationState.requirePosition(Long.parseLong(readAfter.trim()));
+            } catch (NumberFormatException e) {
+                // header inválido: leitura sem exigência de posição
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicationState.clearRequiredPosition();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicationState.clearRequiredPosition();
+    }
+}
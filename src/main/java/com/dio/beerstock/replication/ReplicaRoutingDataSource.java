@@ -0,0 +1,50 @@
+package com.dio.beerstock.replication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia as conexões de transações {@code readOnly} para a réplica e todo o resto
+ * para o primário. Precisa ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, para
+ * que a conexão só seja obtida depois de a transação marcar se é somente leitura.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicationState replicationState;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicationState replicationState,
+                                    MeterRegistry meterRegistry) {
+        this.replicationState = replicationState;
+        this.primaryReads = meterRegistry.counter("beerstock.replica.reads", "target", "primary");
+        this.replicaReads = meterRegistry.counter("beerstock.replica.reads", "target", "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (replicationState.canReadFromReplica()) {
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        // réplica atrasada em relação ao que esta leitura precisa ver
+        primaryReads.increment();
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,44 @@
+package com.dio.beerstock.replication;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Devolve em {@code X-Beerstock-Position} a posição atual do primário nas respostas de escrita.
+ * Como é lida depois do commit, é sempre maior ou igual à posição da própria escrita.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "beerstock.replica.enabled", havingValue = "true")
+public class ReplicationPositionAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicationState replicationState;
+
+    @Autowired
+    public ReplicationPositionAdvice(ReplicationState replicationState) {
+        this.replicationState = replicationState;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            response.getHeaders().set(ReadAfterInterceptor.POSITION_HEADER,
+                    String.valueOf(replicationState.primaryPosition()));
+        }
+        return body;
+    }
+}
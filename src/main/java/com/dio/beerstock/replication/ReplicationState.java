@@ -0,0 +1,145 @@
+package com.dio.beerstock.replication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Posições de replicação usadas para decidir se uma leitura pode ir para a réplica.
+ * <p>
+ * Cada escrita confirmada no primário avança {@code primaryPosition}; o
+ * replicador avança {@code replicaPosition} à medida que aplica as escritas.
+ * Uma leitura pode exigir uma posição mínima (a da sua própria última escrita,
+ * ou a informada pelo cliente em {@code X-Beerstock-Read-After}); se a réplica
+ * ainda não chegou lá, ou se está atrasada além de {@code maxLagMs}, a leitura
+ * vai para o primário.
+ * <p>
+ * Sem um replicador registrado (ver {@link #replicatorStarted()}) não há como medir o
+ * atraso, e todas as leituras vão para o primário.
+ * <p>
+ * A posição exigida fica em uma {@link ThreadLocal} e só é mantida nas threads que
+ * a abriram com {@link #trackWrites()} (as de requisição HTTP, que a limpam ao
+ * terminar). Escritas confirmadas em threads de pool (shards, gRPC, jobs) não
+ * deixam posição para as tarefas seguintes da mesma thread.
+ */
+public class ReplicationState {
+
+    private static final ThreadLocal<Long> REQUIRED_POSITION = new ThreadLocal<>();
+
+    private final AtomicLong primaryPosition = new AtomicLong();
+    private final AtomicLong replicaPosition = new AtomicLong();
+    private final long maxLagNanos;
+    private volatile long oldestPendingSince;
+    private volatile boolean replicatorRunning;
+
+    public ReplicationState(long maxLagMs, MeterRegistry meterRegistry) {
+        this.maxLagNanos = maxLagMs * 1_000_000;
+        meterRegistry.gauge("beerstock.replica.lag.writes", this,
+                state -> state.primaryPosition.get() - state.replicaPosition.get());
+        meterRegistry.gauge("beerstock.replica.lag.ms", this, state -> state.lagNanos() / 1e6);
+    }
+
+    /**
+     * Registra uma escrita confirmada no primário e, se esta thread acompanha as próprias
+     * escritas ({@link #trackWrites()}), a exige nas leituras seguintes dela.
+     *
+     * @return posição da escrita
+     */
+    public long recordPrimaryWrite() {
+        long position = primaryPosition.incrementAndGet();
+        Long current = REQUIRED_POSITION.get();
+        if (current != null && current < position) {
+            REQUIRED_POSITION.set(position);
+        }
+        return position;
+    }
+
+    /**
+     * Chamado pelo replicador após aplicar todas as escritas até {@code position}.
+     *
+     * @param oldestPendingSince instante ({@link System#nanoTime()}) da escrita pendente mais antiga, ou 0
+     */
+    public void recordReplicaApplied(long position, long oldestPendingSince) {
+        replicaPosition.accumulateAndGet(position, Math::max);
+        this.oldestPendingSince = oldestPendingSince;
+    }
+
+    /**
+     * Chamado pelo replicador ao começar a publicar posições; só a partir daí a réplica atende leituras.
+     */
+    public void replicatorStarted() {
+        replicatorRunning = true;
+    }
+
+    public void replicatorStopped() {
+        replicatorRunning = false;
+    }
+
+    public void markPending(long since) {
+        if (oldestPendingSince == 0) {
+            oldestPendingSince = since;
+        }
+    }
+
+    public long primaryPosition() {
+        return primaryPosition.get();
+    }
+
+    public long replicaPosition() {
+        return replicaPosition.get();
+    }
+
+    /**
+     * Passa a exigir, nas leituras seguintes desta thread, as escritas que ela confirmar.
+     * Quem chama limpa com {@link #clearRequiredPosition()} ao terminar.
+     */
+    public static void trackWrites() {
+        if (REQUIRED_POSITION.get() == null) {
+            REQUIRED_POSITION.set(0L);
+        }
+    }
+
+    /**
+     * Exige, nas leituras seguintes desta thread, ao menos a posição informada.
+     */
+    public static void requirePosition(long position) {
+        Long current = REQUIRED_POSITION.get();
+        if (current == null || current < position) {
+            REQUIRED_POSITION.set(position);
+        }
+    }
+
+    public static void clearRequiredPosition() {
+        REQUIRED_POSITION.remove();
+    }
+
+    /**
+     * A réplica pode atender a leitura da thread atual?
+     */
+    public boolean canReadFromReplica() {
+        if (!replicatorRunning) {
+            return false;
+        }
+        Long required = REQUIRED_POSITION.get();
+        if (required != null && replicaPosition.get() < required) {
+            return false;
+        }
+        return lagNanos() <= maxLagNanos;
+    }
+
+    /**
+     * Uma leitura desta thread pode ir para uma réplica que ainda não aplicou todas as
+     * escritas confirmadas no primário? Nesse caso um validador (ETag) igual ao do cliente
+     * não prova que ele está em dia, e não deve gerar 304.
+     */
+    public boolean mayReadBehindPrimary() {
+        return canReadFromReplica() && replicaPosition.get() < primaryPosition.get();
+    }
+
+    // =============== Métodos Privados ===============
+
+    private long lagNanos() {
+        long since = oldestPendingSince;
+        return since == 0 ? 0 : System.nanoTime() - since;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dio.beerstock.replication;
+
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replicação simulada do primário para a réplica, para uso local e em testes.
+ * <p>
+ * Na partida, copia a tabela {@code beer} inteira com {@code SCRIPT}/{@code RUNSCRIPT}
+ * do H2. Depois, cada alteração confirmada entra em uma fila com sua posição e,
+ * após {@code lagMs}, a linha atual do primário é copiada para a réplica (ou
+ * removida, se não existir mais). As escritas são aplicadas na ordem das
+ * posições, que então é publicada no {@link ReplicationState}.
+ * <p>
+ * A posição do primário avança antes dos demais listeners de depois do commit
+ * (como o {@link com.dio.beerstock.service.CatalogVersionTracker}): um validador
+ * que já reflete a escrita nunca é visto com o primário ainda na posição anterior.
+ */
+public class StandInReplicator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StandInReplicator.class);
+    private static final String COLUMNS = "id, name, brand, max, quality, type, version";
+
+    private record PendingWrite(long position, long beerId, long committedAt) {
+    }
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicationState replicationState;
+    private final long lagNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private volatile Thread worker;
+
+    public StandInReplicator(DataSource primary, DataSource replica, ReplicationState replicationState, long lagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replicationState = replicationState;
+        this.lagNanos = TimeUnit.MILLISECONDS.toNanos(lagMs);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        long now = System.nanoTime();
+        long position = replicationState.recordPrimaryWrite();
+        replicationState.markPending(now);
+        queue.add(new PendingWrite(position, event.getBeerId(), now));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        batch.getEvents().forEach(this::onBeerChanged);
+    }
+
+    @Override
+    public void start() {
+        copyBeerTable();
+        worker = new Thread(this::replicate, "stand-in-replicator");
+        worker.setDaemon(true);
+        worker.start();
+        replicationState.replicatorStarted();
+    }
+
+    @Override
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        replicationState.replicatorStopped();
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    // =============== Métodos Privados ===============
+
+    private void copyBeerTable() {
+        List<String> script = primary.queryForList("script drop table beer", String.class);
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+        log.info("Replica initialized with {} beers", replica.queryForObject("select count(*) from beer", Long.class));
+    }
+
+    private void replicate() {
+        while (worker != null) {
+            try {
+                PendingWrite write = queue.take();
+                long wait = write.committedAt() + lagNanos - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                apply(write.beerId());
+                PendingWrite next = queue.peek();
+                replicationState.recordReplicaApplied(write.position(), next != null ? next.committedAt() : 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Stand-in replication failed", e);
+            }
+        }
+    }
+
+    private void apply(long beerId) {
+        List<Map<String, Object>> rows = primary.queryForList("select " + COLUMNS + " from beer where id = ?", beerId);
+        if (rows.isEmpty()) {
+            replica.update("delete from beer where id = ?", beerId);
+            return;
+        }
+        Map<String, Object> row = rows.get(0);
+        replica.update("merge into beer (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?)",
+                row.get("id"), row.get("name"), row.get("brand"), row.get("max"), row.get("quality"),
+                row.get("type"), row.get("version"));
+    }
+}
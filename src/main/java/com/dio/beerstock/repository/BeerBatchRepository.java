@@ -0,0 +1,47 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fragmento do {@link BeerRepository} com operações em lote via JDBC, sem passar pelo
+ * contexto de persistência. Usado pela importação em massa e pelo snapshot analítico.
+ */
+public interface BeerBatchRepository {
+
+    /**
+     * Recebe as colunas de estoque de uma cerveja lida por {@link #scanStock}.
+     */
+    @FunctionalInterface
+    interface StockRowHandler {
+        void accept(String brand, int max, int quantity, BeerType type);
+    }
+
+    /**
+     * Nomes, dentre os informados, que já estão cadastrados.
+     */
+    Set<String> findExistingNames(Collection<String> names);
+
+    /**
+     * Insere as cervejas com um único batch JDBC, na transação corrente.
+     *
+     * @return os ids gerados, na ordem das cervejas recebidas
+     */
+    List<Long> insertBatch(List<BeerDTO> beers);
+
+    /**
+     * Percorre marca, estoque máximo, quantidade e tipo de todas as cervejas, sem montar entidades.
+     */
+    void scanStock(StockRowHandler handler);
+
+    /**
+     * Resumo do catálogo calculado no banco, sem transferir linhas: quantidade de cervejas,
+     * maior id e soma das versões. Muda a cada inserção, atualização ou remoção confirmada
+     * (ids não são reusados e cada atualização soma 1 à versão), em qualquer instância.
+     */
+    String catalogFingerprint();
+}
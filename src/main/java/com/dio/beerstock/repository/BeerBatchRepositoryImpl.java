@@ -0,0 +1,93 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class BeerBatchRepositoryImpl implements BeerBatchRepository {
+
+    // um único parâmetro (array) em vez de um por nome: o plano da consulta não depende do tamanho do lote
+    private static final String EXISTING_NAMES_SQL = "select name from beer where name = any(?)";
+    private static final String INSERT_SQL =
+            "insert into beer (name, brand, max, quality, type, version) values (?, ?, ?, ?, ?, 0)";
+    private static final String STOCK_SQL = "select brand, max, quality, type from beer";
+    private static final String FINGERPRINT_SQL =
+            "select count(*), coalesce(max(id), 0), coalesce(sum(version), 0) from beer";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BeerBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Set.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(EXISTING_NAMES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("VARCHAR", names.toArray()));
+                Set<String> existing = new HashSet<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+                return existing;
+            }
+        });
+    }
+
+    @Override
+    public List<Long> insertBatch(List<BeerDTO> beers) {
+        if (beers.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (BeerDTO beer : beers) {
+                    statement.setString(1, beer.getName());
+                    statement.setString(2, beer.getBrand());
+                    statement.setInt(3, beer.getMax());
+                    statement.setInt(4, beer.getQuantity());
+                    statement.setString(5, beer.getType().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(beers.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    @Override
+    public void scanStock(StockRowHandler handler) {
+        jdbcTemplate.query(STOCK_SQL, resultSet -> {
+            handler.accept(resultSet.getString(1), resultSet.getInt(2), resultSet.getInt(3),
+                    BeerType.valueOf(resultSet.getString(4)));
+        });
+    }
+
+    @Override
+    public String catalogFingerprint() {
+        return jdbcTemplate.queryForObject(FINGERPRINT_SQL,
+                (rs, rowNum) -> rs.getLong(1) + "-" + rs.getLong(2) + "-" + rs.getLong(3));
+    }
+}
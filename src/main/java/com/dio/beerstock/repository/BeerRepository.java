@@ -1,12 +1,19 @@
 package com.dio.beerstock.repository;
 
 import com.dio.beerstock.entity.Beer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerBatchRepository {
     Optional<Beer> findByName(String name);
-}
\ No newline at end of file
+
+    List<Beer> findByNameIn(Collection<String> names);
+
+    List<Beer> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+}
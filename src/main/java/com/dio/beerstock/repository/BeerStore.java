@@ -0,0 +1,54 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.entity.Beer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento de cervejas usado pelo {@code BeerService} e pela importação em massa.
+ * <p>
+ * A implementação é escolhida por {@code beerstock.sharding.enabled}: {@link JpaBeerStore}
+ * (padrão, sobre o {@link BeerRepository}) ou o {@code ShardedBeerStore}, que distribui
+ * as cervejas entre vários bancos.
+ */
+public interface BeerStore extends BeerBatchRepository {
+
+    /**
+     * Insere uma nova cerveja.
+     *
+     * @return a cerveja com id e versão atribuídos
+     */
+    Beer insert(Beer beer);
+
+    /**
+     * Grava a cerveja se a versão dela ainda for a atual.
+     *
+     * @return a cerveja com a nova versão
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException Se a versão mudou
+     */
+    Beer update(Beer beer);
+
+    /**
+     * Remove a cerveja se a versão dela ainda for a atual.
+     *
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException Se a versão mudou
+     */
+    void delete(Beer beer);
+
+    Optional<Beer> findById(Long id);
+
+    Optional<Beer> findByName(String name);
+
+    List<Beer> findAllById(Collection<Long> ids);
+
+    List<Beer> findByNameIn(Collection<String> names);
+
+    List<Beer> findAll();
+
+    /**
+     * Até {@code size} cervejas com id maior que {@code afterId}, em ordem de id.
+     */
+    List<Beer> findPage(long afterId, int size);
+}
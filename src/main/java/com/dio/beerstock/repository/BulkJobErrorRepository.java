@@ -0,0 +1,14 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.entity.BulkJobError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BulkJobErrorRepository extends JpaRepository<BulkJobError, Long> {
+
+    List<BulkJobError> findByJobIdAndItemIndexGreaterThanEqualOrderByItemIndex(Long jobId, int fromIndex, Limit limit);
+}
@@ -0,0 +1,65 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.entity.BulkJob;
+import com.dio.beerstock.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkJobRepository extends JpaRepository<BulkJob, Long> {
+
+    @Query("select j.id from BulkJob j where j.status in :statuses order by j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<JobStatus> statuses);
+
+    @Query("select j.cancelRequested from BulkJob j where j.id = :id")
+    boolean isCancelRequested(@Param("id") Long id);
+
+    /**
+     * Marca o pedido de cancelamento, desde que o job esteja em um dos {@code statuses}.
+     *
+     * @return 0 se o job não existe ou já foi finalizado
+     */
+    @Modifying
+    @Query("update BulkJob j set j.cancelRequested = true where j.id = :id and j.status in :statuses")
+    int requestCancel(@Param("id") Long id, @Param("statuses") Collection<JobStatus> statuses);
+
+    /**
+     * Assume o job para {@code owner}: só vale para jobs em um dos {@code statuses} que ainda
+     * não pertencem a ele (na fila, ou deixados em execução por uma instância anterior).
+     *
+     * @return 1 se o job foi assumido, 0 se outro runner desta instância já o executa
+     */
+    @Modifying
+    @Query("update BulkJob j set j.status = com.dio.beerstock.enums.JobStatus.RUNNING, j.owner = :owner, "
+            + "j.updatedAt = :now where j.id = :id and j.status in :statuses "
+            + "and (j.owner is null or j.owner <> :owner)")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("statuses") Collection<JobStatus> statuses, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update BulkJob j set j.status = :status, j.error = :error, j.updatedAt = :now "
+            + "where j.id = :id and j.owner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") JobStatus status,
+               @Param("error") String error, @Param("now") Instant now);
+
+    /**
+     * Avança o job de {@code from} para {@code processed}, desde que ele ainda pertença a
+     * {@code owner} e ninguém o tenha avançado antes.
+     *
+     * @return 0 se {@code from} não é mais a posição gravada ou se o job foi assumido por outro runner
+     */
+    @Modifying
+    @Query("update BulkJob j set j.processed = :processed, j.succeeded = j.succeeded + :succeeded, "
+            + "j.failed = j.failed + :failed, j.updatedAt = :now "
+            + "where j.id = :id and j.owner = :owner and j.processed = :from")
+    int advance(@Param("id") Long id, @Param("owner") String owner, @Param("from") int from,
+                @Param("processed") int processed, @Param("succeeded") int succeeded,
+                @Param("failed") int failed, @Param("now") Instant now);
+}
@@ -0,0 +1,96 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link BeerStore} padrão, sobre o {@link BeerRepository}: todas as escritas participam
+ * da transação corrente e as atualizações são enviadas ao banco na hora ({@code flush}),
+ * para que a versão seja conferida antes dos eventos da alteração.
+ */
+@Repository
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class JpaBeerStore implements BeerStore {
+
+    private final BeerRepository beerRepository;
+
+    @Autowired
+    public JpaBeerStore(BeerRepository beerRepository) {
+        this.beerRepository = beerRepository;
+    }
+
+    @Override
+    public Beer insert(Beer beer) {
+        return beerRepository.save(beer);
+    }
+
+    @Override
+    public Beer update(Beer beer) {
+        return beerRepository.saveAndFlush(beer);
+    }
+
+    @Override
+    public void delete(Beer beer) {
+        beerRepository.delete(beer);
+        beerRepository.flush();
+    }
+
+    @Override
+    public Optional<Beer> findById(Long id) {
+        return beerRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Beer> findByName(String name) {
+        return beerRepository.findByName(name);
+    }
+
+    @Override
+    public List<Beer> findAllById(Collection<Long> ids) {
+        return beerRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Beer> findByNameIn(Collection<String> names) {
+        return beerRepository.findByNameIn(names);
+    }
+
+    @Override
+    public List<Beer> findAll() {
+        return beerRepository.findAll();
+    }
+
+    @Override
+    public List<Beer> findPage(long afterId, int size) {
+        return beerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return beerRepository.findExistingNames(names);
+    }
+
+    @Override
+    public List<Long> insertBatch(List<BeerDTO> beers) {
+        return beerRepository.insertBatch(beers);
+    }
+
+    @Override
+    public void scanStock(StockRowHandler handler) {
+        beerRepository.scanStock(handler);
+    }
+
+    @Override
+    public String catalogFingerprint() {
+        return beerRepository.catalogFingerprint();
+    }
+}
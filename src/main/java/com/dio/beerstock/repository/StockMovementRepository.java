@@ -0,0 +1,52 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    long countByBeerIdAndIdGreaterThan(Long beerId, Long afterId);
+
+    boolean existsByBeerIdAndOccurredAtLessThanEqual(Long beerId, Instant at);
+
+    @Query("select coalesce(max(m.id), 0) from StockMovement m where m.beerId = :beerId")
+    long findLastId(@Param("beerId") Long beerId);
+
+    @Query("select coalesce(max(m.id), 0) from StockMovement m")
+    long findMaxId();
+
+    /**
+     * Cervejas com movimentações no intervalo {@code (afterId, upToId]} que acumulam ao menos
+     * {@code threshold} movimentações desde o último snapshot.
+     */
+    @Query("select m.beerId from StockMovement m "
+            + "where m.beerId in (select n.beerId from StockMovement n where n.id > :afterId and n.id <= :upToId) "
+            + "and m.id > coalesce((select max(s.lastMovementId) from StockSnapshot s where s.beerId = m.beerId), 0) "
+            + "group by m.beerId having count(m) >= :threshold")
+    List<Long> findBeersToCompact(@Param("afterId") Long afterId,
+                                  @Param("upToId") Long upToId,
+                                  @Param("threshold") long threshold);
+
+    @Query("select max(m.occurredAt) from StockMovement m where m.beerId = :beerId and m.id <= :upToId")
+    Instant findLastOccurredAt(@Param("beerId") Long beerId, @Param("upToId") Long upToId);
+
+    @Query("select coalesce(sum(m.delta), 0) from StockMovement m "
+            + "where m.beerId = :beerId and m.id > :afterId and m.id <= :upToId")
+    long sumDeltasBetween(@Param("beerId") Long beerId,
+                          @Param("afterId") Long afterId,
+                          @Param("upToId") Long upToId);
+
+    @Query("select coalesce(sum(m.delta), 0) from StockMovement m "
+            + "where m.beerId = :beerId and m.id > :afterId and m.id <= :upToId and m.occurredAt <= :at")
+    long sumDeltasUntil(@Param("beerId") Long beerId,
+                        @Param("afterId") Long afterId,
+                        @Param("upToId") Long upToId,
+                        @Param("at") Instant at);
+}
@@ -0,0 +1,18 @@
+package com.dio.beerstock.repository;
+
+import com.dio.beerstock.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findTopByBeerIdOrderByLastMovementIdDesc(Long beerId);
+
+    Optional<StockSnapshot> findTopByBeerIdAndTakenAtLessThanEqualOrderByLastMovementIdDesc(Long beerId, Instant at);
+
+    Optional<StockSnapshot> findFirstByBeerIdAndTakenAtGreaterThanOrderByLastMovementIdAsc(Long beerId, Instant at);
+}
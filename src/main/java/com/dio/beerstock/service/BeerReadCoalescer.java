@@ -0,0 +1,61 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Single-flight das leituras de cerveja por id e por nome.
+ * <p>
+ * Após o commit de uma alteração, as chaves da cerveja (incluindo o nome anterior,
+ * numa renomeação) são liberadas para que leituras iniciadas depois da escrita não
+ * aguardem uma consulta anterior a ela.
+ */
+@Component
+public class BeerReadCoalescer {
+
+    private final SingleFlight<Long, BeerCache.Versioned> byId;
+    private final SingleFlight<String, BeerCache.Versioned> byName;
+
+    @Autowired
+    public BeerReadCoalescer(MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>("findById", meterRegistry);
+        this.byName = new SingleFlight<>("findByName", meterRegistry);
+    }
+
+    public <E extends Exception> BeerCache.Versioned findById(Long id, SingleFlight.Loader<BeerCache.Versioned, E> loader)
+            throws E {
+        return copy(byId.execute(id, loader));
+    }
+
+    public <E extends Exception> BeerCache.Versioned findByName(String name,
+                                                                SingleFlight.Loader<BeerCache.Versioned, E> loader)
+            throws E {
+        return copy(byName.execute(name, loader));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        byId.forget(event.getBeerId());
+        byName.forget(event.getBeer().getName());
+        if (event.getPreviousName() != null) {
+            byName.forget(event.getPreviousName());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        batch.getEvents().forEach(this::onBeerChanged);
+    }
+
+    // =============== Métodos Privados ===============
+
+    // cópia por chamador: o DTO é mutável e o resultado é compartilhado
+    private static BeerCache.Versioned copy(BeerCache.Versioned shared) {
+        return new BeerCache.Versioned(shared.beer().toBuilder().build(), shared.version());
+    }
+}
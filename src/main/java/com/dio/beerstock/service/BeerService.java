@@ -2,30 +2,60 @@ package com.dio.beerstock.service;
 
 
 
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.config.StockRetry;
+import com.dio.beerstock.dto.BatchGetItemDTO;
 import com.dio.beerstock.dto.BeerDTO;
 import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.event.BeerChangedEvent;
 import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
 import com.dio.beerstock.exception.BeerNotFoundException;
 import com.dio.beerstock.exception.BeerStockExceededException;
 import com.dio.beerstock.mapper.BeerMapper;
-import com.dio.beerstock.repository.BeerRepository;
+import com.dio.beerstock.repository.BeerStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BeerService {
 
-    private final BeerRepository beerRepository;
+    private final BeerStore beerStore;
     private final BeerMapper beerMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final BeerReadCoalescer readCoalescer;
+    private final BeerCache beerCache;
+    private final TransactionTemplate readTransaction;
 
     @Autowired
-    public BeerService(BeerRepository beerRepository, BeerMapper beerMapper) {
-        this.beerRepository = beerRepository;
+    public BeerService(BeerStore beerStore, BeerMapper beerMapper,
+                       ApplicationEventPublisher eventPublisher,
+                       CatalogVersionTracker catalogVersionTracker,
+                       BeerReadCoalescer readCoalescer,
+                       BeerCache beerCache,
+                       PlatformTransactionManager transactionManager) {
+        this.beerStore = beerStore;
         this.beerMapper = beerMapper;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.readCoalescer = readCoalescer;
+        this.beerCache = beerCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     @Transactional
@@ -35,92 +65,285 @@ public class BeerService {
         validateStock(beerDTO.getQuantity(), beerDTO.getMax());
 
         Beer beer = beerMapper.toModel(beerDTO);
-        Beer savedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(savedBeer);
+        Beer savedBeer = beerStore.insert(beer);
+        BeerDTO savedBeerDTO = beerMapper.toDTO(savedBeer);
+        publish(BeerEventType.CREATED, savedBeerDTO, savedBeer.getQuality(), savedBeer.getVersion());
+        return savedBeerDTO;
     }
 
+    /**
+     * Busca por id. Consulta primeiro o {@link BeerCache} (quando habilitado); em caso de
+     * falta, chamadas concorrentes para o mesmo id compartilham uma única consulta.
+     * <p>
+     * Sem transação própria: só o líder abre a transação somente leitura (e obtém uma
+     * conexão); quem espera por ele ou acerta o cache não ocupa conexão do pool.
+     */
     public BeerDTO findById(Long id) throws BeerNotFoundException {
-        Beer beer = verifyIfExists(id);
-        return beerMapper.toDTO(beer);
+        return findVersionedById(id).beer();
+    }
+
+    /**
+     * Como {@link #findById(Long)}, junto com a versão JPA do corpo devolvido. Corpo e versão
+     * vêm da mesma leitura (uma entrada do cache ou uma única transação somente leitura, e
+     * portanto um único banco), então uma ETag derivada da versão sempre descreve esse corpo.
+     */
+    public BeerCache.Versioned findVersionedById(Long id) throws BeerNotFoundException {
+        Optional<BeerCache.Versioned> cached = beerCache.getVersioned(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return readCoalescer.findById(id, () -> {
+            Beer beer = readTransaction.execute(status -> beerStore.findById(id))
+                    .orElseThrow(() -> new BeerNotFoundException(id));
+            BeerDTO beerDTO = beerMapper.toDTO(beer);
+            beerCache.put(beerDTO, beer.getVersion());
+            return new BeerCache.Versioned(beerDTO, beer.getVersion());
+        });
     }
 
+    /**
+     * Busca por nome. Chamadas concorrentes para o mesmo nome compartilham uma única consulta,
+     * e só ela abre a transação (como em {@link #findById(Long)}).
+     */
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        Beer beer = beerRepository.findByName(name)
-                .orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(beer);
+        return findVersionedByName(name).beer();
+    }
+
+    /**
+     * Como {@link #findByName(String)}, junto com a versão JPA, lidas juntas como em
+     * {@link #findVersionedById(Long)}.
+     */
+    public BeerCache.Versioned findVersionedByName(String name) throws BeerNotFoundException {
+        return readCoalescer.findByName(name, () -> {
+            Beer beer = readTransaction.execute(status -> beerStore.findByName(name))
+                    .orElseThrow(() -> new BeerNotFoundException(name));
+            return new BeerCache.Versioned(beerMapper.toDTO(beer), beer.getVersion());
+        });
+    }
+
+    /**
+     * Busca várias cervejas por id e/ou nome com uma consulta {@code IN} por tipo de chave.
+     * Chaves repetidas são consultadas uma única vez e compartilham o resultado.
+     *
+     * @return um item por chave pedida, na ordem do pedido (ids primeiro, depois nomes)
+     */
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO> batchGet(List<Long> ids, List<String> names) {
+        List<Long> requestedIds = ids != null ? ids : List.of();
+        List<String> requestedNames = names != null ? names : List.of();
+
+        Map<Long, BeerDTO> byId = Map.of();
+        Set<Long> distinctIds = new LinkedHashSet<>(requestedIds);
+        distinctIds.remove(null);
+        if (!distinctIds.isEmpty()) {
+            byId = beerStore.findAllById(distinctIds).stream()
+                    .map(beerMapper::toDTO)
+                    .collect(Collectors.toMap(BeerDTO::getId, Function.identity()));
+        }
+
+        Map<String, BeerDTO> byName = Map.of();
+        Set<String> distinctNames = new LinkedHashSet<>(requestedNames);
+        distinctNames.remove(null);
+        if (!distinctNames.isEmpty()) {
+            byName = beerStore.findByNameIn(distinctNames).stream()
+                    .map(beerMapper::toDTO)
+                    .collect(Collectors.toMap(BeerDTO::getName, Function.identity()));
+        }
+
+        List<BatchGetItemDTO> items = new ArrayList<>(requestedIds.size() + requestedNames.size());
+        for (Long id : requestedIds) {
+            BeerDTO beer = id != null ? byId.get(id) : null;
+            items.add(BatchGetItemDTO.builder().id(id).found(beer != null).beer(beer).build());
+        }
+        for (String name : requestedNames) {
+            BeerDTO beer = name != null ? byName.get(name) : null;
+            items.add(BatchGetItemDTO.builder().name(name).found(beer != null).beer(beer).build());
+        }
+        return items;
     }
 
+    /**
+     * Identificador opaco de uma versão de cerveja (id + versão JPA).
+     */
+    public static String versionTag(Long id, long version) {
+        return id + "-" + version;
+    }
+
+    /**
+     * Identificador opaco da versão atual do catálogo completo.
+     */
+    public String catalogVersionTag() {
+        return catalogVersionTracker.currentTag();
+    }
+
+    @Transactional(readOnly = true)
     public List<BeerDTO> listAll() {
-        return beerRepository.findAll().stream()
+        return beerStore.findAll().stream()
+                .map(beerMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Página do catálogo em ordem de id, a partir da cerveja seguinte a {@code afterId}.
+     * Usada por quem transmite o catálogo aos poucos, sem montá-lo inteiro em memória.
+     */
+    @Transactional(readOnly = true)
+    public List<BeerDTO> listPage(long afterId, int size) {
+        return beerStore.findPage(afterId, size).stream()
                 .map(beerMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @StockRetry("updateBeer")
     @Transactional
     public BeerDTO updateBeer(Long id, BeerDTO beerDTO)
             throws BeerNotFoundException, BeerStockExceededException {
-        verifyIfExists(id);
+        Beer existingBeer = verifyIfExists(id);
+        int previousQuantity = existingBeer.getQuality();
+        String previousName = existingBeer.getName();
         validateStock(beerDTO.getQuantity(), beerDTO.getMax());
 
         Beer beerToUpdate = beerMapper.toModel(beerDTO);
         beerToUpdate.setId(id);
-        Beer updatedBeer = beerRepository.save(beerToUpdate);
-        return beerMapper.toDTO(updatedBeer);
+        beerToUpdate.setVersion(existingBeer.getVersion());
+        Beer updatedBeer = beerStore.update(beerToUpdate);
+        BeerDTO updatedBeerDTO = beerMapper.toDTO(updatedBeer);
+        eventPublisher.publishEvent(BeerChangedEvent.of(BeerEventType.UPDATED, updatedBeerDTO,
+                previousName.equals(updatedBeerDTO.getName()) ? null : previousName,
+                updatedBeer.getQuality() - previousQuantity, updatedBeer.getVersion()));
+        return updatedBeerDTO;
     }
 
     @Transactional
     public void deleteById(Long id) throws BeerNotFoundException {
-        verifyIfExists(id);
-        beerRepository.deleteById(id);
+        Beer beer = verifyIfExists(id);
+        beerStore.delete(beer);
+        publish(BeerEventType.DELETED, beerMapper.toDTO(beer), -beer.getQuality(), beer.getVersion());
     }
 
+    @StockRetry("increment")
     @Transactional
     public BeerDTO increment(Long id, int quantityToIncrement)
             throws BeerNotFoundException, BeerStockExceededException {
-        if (quantityToIncrement <= 0) {
-            throw new BeerStockExceededException("Increment quantity must be greater than zero.");
-        }
+        requirePositive(quantityToIncrement, "Increment");
 
         Beer beer = verifyIfExists(id);
-        int newQuantity = beer.getQuality() + quantityToIncrement;
-        validateStock(newQuantity, beer.getMax());
-        beer.setQuality(newQuantity);
-        Beer updatedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(updatedBeer);
+        applyIncrement(beer, quantityToIncrement);
+        Beer updatedBeer = beerStore.update(beer);
+        BeerDTO updatedBeerDTO = beerMapper.toDTO(updatedBeer);
+        publish(BeerEventType.INCREMENTED, updatedBeerDTO, quantityToIncrement, updatedBeer.getVersion());
+        return updatedBeerDTO;
     }
 
+    @StockRetry("decrement")
     @Transactional
     public BeerDTO decrement(Long id, int quantityToDecrement)
             throws BeerNotFoundException, BeerStockExceededException {
-        if (quantityToDecrement <= 0) {
-            throw new BeerStockExceededException("Decrement quantity must be greater than zero.");
-        }
+        requirePositive(quantityToDecrement, "Decrement");
 
         Beer beer = verifyIfExists(id);
-        int newQuantity = beer.getQuality() - quantityToDecrement;
-        if (newQuantity < 0) {
-            throw new BeerStockExceededException(
-                    String.format("Cannot remove %d units. Only %d available.", quantityToDecrement, beer.getQuality())
-            );
+        applyDecrement(beer, quantityToDecrement);
+        Beer updatedBeer = beerStore.update(beer);
+        BeerDTO updatedBeerDTO = beerMapper.toDTO(updatedBeer);
+        publish(BeerEventType.DECREMENTED, updatedBeerDTO, -quantityToDecrement, updatedBeer.getVersion());
+        return updatedBeerDTO;
+    }
+
+    /**
+     * Aplica, na ordem recebida, uma sequência de comandos de estoque de uma mesma cerveja
+     * em uma única transação, com uma única escrita no banco. Um comando inválido é
+     * recusado sem afetar os demais; cada comando aceito gera o seu próprio evento.
+     *
+     * @return um resultado por comando, na mesma ordem
+     * @throws BeerNotFoundException Se a cerveja não existir (nenhum comando é aplicado)
+     */
+    @StockRetry("applyStockCommands")
+    @Transactional
+    public List<StockCommandResult> applyStockCommands(Long id, List<StockCommand> commands)
+            throws BeerNotFoundException {
+        Beer beer = verifyIfExists(id);
+        List<StockCommandResult> results = new ArrayList<>(commands.size());
+        List<BeerChangedEvent> accepted = new ArrayList<>(commands.size());
+        for (StockCommand command : commands) {
+            try {
+                int delta;
+                if (command.getType() == BeerEventType.INCREMENTED) {
+                    requirePositive(command.getQuantity(), "Increment");
+                    applyIncrement(beer, command.getQuantity());
+                    delta = command.getQuantity();
+                } else {
+                    requirePositive(command.getQuantity(), "Decrement");
+                    applyDecrement(beer, command.getQuantity());
+                    delta = -command.getQuantity();
+                }
+                BeerDTO beerDTO = beerMapper.toDTO(beer);
+                accepted.add(BeerChangedEvent.of(command.getType(), beerDTO, delta, 0));
+                results.add(StockCommandResult.accepted(beerDTO));
+            } catch (BeerStockExceededException e) {
+                results.add(StockCommandResult.rejected(e));
+            }
         }
-        beer.setQuality(newQuantity);
-        Beer updatedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(updatedBeer);
+        if (!accepted.isEmpty()) {
+            long version = beerStore.update(beer).getVersion();
+            // todos os eventos do grupo levam a versão gravada; a ordem de publicação é a dos comandos
+            for (BeerChangedEvent event : accepted) {
+                publish(event.getType(), event.getBeer(), event.getDelta(), version);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Regras de estoque de uma cerveja nova que não dependem do banco. Usadas também
+     * pela importação em massa, que grava sem passar por {@link #createBeer}.
+     */
+    public void validateStock(BeerDTO beerDTO) throws BeerStockExceededException {
+        validateStock(beerDTO.getQuantity(), beerDTO.getMax());
     }
 
     // =============== Métodos Privados ===============
 
     private void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
-        if (beerRepository.findByName(name).isPresent()) {
+        if (beerStore.findByName(name).isPresent()) {
             throw new BeerAlreadyRegisteredException(name);
         }
     }
 
     private Beer verifyIfExists(Long id) throws BeerNotFoundException {
-        return beerRepository.findById(id)
+        return beerStore.findById(id)
                 .orElseThrow(() -> new BeerNotFoundException(id));
     }
 
+    /**
+     * Publicado depois do flush: a linha já foi gravada (ou removida) com a versão conferida,
+     * então os listeners de antes do commit só veem alterações que vão ser confirmadas.
+     */
+    private void publish(BeerEventType type, BeerDTO beerDTO, int delta, long version) {
+        eventPublisher.publishEvent(BeerChangedEvent.of(type, beerDTO, delta, version));
+    }
+
+    private void requirePositive(int quantity, String operation) throws BeerStockExceededException {
+        if (quantity <= 0) {
+            throw new BeerStockExceededException(operation + " quantity must be greater than zero.");
+        }
+    }
+
+    private void applyIncrement(Beer beer, int quantityToIncrement) throws BeerStockExceededException {
+        int newQuantity = beer.getQuality() + quantityToIncrement;
+        validateStock(newQuantity, beer.getMax());
+        beer.setQuality(newQuantity);
+    }
+
+    private void applyDecrement(Beer beer, int quantityToDecrement) throws BeerStockExceededException {
+        int newQuantity = beer.getQuality() - quantityToDecrement;
+        if (newQuantity < 0) {
+            throw new BeerStockExceededException(
+                    String.format("Cannot remove %d units. Only %d available.", quantityToDecrement, beer.getQuality())
+            );
+        }
+        beer.setQuality(newQuantity);
+    }
+
     private void validateStock(int quantity, int max) throws BeerStockExceededException {
         if (quantity < 0) {
             throw new BeerStockExceededException("Stock quantity cannot be negative.");
@@ -0,0 +1,49 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de alterações do catálogo, usado como ETag da listagem completa.
+ * <p>
+ * É incrementado somente após o commit: quem lê a versão antes de carregar a
+ * listagem pode, no pior caso, associar um corpo novo a uma versão antiga
+ * (gerando um 200 desnecessário depois), mas nunca o contrário.
+ * <p>
+ * O contador é local: alterações feitas em outras instâncias só o avançam quando
+ * chegam pelo {@link com.dio.beerstock.cache.InvalidationBus} (com
+ * {@code beerstock.cache.enabled=true}). Sem o barramento, cada instância só
+ * enxerga as próprias alterações, e a ETag da listagem só serve a uma instância.
+ */
+@Component
+public class CatalogVersionTracker {
+
+    // distingue contadores de execuções diferentes da aplicação
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        changes.addAndGet(batch.getEvents().size());
+    }
+
+    /**
+     * Alterações confirmadas em outra instância, recebidas pelo barramento de invalidação.
+     */
+    public void onRemoteChanges(int count) {
+        changes.addAndGet(count);
+    }
+
+    public String currentTag() {
+        return epoch + "-" + changes.get();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dio.beerstock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agrupa chamadas concorrentes com a mesma chave em uma única execução.
+ * <p>
+ * A primeira chamada (líder) executa o carregamento; as que chegam enquanto ela
+ * está em andamento (espera) recebem o mesmo resultado ou a mesma exceção. Ao
+ * terminar, a chave é liberada, então nada fica em cache.
+ * <p>
+ * Métricas, com a tag {@code operation}:
+ * {@code beerstock.singleflight.calls} (tag {@code role} = leader/waiter),
+ * {@code beerstock.singleflight.waiting} (esperas em andamento) e
+ * {@code beerstock.singleflight.coalescing.ratio} (fração de chamadas atendidas sem consulta própria).
+ */
+public class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter leaders;
+    private final Counter waiters;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("beerstock.singleflight.calls", "operation", operation, "role", "leader");
+        this.waiters = meterRegistry.counter("beerstock.singleflight.calls", "operation", operation, "role", "waiter");
+        Gauge.builder("beerstock.singleflight.waiting", waiting, AtomicInteger::get)
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("beerstock.singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public <E extends Exception> V execute(K key, Loader<V, E> loader) throws E {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            waiters.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.load();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Libera a chave: chamadas seguintes iniciam uma nova execução em vez de
+     * aguardar a que está em andamento (usado quando o dado mudou).
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public double coalescingRatio() {
+        double total = leaders.count() + waiters.count();
+        return total == 0 ? 0 : waiters.count() / total;
+    }
+
+    // =============== Métodos Privados ===============
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(CompletableFuture<V> call) throws E {
+        waiting.incrementAndGet();
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // o líder só lança E ou exceções não verificadas
+            throw (E) cause;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+}
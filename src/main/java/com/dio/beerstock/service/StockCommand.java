@@ -0,0 +1,27 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.enums.BeerEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Comando de movimentação de estoque: incremento ou decremento de uma quantidade.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StockCommand {
+
+    private final BeerEventType type;
+
+    private final int quantity;
+
+    public static StockCommand increment(int quantity) {
+        return new StockCommand(BeerEventType.INCREMENTED, quantity);
+    }
+
+    public static StockCommand decrement(int quantity) {
+        return new StockCommand(BeerEventType.DECREMENTED, quantity);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.BeerDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Ponto de entrada dos comandos de estoque.
+ * <p>
+ * Com {@code beerstock.stock.mode=direct} (padrão), cada comando roda na thread
+ * de quem chama, via {@link BeerService}, e o futuro já volta completo. Com
+ * {@code beerstock.stock.mode=sharded}, os comandos são enfileirados no
+ * {@link StockShardExecutor} e o futuro é completado pelo shard da cerveja.
+ */
+@Service
+public class StockCommandGateway {
+
+    private final BeerService beerService;
+    private final StockShardExecutor shardExecutor;
+
+    @Autowired
+    public StockCommandGateway(BeerService beerService, ObjectProvider<StockShardExecutor> shardExecutor) {
+        this.beerService = beerService;
+        this.shardExecutor = shardExecutor.getIfAvailable();
+    }
+
+    /**
+     * Indica se os comandos são confirmados pelos shards, fora da transação de quem chama.
+     */
+    public boolean isSharded() {
+        return shardExecutor != null;
+    }
+
+    public CompletableFuture<BeerDTO> increment(Long id, int quantityToIncrement) {
+        if (shardExecutor != null) {
+            return shardExecutor.submit(id, StockCommand.increment(quantityToIncrement));
+        }
+        try {
+            return CompletableFuture.completedFuture(beerService.increment(id, quantityToIncrement));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<BeerDTO> decrement(Long id, int quantityToDecrement) {
+        if (shardExecutor != null) {
+            return shardExecutor.submit(id, StockCommand.decrement(quantityToDecrement));
+        }
+        try {
+            return CompletableFuture.completedFuture(beerService.decrement(id, quantityToDecrement));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
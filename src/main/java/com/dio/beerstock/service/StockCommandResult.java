@@ -0,0 +1,31 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de um {@link StockCommand}: a cerveja logo após o comando, ou o motivo da recusa.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StockCommandResult {
+
+    private final BeerDTO beer;
+
+    private final BeerStockExceededException error;
+
+    public static StockCommandResult accepted(BeerDTO beer) {
+        return new StockCommandResult(beer, null);
+    }
+
+    public static StockCommandResult rejected(BeerStockExceededException error) {
+        return new StockCommandResult(null, error);
+    }
+
+    public boolean isAccepted() {
+        return error == null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.StockLevelDTO;
+import com.dio.beerstock.entity.StockMovement;
+import com.dio.beerstock.entity.StockSnapshot;
+import com.dio.beerstock.event.BeerBatchChangedEvent;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.repository.StockMovementRepository;
+import com.dio.beerstock.repository.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ledger append-only das movimentações de estoque.
+ * <p>
+ * Cada movimentação é gravada na própria transação que alterou a cerveja (antes do
+ * commit), então o ledger tem exatamente as alterações confirmadas, inclusive após uma
+ * queda. Periodicamente, as cervejas com muitas movimentações desde o último snapshot
+ * são compactadas em um novo {@link StockSnapshot}, o que limita a cauda lida na
+ * reconstrução do estoque.
+ * <p>
+ * Reconstrução e compactação contam com os ids das movimentações de uma cerveja na
+ * ordem dos commits: o id só é obtido no fim da transação, e duas transações que
+ * alteram a mesma cerveja não confirmam ambas (versão otimista).
+ */
+@Service
+public class StockLedgerService {
+
+    private final StockMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotThreshold;
+
+    // maior id já considerado pela compactação
+    private long compactedUpTo;
+
+    @Autowired
+    public StockLedgerService(StockMovementRepository movementRepository,
+                              StockSnapshotRepository snapshotRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${beerstock.ledger.snapshot-threshold:100}") int snapshotThreshold) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotThreshold = snapshotThreshold;
+    }
+
+    /**
+     * Grava a movimentação na transação da alteração; uma falha aqui desfaz a alteração. Roda
+     * antes do log de eventos e descarrega o insert, para que uma falha do ledger apareça antes
+     * de o registro ir para o log.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        movementRepository.saveAndFlush(toMovement(event));
+    }
+
+    /**
+     * Grava as movimentações do lote na transação dele, em batch JDBC.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBeersChanged(BeerBatchChangedEvent batch) {
+        movementRepository.saveAllAndFlush(batch.getEvents().stream().map(StockLedgerService::toMovement).toList());
+    }
+
+    /**
+     * Compacta as cervejas que passaram de {@code snapshotThreshold} movimentações desde o
+     * último snapshot. Só são avaliadas as cervejas com movimentações novas desde a execução
+     * anterior, em uma única consulta.
+     * <p>
+     * Uma movimentação confirmada depois da leitura do maior id, com id menor que ele, fica
+     * fora da janela: a cerveja só volta a ser avaliada na sua próxima movimentação, o que
+     * apenas adia o snapshot.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.ledger.compaction-interval-ms:1000}")
+    public synchronized void compact() {
+        long upTo = movementRepository.findMaxId();
+        if (upTo <= compactedUpTo) {
+            return;
+        }
+        List<Long> beerIds = movementRepository.findBeersToCompact(compactedUpTo, upTo, snapshotThreshold);
+        for (Long beerId : beerIds) {
+            transactionTemplate.executeWithoutResult(status -> snapshot(beerId));
+        }
+        compactedUpTo = upTo;
+    }
+
+    /**
+     * Reconstrói o estoque de uma cerveja no instante informado: último snapshot
+     * até {@code at} mais os deltas da cauda de movimentações, que termina no
+     * primeiro snapshot posterior a {@code at}.
+     */
+    public StockLevelDTO stockAt(Long beerId, Instant at) throws BeerNotFoundException {
+        if (!movementRepository.existsByBeerIdAndOccurredAtLessThanEqual(beerId, at)) {
+            throw new BeerNotFoundException(beerId);
+        }
+
+        Optional<StockSnapshot> snapshot =
+                snapshotRepository.findTopByBeerIdAndTakenAtLessThanEqualOrderByLastMovementIdDesc(beerId, at);
+        long base = snapshot.map(StockSnapshot::getQuantity).orElse(0);
+        long afterId = snapshot.map(StockSnapshot::getLastMovementId).orElse(0L);
+        long upToId = snapshotRepository.findFirstByBeerIdAndTakenAtGreaterThanOrderByLastMovementIdAsc(beerId, at)
+                .map(StockSnapshot::getLastMovementId)
+                .orElse(Long.MAX_VALUE);
+        long quantity = base + movementRepository.sumDeltasUntil(beerId, afterId, upToId, at);
+
+        return StockLevelDTO.builder()
+                .beerId(beerId)
+                .at(at)
+                .quantity((int) quantity)
+                .build();
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static StockMovement toMovement(BeerChangedEvent event) {
+        return StockMovement.builder()
+                .beerId(event.getBeerId())
+                .type(event.getType())
+                .delta(event.getDelta())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    private void snapshot(Long beerId) {
+        Optional<StockSnapshot> latest = snapshotRepository.findTopByBeerIdOrderByLastMovementIdDesc(beerId);
+        long afterId = latest.map(StockSnapshot::getLastMovementId).orElse(0L);
+        long lastId = movementRepository.findLastId(beerId);
+        long quantity = latest.map(StockSnapshot::getQuantity).orElse(0)
+                + movementRepository.sumDeltasBetween(beerId, afterId, lastId);
+        snapshotRepository.save(StockSnapshot.builder()
+                .beerId(beerId)
+                .quantity((int) quantity)
+                .lastMovementId(lastId)
+                // maior instante coberto, para nunca usar o snapshot antes de todas as suas movimentações
+                .takenAt(movementRepository.findLastOccurredAt(beerId, lastId))
+                .build());
+    }
+}
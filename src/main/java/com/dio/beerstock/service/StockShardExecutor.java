@@ -0,0 +1,225 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.exception.ServiceOverloadedException;
+import com.dio.beerstock.sharding.ShardHashing;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Execução dos comandos de estoque em shards de escritor único.
+ * <p>
+ * Cada cerveja pertence a um shard (hash do id), e cada shard é uma fila com
+ * uma única thread. A thread retira tudo o que estiver na fila, agrupa por
+ * cerveja e aplica cada grupo com {@link BeerService#applyStockCommands}, ou
+ * seja, uma transação e uma escrita por cerveja a cada ciclo. Como apenas um
+ * escritor toca cada cerveja, não há disputa de lock entre comandos de estoque
+ * e a ordem de chegada é preservada.
+ * <p>
+ * Enfileirar e encerrar são exclusivos entre si (lock de leitura/escrita): depois que
+ * um shard deixa de aceitar comandos, nada mais entra na sua fila, e o que sobrou
+ * nela ao sair é completado com {@link RejectedExecutionException}.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.stock.mode", havingValue = "sharded")
+public class StockShardExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(StockShardExecutor.class);
+
+    private final BeerService beerService;
+    private final int maxBatch;
+    private final long shutdownTimeoutMs;
+    private final Shard[] shards;
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private boolean running = true;
+
+    @Autowired
+    public StockShardExecutor(BeerService beerService,
+                              @Value("${beerstock.stock.shards:0}") int shardCount,
+                              @Value("${beerstock.stock.shard.max-batch:256}") int maxBatch,
+                              @Value("${beerstock.stock.shard.queue-capacity:10000}") int queueCapacity,
+                              @Value("${beerstock.stock.shard.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                              MeterRegistry meterRegistry) {
+        this.beerService = beerService;
+        this.maxBatch = maxBatch;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        DistributionSummary batchSize = DistributionSummary.builder("beerstock.stock.shard.batch")
+                .description("Comandos aplicados por cerveja em cada ciclo")
+                .register(meterRegistry);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, queueCapacity, batchSize);
+            meterRegistry.gauge("beerstock.stock.shard.queue", Tags.of("shard", String.valueOf(i)),
+                    shards[i].queue, BlockingQueue::size);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Enfileira um comando no shard da cerveja.
+     *
+     * @return futuro completado com a cerveja após o comando, ou com a exceção que o recusou
+     */
+    public CompletableFuture<BeerDTO> submit(Long beerId, StockCommand command) {
+        PendingCommand pending = new PendingCommand(beerId, command, new CompletableFuture<>());
+        Shard shard = shards[shardOf(beerId)];
+        lifecycle.readLock().lock();
+        try {
+            if (!running || !shard.open) {
+                pending.result.completeExceptionally(new RejectedExecutionException("Stock shards are shut down"));
+            } else if (!shard.queue.offer(pending)) {
+                pending.result.completeExceptionally(new ServiceOverloadedException("stock"));
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        return pending.result;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Para de aceitar comandos e aguarda os shards aplicarem o que já estava na fila.
+     * <p>
+     * Um shard cuja fila não abre espaço para o sinal de parada dentro do prazo é
+     * interrompido; os comandos que ficaram na fila são recusados.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        for (Shard shard : shards) {
+            if (!shard.queue.offer(PendingCommand.STOP, shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Stock shard {} did not drain in {} ms, interrupting it", shard.thread.getName(), shutdownTimeoutMs);
+                shard.thread.interrupt();
+            }
+        }
+        for (Shard shard : shards) {
+            shard.thread.join(shutdownTimeoutMs);
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private int shardOf(long beerId) {
+        return ShardHashing.partitionOf(beerId, shards.length);
+    }
+
+    private record PendingCommand(Long beerId, StockCommand command, CompletableFuture<BeerDTO> result) {
+        static final PendingCommand STOP = new PendingCommand(null, null, null);
+    }
+
+    private final class Shard implements Runnable {
+
+        private final BlockingQueue<PendingCommand> queue;
+        private final Thread thread;
+        private final DistributionSummary batchSize;
+        // protegido pelo lock de ciclo de vida; falso depois que a thread do shard sai
+        private boolean open = true;
+
+        Shard(int index, int queueCapacity, DistributionSummary batchSize) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "stock-shard-" + index);
+            this.thread.setDaemon(true);
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<PendingCommand> batch = new ArrayList<>(maxBatch);
+                boolean stopping = false;
+                while (!stopping) {
+                    try {
+                        batch.add(queue.take());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    queue.drainTo(batch, maxBatch - 1);
+                    stopping = batch.remove(PendingCommand.STOP);
+                    apply(batch);
+                    batch.clear();
+                }
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            lifecycle.writeLock().lock();
+            try {
+                open = false;
+            } finally {
+                lifecycle.writeLock().unlock();
+            }
+            List<PendingCommand> leftovers = new ArrayList<>();
+            queue.drainTo(leftovers);
+            RejectedExecutionException rejected = new RejectedExecutionException("Stock shards are shut down");
+            for (PendingCommand pending : leftovers) {
+                if (pending != PendingCommand.STOP) {
+                    pending.result().completeExceptionally(rejected);
+                }
+            }
+        }
+
+        private void apply(List<PendingCommand> batch) {
+            Map<Long, List<PendingCommand>> byBeer = new LinkedHashMap<>();
+            for (PendingCommand pending : batch) {
+                byBeer.computeIfAbsent(pending.beerId(), id -> new ArrayList<>()).add(pending);
+            }
+            byBeer.forEach(this::applyGroup);
+        }
+
+        private void applyGroup(Long beerId, List<PendingCommand> group) {
+            batchSize.record(group.size());
+            try {
+                List<StockCommandResult> results = beerService.applyStockCommands(beerId,
+                        group.stream().map(PendingCommand::command).toList());
+                for (int i = 0; i < group.size(); i++) {
+                    StockCommandResult result = results.get(i);
+                    if (result.isAccepted()) {
+                        group.get(i).result().complete(result.getBeer());
+                    } else {
+                        group.get(i).result().completeExceptionally(result.getError());
+                    }
+                }
+            } catch (Exception e) {
+                if (!(e instanceof BeerNotFoundException)) {
+                    log.warn("Could not apply {} stock commands for beer {}", group.size(), beerId, e);
+                }
+                group.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dio.beerstock.sharding;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Resultado de uma execução do {@link ShardRebalancer}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RebalanceReport {
+
+    /**
+     * Linhas lidas; uma linha movida para um shard percorrido depois é contada de novo.
+     */
+    private final long scanned;
+
+    private final long moved;
+
+    private final long[] rowsPerShard;
+}
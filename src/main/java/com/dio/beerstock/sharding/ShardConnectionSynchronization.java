@@ -0,0 +1,124 @@
+package com.dio.beerstock.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Prende a conexão de um shard (ou do índice) à transação corrente do datasource principal.
+ * <p>
+ * Não há transação distribuída: é um commit em uma fase "de melhor esforço". Os comandos
+ * rodam numa conexão sem autocommit, registrada no {@link TransactionSynchronizationManager}
+ * (o {@code JdbcTemplate} do shard passa a usá-la), que só é confirmada depois do commit do
+ * principal e é desfeita se ele não acontecer. Uma falha entre os dois commits ainda deixa o
+ * principal confirmado sem o shard; ela é registrada em log e chega a quem chamou.
+ */
+final class ShardConnectionSynchronization implements TransactionSynchronization {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardConnectionSynchronization.class);
+
+    private final DataSource dataSource;
+    private final ConnectionHolder holder;
+
+    private ShardConnectionSynchronization(DataSource dataSource, ConnectionHolder holder) {
+        this.dataSource = dataSource;
+        this.holder = holder;
+    }
+
+    /**
+     * Liga uma conexão de {@code dataSource} à transação de escrita corrente, se houver uma e
+     * se ainda não houver conexão ligada. Fora de transação (ou em uma somente leitura), os
+     * comandos continuam em autocommit.
+     */
+    static void enlist(DataSource dataSource) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(dataSource)) {
+            return;
+        }
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Could not get a shard connection", e);
+        }
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            close(connection);
+            throw new CannotGetJdbcConnectionException("Could not start a shard transaction", e);
+        }
+        ConnectionHolder holder = new ConnectionHolder(connection);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(dataSource, holder);
+        TransactionSynchronizationManager.registerSynchronization(new ShardConnectionSynchronization(dataSource, holder));
+    }
+
+    /**
+     * Antes dos listeners de depois do commit: quem reage à alteração já encontra o shard confirmado.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResource(dataSource);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(dataSource, holder);
+    }
+
+    @Override
+    public void afterCommit() {
+        try {
+            holder.getConnection().commit();
+        } catch (SQLException e) {
+            log.error("Shard commit failed after the primary transaction committed", e);
+            throw new TransactionSystemException("Shard commit failed after the primary transaction committed", e);
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        Connection connection = holder.getConnection();
+        try {
+            if (status != STATUS_COMMITTED) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not roll back a shard transaction", e);
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+            holder.clear();
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.debug("Could not reset autocommit on a shard connection", e);
+            }
+            close(connection);
+        }
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close a shard connection", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.dio.beerstock.sharding;
+
+/**
+ * Distribuição de ids de cerveja entre partições, compartilhada por tudo que
+ * particiona por cerveja (shards de banco, filas de comandos de estoque, replay
+ * do log de eventos).
+ * <p>
+ * O id passa por uma mistura multiplicativa (constante de Fibonacci) para que ids
+ * sequenciais se espalhem entre as partições em vez de caírem em faixas.
+ */
+public final class ShardHashing {
+
+    private ShardHashing() {
+    }
+
+    /**
+     * @return partição do id, entre {@code 0} e {@code partitions - 1}
+     */
+    public static int partitionOf(long id, int partitions) {
+        return Math.floorMod(Long.hashCode(id) * 0x9E3779B9, partitions);
+    }
+}
@@ -0,0 +1,139 @@
+package com.dio.beerstock.sharding;
+
+import com.dio.beerstock.entity.Beer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Driver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redistribui as cervejas quando a quantidade de shards muda.
+ * <p>
+ * Percorre cada shard de origem em páginas ordenadas por id e, para cada linha
+ * cujo shard de destino ({@link ShardHashing#partitionOf(long, int)} na nova
+ * topologia) é outro datasource, copia a linha para o destino com
+ * {@code merge} e só então a remove da origem. Como a cópia é idempotente, uma
+ * execução interrompida pode simplesmente ser repetida. Deve rodar com as
+ * escritas paradas; o índice global não muda, pois ids e nomes são preservados.
+ * <p>
+ * Uso na linha de comando (mesmo usuário/senha para todos os bancos):
+ * <pre>
+ * java -Dloader.main=com.dio.beerstock.sharding.ShardRebalancer -cp beerstock.jar \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     jdbc:h2:./data/shard0,jdbc:h2:./data/shard1 \
+ *     jdbc:h2:./data/shard0,jdbc:h2:./data/shard1,jdbc:h2:./data/shard2
+ * </pre>
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final String MERGE_SQL =
+            "merge into beer (id, name, brand, max, quality, type, version) key (id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final int batchSize;
+
+    public ShardRebalancer(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param from shards atuais
+     * @param to   nova topologia; datasources presentes nas duas listas (mesma instância) não são copiados
+     */
+    public RebalanceReport rebalance(List<DataSource> from, List<DataSource> to) {
+        List<JdbcTemplate> targets = to.stream().map(JdbcTemplate::new).toList();
+        long scanned = 0;
+        long moved = 0;
+        for (DataSource source : from) {
+            JdbcTemplate sourceTemplate = new JdbcTemplate(source);
+            long lastId = Long.MIN_VALUE;
+            while (true) {
+                List<Beer> page = sourceTemplate.query(
+                        ShardedBeerStore.SELECT_COLUMNS + " where id > ? order by id limit ?",
+                        ShardedBeerStore.BEER_ROW_MAPPER, lastId, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                scanned += page.size();
+                lastId = page.get(page.size() - 1).getId();
+
+                Map<Integer, List<Beer>> byTarget = new HashMap<>();
+                for (Beer beer : page) {
+                    int target = ShardHashing.partitionOf(beer.getId(), to.size());
+                    if (to.get(target) != source) {
+                        byTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(beer);
+                    }
+                }
+                for (Map.Entry<Integer, List<Beer>> entry : byTarget.entrySet()) {
+                    copy(targets.get(entry.getKey()), entry.getValue());
+                    delete(source, entry.getValue());
+                    moved += entry.getValue().size();
+                }
+            }
+        }
+
+        long[] rowsPerShard = targets.stream()
+                .mapToLong(target -> target.queryForObject("select count(*) from beer", Long.class))
+                .toArray();
+        RebalanceReport report = new RebalanceReport(scanned, moved, rowsPerShard);
+        log.info("Rebalanced beers from {} to {} shards: scanned={}, moved={}, rowsPerShard={}",
+                from.size(), to.size(), scanned, moved, Arrays.toString(rowsPerShard));
+        return report;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardRebalancer <current-shard-urls> <new-shard-urls> [user] [password]");
+            System.exit(2);
+        }
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+        Map<String, DataSource> dataSources = new HashMap<>();
+        List<DataSource> from = dataSources(args[0], user, password, dataSources);
+        List<DataSource> to = dataSources(args[1], user, password, dataSources);
+        // shards novos ainda não têm a tabela
+        ShardedBeerStore.initializeShardSchema(to);
+        RebalanceReport report = new ShardRebalancer(1000).rebalance(from, to);
+        System.out.println(report);
+    }
+
+    // =============== Métodos Privados ===============
+
+    private void copy(JdbcTemplate target, List<Beer> beers) {
+        target.batchUpdate(MERGE_SQL, beers, beers.size(), (statement, beer) -> {
+            statement.setLong(1, beer.getId());
+            statement.setString(2, beer.getName());
+            statement.setString(3, beer.getBrand());
+            statement.setInt(4, beer.getMax());
+            statement.setInt(5, beer.getQuality());
+            statement.setString(6, beer.getType().name());
+            statement.setLong(7, beer.getVersion());
+        });
+    }
+
+    private void delete(DataSource source, List<Beer> beers) {
+        new NamedParameterJdbcTemplate(source).update("delete from beer where id in (:ids)",
+                new MapSqlParameterSource("ids", beers.stream().map(Beer::getId).toList()));
+    }
+
+    private static List<DataSource> dataSources(String urls, String user, String password,
+                                                Map<String, DataSource> cache) throws ReflectiveOperationException {
+        Driver driver = (Driver) Class.forName("org.h2.Driver").getDeclaredConstructor().newInstance();
+        List<DataSource> result = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            // a mesma URL nas duas topologias precisa ser a mesma instância (linhas que não mudam de shard)
+            result.add(cache.computeIfAbsent(url.trim(), key -> new SimpleDriverDataSource(driver, key, user, password)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,442 @@
+package com.dio.beerstock.sharding;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.repository.BeerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Armazenamento de cervejas particionado em N datasources pelo hash do id
+ * ({@link ShardHashing}). Substitui o {@link com.dio.beerstock.repository.JpaBeerStore}
+ * quando {@code beerstock.sharding.enabled=true}.
+ * <p>
+ * Cada shard tem sua própria tabela {@code beer}. Um datasource de índice guarda
+ * o que precisa ser global: a sequence de ids e o índice de nomes
+ * ({@code beer_name_index}), que garante nomes únicos em todo o catálogo e
+ * resolve {@link #findByName} com duas consultas pontuais em vez de consultar
+ * todos os shards. Listagens e buscas por vários ids são distribuídas entre os
+ * shards em paralelo e reunidas em ordem de id.
+ * <p>
+ * Escritas em uma cerveja tocam um único shard (mais o índice, quando o nome
+ * muda) e usam a mesma versão otimista da entidade JPA. O índice é alterado
+ * primeiro e, se a escrita no shard falhar, a alteração do índice é desfeita.
+ * <p>
+ * Dentro de uma transação de escrita do datasource principal (eventos, ledger,
+ * jobs, importação), as conexões do shard e do índice usadas pela thread de quem
+ * chama entram nela ({@link ShardConnectionSynchronization}): são confirmadas logo
+ * depois do principal e desfeitas se ele for desfeito. Não é uma transação
+ * distribuída; uma queda entre os commits pode deixar o principal sem o shard, ou
+ * uma entrada órfã no índice. As buscas por nome conferem o nome no shard e
+ * ignoram entradas órfãs, que só impedem o reuso daquele nome. Leituras
+ * distribuídas entre os shards rodam em outras threads e não veem as escritas
+ * ainda não confirmadas da transação.
+ * <p>
+ * Os pools dos shards e do índice pertencem ao store e são fechados em {@link #close()}.
+ */
+public class ShardedBeerStore implements BeerStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedBeerStore.class);
+
+    static final String SELECT_COLUMNS = "select id, name, brand, max, quality, type, version from beer";
+
+    static final RowMapper<Beer> BEER_ROW_MAPPER = (rs, rowNum) -> Beer.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .brand(rs.getString("brand"))
+            .max(rs.getInt("max"))
+            .quality(rs.getInt("quality"))
+            .type(BeerType.valueOf(rs.getString("type")))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final List<JdbcTemplate> shards;
+    private final JdbcTemplate index;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardedBeerStore(List<DataSource> shardDataSources, DataSource indexDataSource,
+                            ExecutorService fanOutExecutor) {
+        if (shardDataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        this.index = new JdbcTemplate(indexDataSource);
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    /**
+     * Cria as tabelas do índice e dos shards, se ainda não existirem.
+     */
+    public void initializeSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/sharding/index_schema.sql"))
+                .execute(index.getDataSource());
+        initializeShardSchema(shards.stream().map(JdbcTemplate::getDataSource).toList());
+    }
+
+    static void initializeShardSchema(List<DataSource> shardDataSources) {
+        ResourceDatabasePopulator shardSchema =
+                new ResourceDatabasePopulator(new ClassPathResource("db/sharding/shard_schema.sql"));
+        shardDataSources.forEach(shardSchema::execute);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int shardOf(long id) {
+        return ShardHashing.partitionOf(id, shards.size());
+    }
+
+    /**
+     * Insere uma nova cerveja com id da sequence global.
+     *
+     * @throws DuplicateKeyException Se o nome já estiver em uso
+     */
+    @Override
+    public Beer insert(Beer beer) {
+        long id = index().queryForObject("select next value for beer_id_seq", Long.class);
+        reserveName(beer.getName(), id);
+        Beer saved = Beer.builder()
+                .id(id)
+                .name(beer.getName())
+                .brand(beer.getBrand())
+                .max(beer.getMax())
+                .quality(beer.getQuality())
+                .type(beer.getType())
+                .version(0L)
+                .build();
+        try {
+            shard(id).update("insert into beer (id, name, brand, max, quality, type, version) values (?, ?, ?, ?, ?, ?, ?)",
+                    id, saved.getName(), saved.getBrand(), saved.getMax(), saved.getQuality(),
+                    saved.getType().name(), saved.getVersion());
+        } catch (RuntimeException e) {
+            compensate(e, () -> releaseName(saved.getName(), id));
+            throw e;
+        }
+        return saved;
+    }
+
+    /**
+     * Atualiza a cerveja se a versão informada ainda for a atual. Numa renomeação, o
+     * novo nome é reservado no índice antes da escrita no shard e liberado se ela falhar;
+     * o nome antigo só é liberado depois que o shard confirma.
+     *
+     * @return a cerveja com a nova versão
+     * @throws ObjectOptimisticLockingFailureException Se a versão mudou ou a cerveja não existe mais
+     * @throws DuplicateKeyException                   Se o novo nome já estiver em uso
+     */
+    @Override
+    public Beer update(Beer beer) {
+        Beer current = findById(beer.getId())
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Beer.class, beer.getId()));
+        boolean renamed = !current.getName().equals(beer.getName());
+        if (renamed) {
+            reserveName(beer.getName(), beer.getId());
+        }
+
+        int updated;
+        try {
+            updated = shard(beer.getId()).update(
+                    "update beer set name = ?, brand = ?, max = ?, quality = ?, type = ?, version = version + 1"
+                            + " where id = ? and version = ?",
+                    beer.getName(), beer.getBrand(), beer.getMax(), beer.getQuality(), beer.getType().name(),
+                    beer.getId(), beer.getVersion());
+        } catch (RuntimeException e) {
+            if (renamed) {
+                compensate(e, () -> releaseName(beer.getName(), beer.getId()));
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            ObjectOptimisticLockingFailureException conflict =
+                    new ObjectOptimisticLockingFailureException(Beer.class, beer.getId());
+            if (renamed) {
+                compensate(conflict, () -> releaseName(beer.getName(), beer.getId()));
+            }
+            throw conflict;
+        }
+        if (renamed) {
+            releaseName(current.getName(), beer.getId());
+        }
+        beer.setVersion(beer.getVersion() + 1);
+        return beer;
+    }
+
+    /**
+     * Remove a cerveja se a versão informada ainda for a atual. O nome sai do índice
+     * antes da remoção no shard e volta para ele se a remoção falhar.
+     *
+     * @throws ObjectOptimisticLockingFailureException Se a versão mudou ou a cerveja não existe mais
+     */
+    @Override
+    public void delete(Beer beer) {
+        boolean released = releaseName(beer.getName(), beer.getId());
+        int deleted;
+        try {
+            deleted = shard(beer.getId()).update("delete from beer where id = ? and version = ?",
+                    beer.getId(), beer.getVersion());
+        } catch (RuntimeException e) {
+            if (released) {
+                compensate(e, () -> reserveName(beer.getName(), beer.getId()));
+            }
+            throw e;
+        }
+        if (deleted == 0) {
+            ObjectOptimisticLockingFailureException conflict =
+                    new ObjectOptimisticLockingFailureException(Beer.class, beer.getId());
+            if (released) {
+                compensate(conflict, () -> reserveName(beer.getName(), beer.getId()));
+            }
+            throw conflict;
+        }
+    }
+
+    @Override
+    public Optional<Beer> findById(Long id) {
+        return shard(id).query(SELECT_COLUMNS + " where id = ?", BEER_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Beer> findByName(String name) {
+        return index().query("select beer_id from beer_name_index where name = ?",
+                        (rs, rowNum) -> rs.getLong(1), name)
+                .stream()
+                .findFirst()
+                .flatMap(this::findById)
+                // entrada órfã (queda entre índice e shard) aponta para outra cerveja ou para nenhuma
+                .filter(beer -> beer.getName().equals(name));
+    }
+
+    @Override
+    public List<Beer> findByNameIn(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new NamedParameterJdbcTemplate(index()).queryForList(
+                "select beer_id from beer_name_index where name in (:names)",
+                new MapSqlParameterSource("names", names), Long.class);
+        return findAllById(ids).stream()
+                .filter(beer -> names.contains(beer.getName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca várias cervejas com uma consulta {@code IN} por shard envolvido, em paralelo.
+     */
+    @Override
+    public List<Beer> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> byShard = ids.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(this::shardOf));
+        List<CompletableFuture<List<Beer>>> parts = new ArrayList<>();
+        byShard.forEach((shard, shardIds) -> parts.add(CompletableFuture.supplyAsync(() ->
+                new NamedParameterJdbcTemplate(shards.get(shard)).query(SELECT_COLUMNS + " where id in (:ids)",
+                        new MapSqlParameterSource("ids", shardIds), BEER_ROW_MAPPER), fanOutExecutor)));
+        return merge(parts);
+    }
+
+    /**
+     * Lista o catálogo completo consultando todos os shards em paralelo.
+     */
+    @Override
+    public List<Beer> findAll() {
+        List<CompletableFuture<List<Beer>>> parts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.query(SELECT_COLUMNS, BEER_ROW_MAPPER),
+                        fanOutExecutor))
+                .toList();
+        return merge(parts);
+    }
+
+    /**
+     * Cada shard devolve a sua página a partir de {@code afterId}; as páginas são reunidas
+     * em ordem de id e cortadas em {@code size}.
+     */
+    @Override
+    public List<Beer> findPage(long afterId, int size) {
+        List<CompletableFuture<List<Beer>>> parts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.query(
+                        SELECT_COLUMNS + " where id > ? order by id limit ?", BEER_ROW_MAPPER, afterId, size),
+                        fanOutExecutor))
+                .toList();
+        List<Beer> merged = merge(parts);
+        return merged.size() > size ? new ArrayList<>(merged.subList(0, size)) : merged;
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(new NamedParameterJdbcTemplate(index()).queryForList(
+                "select name from beer_name_index where name in (:names)",
+                new MapSqlParameterSource("names", names), String.class));
+    }
+
+    /**
+     * Insere as cervejas com uma consulta de ids na sequence, um batch de nomes no índice
+     * e um batch por shard envolvido. Fora de uma transação, se o batch de um shard falhar,
+     * os nomes das cervejas dele e dos shards ainda não gravados são liberados; os shards
+     * já gravados ficam como estão.
+     *
+     * @return os ids gerados, na ordem das cervejas recebidas
+     */
+    @Override
+    public List<Long> insertBatch(List<BeerDTO> beers) {
+        if (beers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = index().queryForList("select next value for beer_id_seq from system_range(1, ?)",
+                Long.class, beers.size());
+        index().batchUpdate("insert into beer_name_index (name, beer_id) values (?, ?)",
+                IntStream.range(0, beers.size())
+                        .mapToObj(i -> new Object[]{beers.get(i).getName(), ids.get(i)})
+                        .toList());
+
+        Map<Integer, List<Integer>> byShard = IntStream.range(0, beers.size()).boxed()
+                .collect(Collectors.groupingBy(i -> shardOf(ids.get(i)), TreeMap::new, Collectors.toList()));
+        List<List<Integer>> pending = new ArrayList<>(byShard.values());
+        for (int i = 0; i < pending.size(); i++) {
+            List<Integer> positions = pending.get(i);
+            try {
+                shard(ids.get(positions.get(0))).batchUpdate(
+                        "insert into beer (id, name, brand, max, quality, type, version) values (?, ?, ?, ?, ?, ?, 0)",
+                        positions.stream()
+                                .map(position -> {
+                                    BeerDTO beer = beers.get(position);
+                                    return new Object[]{ids.get(position), beer.getName(), beer.getBrand(),
+                                            beer.getMax(), beer.getQuantity(), beer.getType().name()};
+                                })
+                                .toList());
+            } catch (RuntimeException e) {
+                List<Object[]> unwritten = pending.subList(i, pending.size()).stream()
+                        .flatMap(List::stream)
+                        .map(position -> new Object[]{beers.get(position).getName(), ids.get(position)})
+                        .toList();
+                compensate(e, () -> index().batchUpdate(
+                        "delete from beer_name_index where name = ? and beer_id = ?", unwritten));
+                throw e;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Percorre os shards um de cada vez, para que {@code handler} não precise ser thread-safe.
+     */
+    @Override
+    public void scanStock(StockRowHandler handler) {
+        for (JdbcTemplate shard : shards) {
+            shard.query("select brand, max, quality, type from beer", resultSet -> {
+                handler.accept(resultSet.getString(1), resultSet.getInt(2), resultSet.getInt(3),
+                        BeerType.valueOf(resultSet.getString(4)));
+            });
+        }
+    }
+
+    /**
+     * Soma as quantidades e as versões dos shards e fica com o maior id entre eles.
+     */
+    @Override
+    public String catalogFingerprint() {
+        long count = 0;
+        long maxId = 0;
+        long versions = 0;
+        for (JdbcTemplate shard : shards) {
+            long[] part = shard.queryForObject(
+                    "select count(*), coalesce(max(id), 0), coalesce(sum(version), 0) from beer",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+            count += part[0];
+            maxId = Math.max(maxId, part[1]);
+            versions += part[2];
+        }
+        return count + "-" + maxId + "-" + versions;
+    }
+
+    /**
+     * Fecha os pools dos shards e do índice.
+     */
+    @Override
+    public void close() throws Exception {
+        for (JdbcTemplate shard : shards) {
+            closeDataSource(shard.getDataSource());
+        }
+        closeDataSource(index.getDataSource());
+    }
+
+    // =============== Métodos Privados ===============
+
+    private JdbcTemplate shard(long id) {
+        return enlisted(shards.get(shardOf(id)));
+    }
+
+    private JdbcTemplate index() {
+        return enlisted(index);
+    }
+
+    private static JdbcTemplate enlisted(JdbcTemplate template) {
+        ShardConnectionSynchronization.enlist(template.getDataSource());
+        return template;
+    }
+
+    private void reserveName(String name, long id) {
+        index().update("insert into beer_name_index (name, beer_id) values (?, ?)", name, id);
+    }
+
+    private boolean releaseName(String name, long id) {
+        return index().update("delete from beer_name_index where name = ? and beer_id = ?", name, id) > 0;
+    }
+
+    private static void compensate(RuntimeException failure, Runnable undo) {
+        try {
+            undo.run();
+        } catch (RuntimeException e) {
+            log.error("Could not undo the name index change after a shard write failed", e);
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void closeDataSource(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static List<Beer> merge(List<CompletableFuture<List<Beer>>> parts) {
+        try {
+            return parts.stream()
+                    .flatMap(part -> part.join().stream())
+                    .sorted(Comparator.comparing(Beer::getId))
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
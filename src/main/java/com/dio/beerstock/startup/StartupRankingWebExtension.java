@@ -0,0 +1,84 @@
+package com.dio.beerstock.startup;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@code GET /actuator/startup} com os passos de inicialização ordenados pelo tempo próprio
+ * (duração menos a dos passos filhos), para que um bean lento não apareça repetido em
+ * todos os beans que dependem dele. O {@code POST} continua o do endpoint padrão.
+ */
+@EndpointWebExtension(endpoint = StartupEndpoint.class)
+public class StartupRankingWebExtension {
+
+    static final int DEFAULT_LIMIT = 20;
+
+    private final BufferingApplicationStartup applicationStartup;
+
+    public StartupRankingWebExtension(BufferingApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    public record RankedStep(String name, Map<String, String> tags, long durationMs, long selfMs) {
+    }
+
+    public record StartupRanking(long totalMs, List<RankedStep> ranking) {
+    }
+
+    @ReadOperation
+    public StartupRanking startupRanking(@Nullable Integer limit) {
+        return rank(applicationStartup.getBufferedTimeline(), limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    /**
+     * Ordena os passos da linha do tempo pelo tempo próprio, do maior para o menor.
+     */
+    public static StartupRanking rank(StartupTimeline timeline, int limit) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, Duration> childDurations = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childDurations.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        long totalMs = events.stream()
+                .filter(event -> event.getStartupStep().getParentId() == null)
+                .mapToLong(event -> event.getDuration().toMillis())
+                .sum();
+        List<RankedStep> ranking = events.stream()
+                .map(event -> {
+                    StartupStep step = event.getStartupStep();
+                    Duration self = event.getDuration().minus(childDurations.getOrDefault(step.getId(), Duration.ZERO));
+                    return new RankedStep(step.getName(), tags(step), event.getDuration().toMillis(),
+                            Math.max(0, self.toMillis()));
+                })
+                .sorted(Comparator.comparingLong(RankedStep::selfMs).reversed())
+                .limit(limit)
+                .toList();
+        return new StartupRanking(totalMs, ranking);
+    }
+
+    // =============== Métodos Privados ===============
+
+    private static Map<String, String> tags(StartupStep step) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        StreamSupport.stream(step.getTags().spliterator(), false)
+                .forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        return tags;
+    }
+}
@@ -0,0 +1,35 @@
+-- Esquema inicial (equivalente ao gerado pelo Hibernate para as entidades atuais)
+
+create table beer (
+    id       bigint generated by default as identity,
+    name     varchar(255) not null unique,
+    brand    varchar(255) not null,
+    max      integer not null,
+    quality  integer not null,
+    type     varchar(255) not null check (type in ('LAGER','PILSNER','IPA','STOUT','WHEAT','PALE_ALE','BROWN_ALE','ALE','PORTER')),
+    primary key (id)
+);
+
+create sequence stock_movement_seq start with 1 increment by 50;
+
+create table stock_movement (
+    id          bigint not null,
+    beer_id     bigint not null,
+    type        varchar(255) not null check (type in ('CREATED','UPDATED','DELETED','INCREMENTED','DECREMENTED')),
+    delta       integer not null,
+    occurred_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_stock_movement_beer on stock_movement (beer_id, id);
+
+create table stock_snapshot (
+    id               bigint generated by default as identity,
+    beer_id          bigint not null,
+    quantity         integer not null,
+    last_movement_id bigint not null,
+    taken_at         timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_stock_snapshot_beer on stock_snapshot (beer_id, last_movement_id);
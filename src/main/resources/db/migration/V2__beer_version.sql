@@ -0,0 +1,2 @@
+-- Coluna de versão para optimistic locking da entidade Beer
+alter table beer add column version bigint not null default 0;
@@ -0,0 +1,29 @@
+-- Jobs de operações em massa e os itens recusados por eles
+
+create table bulk_job (
+    id               bigint generated by default as identity,
+    type             varchar(255) not null check (type in ('BULK_CREATE','BULK_STOCK')),
+    status           varchar(255) not null check (status in ('QUEUED','RUNNING','SUCCEEDED','FAILED','CANCELLED')),
+    total            integer not null,
+    processed        integer not null,
+    succeeded        integer not null,
+    failed           integer not null,
+    cancel_requested boolean not null,
+    payload          clob not null,
+    error            varchar(1000),
+    created_at       timestamp(6) with time zone not null,
+    updated_at       timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_bulk_job_status on bulk_job (status);
+
+create table bulk_job_error (
+    id         bigint generated by default as identity,
+    job_id     bigint not null,
+    item_index integer not null,
+    message    varchar(1000) not null,
+    primary key (id)
+);
+
+create index idx_bulk_job_error_job on bulk_job_error (job_id, item_index);
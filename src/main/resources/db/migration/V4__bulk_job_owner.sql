@@ -0,0 +1,3 @@
+-- Instância que executa cada job, para que um job não seja executado duas vezes
+
+alter table bulk_job add column owner varchar(64);
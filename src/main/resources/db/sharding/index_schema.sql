@@ -0,0 +1,9 @@
+-- Índice global dos shards: ids e unicidade de nomes para todo o catálogo.
+
+create sequence if not exists beer_id_seq start with 1;
+
+create table if not exists beer_name_index (
+    name     varchar(255) not null,
+    beer_id  bigint not null,
+    primary key (name)
+);
@@ -0,0 +1,12 @@
+-- Tabela beer de cada shard. O id vem da sequence global do índice, não de uma identity local.
+
+create table if not exists beer (
+    id       bigint not null,
+    name     varchar(255) not null,
+    brand    varchar(255) not null,
+    max      integer not null,
+    quality  integer not null,
+    type     varchar(255) not null,
+    version  bigint not null,
+    primary key (id)
+);
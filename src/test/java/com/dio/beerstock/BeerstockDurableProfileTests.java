@@ -0,0 +1,47 @@
+package com.dio.beerstock;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("durable")
+class BeerstockDurableProfileTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry) throws IOException {
+        String dataDir = Files.createTempDirectory("beerstock-durable").toString();
+        registry.add("beerstock.data-dir", () -> dataDir);
+    }
+
+    // ✅ Teste: Migrações Flyway criam um esquema válido para as entidades
+    @Test
+    void whenDurableProfileIsActiveThenMigratedSchemaShouldBeUsable() throws Exception {
+        BeerDTO created = beerService.createBeer(BeerDTO.builder()
+                .name("Colorado Indica")
+                .brand("Colorado")
+                .max(50)
+                .quantity(10)
+                .type(BeerType.IPA)
+                .build());
+
+        BeerDTO incremented = beerService.increment(created.getId(), 5);
+
+        assertThat(incremented.getQuantity()).isEqualTo(15);
+        assertThat(beerService.findByName("Colorado Indica").getId()).isEqualTo(created.getId());
+    }
+}
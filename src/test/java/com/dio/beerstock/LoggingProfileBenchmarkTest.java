@@ -0,0 +1,101 @@
+package com.dio.beerstock;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.service.BeerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara o throughput dos endpoints de estoque (PATCH increment/decrement)
+ * entre o perfil padrão (show-sql, BasicBinder TRACE, web DEBUG) e o perfil prod
+ * (logging assíncrono em JSON, só queries lentas).
+ * Executar com: mvn test -Pbenchmark -Dtest=LoggingProfileBenchmarkTest
+ */
+@Tag("benchmark")
+class LoggingProfileBenchmarkTest {
+
+    private static final int BEERS = 20;
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 1_000;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void compareDefaultAndProdLogging() throws Exception {
+        // primeira inicialização da JVM paga o carregamento de classes; descartada
+        run();
+
+        double defaultProfile = run();
+        double prodProfile = run("prod");
+
+        System.out.printf("%-8s %8.0f req/s%n", "default", defaultProfile);
+        System.out.printf("%-8s %8.0f req/s%n", "prod", prodProfile);
+    }
+
+    private double run(String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles(profiles)
+                // mede o custo do logging, sem o controle de admissão limitando a carga
+                .properties("server.port=0", "beerstock.admission.enabled=false")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            BeerService beerService = context.getBean(BeerService.class);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < BEERS; i++) {
+                ids.add(beerService.createBeer(BeerDTO.builder()
+                        .name("Logging " + System.nanoTime())
+                        .brand("Brand")
+                        .max(500)
+                        .quantity(250)
+                        .type(BeerType.LAGER)
+                        .build()).getId());
+            }
+
+            drive(port, ids, REQUESTS_PER_THREAD / 4);
+            long start = System.nanoTime();
+            drive(port, ids, REQUESTS_PER_THREAD);
+            return THREADS * REQUESTS_PER_THREAD / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private void drive(int port, List<Long> ids, int requestsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        Long id = ids.get((thread + i) % ids.size());
+                        String operation = i % 2 == 0 ? "increment?quantityToIncrement=1" : "decrement?quantityToDecrement=1";
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/api/v1/beers/" + id + "/" + operation))
+                                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                                .build();
+                        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
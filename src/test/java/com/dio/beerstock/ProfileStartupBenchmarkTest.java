@@ -0,0 +1,153 @@
+package com.dio.beerstock;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.service.BeerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Compara o tempo de inicialização e o throughput das operações de estoque
+ * entre o perfil padrão (H2 em memória) e o perfil durable (H2 em arquivo).
+ * Executar com: mvn test -Pbenchmark -Dtest=ProfileStartupBenchmarkTest
+ */
+@Tag("benchmark")
+class ProfileStartupBenchmarkTest {
+
+    private static final int BEERS = 100;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void compareInMemoryAndDurableProfiles() throws Exception {
+        // primeira inicialização da JVM paga o carregamento de classes; descartada
+        run();
+
+        Result inMemory = run();
+        Result durable = run("durable");
+
+        print("in-memory", inMemory);
+        print("durable", durable);
+    }
+
+    private void print(String profile, Result result) {
+        System.out.printf("%-10s startup %6d ms | throughput %8.0f ops/s | failed %d (%s)%n",
+                profile, result.startupMillis, result.opsPerSecond, result.failures.total(), result.failures.byType());
+    }
+
+    private Result run(String... profiles) throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0",
+                        "beerstock.data-dir=" + dataDir,
+                        "logging.level.root=WARN",
+                        "logging.level.com.dio.beerstock=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "spring.jpa.show-sql=false")
+                .run()) {
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+            BeerService beerService = context.getBean(BeerService.class);
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < BEERS; i++) {
+                ids.add(beerService.createBeer(BeerDTO.builder()
+                        .name("Benchmark " + start + "-" + i)
+                        .brand("Brand " + i % 10)
+                        .max(500)
+                        .quantity(100)
+                        .type(BeerType.values()[i % BeerType.values().length])
+                        .build()).getId());
+            }
+
+            // aquecimento
+            stockOperations(beerService, ids, OPERATIONS_PER_THREAD / 4, new Failures());
+
+            Failures failures = new Failures();
+            long opsStart = System.nanoTime();
+            int succeeded = stockOperations(beerService, ids, OPERATIONS_PER_THREAD, failures);
+            double seconds = (System.nanoTime() - opsStart) / 1e9;
+            // só operações concluídas entram no throughput; as falhas são reportadas à parte
+            return new Result(startupMillis, succeeded / seconds, failures);
+        }
+    }
+
+    /**
+     * @return quantidade de operações concluídas com sucesso
+     */
+    private int stockOperations(BeerService beerService, List<Long> ids, int operationsPerThread,
+                                Failures failures) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    int succeeded = 0;
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        Long id = ids.get((thread * operationsPerThread + i) % ids.size());
+                        try {
+                            if (i % 2 == 0) {
+                                beerService.increment(id, 1);
+                            } else {
+                                beerService.decrement(id, 1);
+                            }
+                            succeeded++;
+                        } catch (Exception e) {
+                            failures.record(e);
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> future : futures) {
+                succeeded += future.get();
+            }
+            return succeeded;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private record Result(long startupMillis, double opsPerSecond, Failures failures) {
+    }
+
+    /**
+     * Falhas por tipo de exceção (ex: estoque insuficiente, conflitos de versão esgotados).
+     */
+    private static final class Failures {
+        private final Map<String, LongAdder> byType = new ConcurrentHashMap<>();
+
+        void record(Exception e) {
+            byType.computeIfAbsent(e.getClass().getSimpleName(), type -> new LongAdder()).increment();
+        }
+
+        long total() {
+            return byType.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        Map<String, Long> byType() {
+            return byType.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        }
+    }
+}
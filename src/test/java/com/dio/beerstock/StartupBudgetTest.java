@@ -0,0 +1,73 @@
+package com.dio.beerstock;
+
+import com.dio.beerstock.config.StartupProfilingConfig;
+import com.dio.beerstock.service.StockLedgerService;
+import com.dio.beerstock.startup.StartupRankingWebExtension;
+import com.dio.beerstock.startup.StartupRankingWebExtension.RankedStep;
+import com.dio.beerstock.startup.StartupRankingWebExtension.StartupRanking;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Orçamento de tempo de inicialização no perfil {@code startup}. O limite pode ser
+ * ajustado com {@code -Dbeerstock.startup.budget-ms=...} em máquinas mais lentas.
+ */
+class StartupBudgetTest {
+
+    private static final long BUDGET_MS = Long.getLong("beerstock.startup.budget-ms", 30_000);
+
+    // ✅ Teste: A aplicação sobe dentro do orçamento e expõe o ranking dos passos de inicialização
+    @Test
+    void whenStartupProfileIsActiveThenBootStaysWithinBudgetAndStepsAreRanked() {
+        // when
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles(StartupProfilingConfig.PROFILE)
+                .listeners(StartupProfilingConfig.applicationStartupListener())
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.com.dio.beerstock=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run()) {
+            long bootMs = (System.nanoTime() - start) / 1_000_000;
+
+            // then
+            assertThat(bootMs).as("boot time (ms)").isLessThanOrEqualTo(BUDGET_MS);
+            assertThat(context.getBeanFactory().getBeanDefinition("beerController").isLazyInit()).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("beerController")).isFalse();
+            assertThat(context.getBeanNamesForType(StockLedgerService.class))
+                    .allMatch(name -> context.getBeanFactory().containsSingleton(name));
+
+            StartupRanking ranking = context.getBean(StartupRankingWebExtension.class).startupRanking(null);
+            assertThat(ranking.totalMs()).isPositive();
+            assertThat(ranking.ranking())
+                    .hasSizeLessThanOrEqualTo(20)
+                    .isSortedAccordingTo((a, b) -> Long.compare(b.selfMs(), a.selfMs()));
+            assertThat(StartupRankingWebExtension.rank(
+                    context.getBean(BufferingApplicationStartup.class)
+                            .getBufferedTimeline(), Integer.MAX_VALUE).ranking())
+                    .extracting(RankedStep::tags)
+                    .anyMatch(tags -> "&entityManagerFactory".equals(tags.get("beanName")));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RestTemplate restTemplate = new RestTemplateBuilder().build();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> body = restTemplate.getForObject(
+                    "http://localhost:" + port + "/actuator/startup?limit=5", Map.class);
+            assertThat(body).containsKeys("totalMs", "ranking");
+            assertThat((List<?>) body.get("ranking")).hasSize(5);
+        }
+    }
+}
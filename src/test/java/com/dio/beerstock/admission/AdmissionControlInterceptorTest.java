@@ -0,0 +1,202 @@
+package com.dio.beerstock.admission;
+
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.controller.BeerController;
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.GlobalExceptionHandler;
+import com.dio.beerstock.replication.ReplicationState;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlInterceptorTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final long VALID_BEER_ID = 1L;
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private StockCommandGateway stockCommandGateway;
+
+    @Mock
+    private ObjectProvider<ReplicationState> replicationState;
+
+    private final BeerDTO validBeerDTO = BeerDTO.builder()
+            .id(VALID_BEER_ID)
+            .name("Heineken")
+            .brand("Heineken")
+            .max(50)
+            .quantity(10)
+            .type(BeerType.LAGER)
+            .build();
+
+    @Test
+    void whenClientExceedsItsRateThenTooManyRequestsIsReturned() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(2, 100, 5, 5));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(decrement("10.0.0.1")).andExpect(status().isOk());
+        }
+        mockMvc.perform(decrement("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error", is("Too Many Requests")));
+        mockMvc.perform(decrement("10.0.0.2")).andExpect(status().isOk());
+
+        verify(stockCommandGateway, times(3)).decrement(VALID_BEER_ID, 1);
+    }
+
+    @Test
+    void whenGlobalRateIsExceededThenAllClientsAreLimited() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(100, 2, 5, 5));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
+
+        // When & Then
+        mockMvc.perform(decrement("10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(decrement("10.0.0.2")).andExpect(status().isOk());
+        mockMvc.perform(decrement("10.0.0.3")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void whenClientRotatesItsIdHeaderThenItIsStillLimitedByAddress() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(1, 100, 5, 5));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
+
+        // When & Then
+        mockMvc.perform(decrement("10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
+                        .param("quantityToDecrement", "1")
+                        .header("X-Client-Id", "another-id")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void whenGlobalRateRejectsThenClientTokenIsRefunded() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(1, 1, 5, 5));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
+        mockMvc.perform(decrement("10.0.0.1")).andExpect(status().isOk());
+
+        // When & Then: o segundo cliente é recusado pelo balde global, não pelo próprio
+        mockMvc.perform(decrement("10.0.0.2"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(decrement("10.0.0.2"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message", containsString("global")));
+    }
+
+    @Test
+    void whenTooManyClientsAreTrackedThenNewOnesShareOneBucket() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(1, 1, 100, 0, 5));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
+        mockMvc.perform(decrement("10.0.0.1")).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(decrement("10.0.0.2")).andExpect(status().isOk());
+        mockMvc.perform(decrement("10.0.0.3")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void whenReadsAreRateLimitedThenTheyAreStillServed() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(1, 1, 5, 5));
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 0));
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void whenWriteBulkheadIsFullThenReadsAreStillAdmitted() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(interceptor(100, 100, 1, 1));
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1)).thenAnswer(invocation -> {
+            writeStarted.countDown();
+            releaseWrite.await();
+            return CompletableFuture.completedFuture(validBeerDTO);
+        });
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 0));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> mockMvc.perform(decrement("10.0.0.1")));
+            writeStarted.await(5, TimeUnit.SECONDS);
+
+            // When & Then
+            mockMvc.perform(decrement("10.0.0.2"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+            mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)).andExpect(status().isOk());
+        } finally {
+            releaseWrite.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // === Métodos auxiliares ===
+    private AdmissionControlInterceptor interceptor(int clientBurst, int globalBurst, int reads, int writes) {
+        return interceptor(clientBurst, 100, globalBurst, reads, writes);
+    }
+
+    private AdmissionControlInterceptor interceptor(int clientBurst, int maxTrackedClients, int globalBurst,
+                                                    int reads, int writes) {
+        return new AdmissionControlInterceptor(1, clientBurst, maxTrackedClients, 1, globalBurst, reads, writes, 0,
+                new SimpleMeterRegistry());
+    }
+
+    private MockMvc mockMvc(AdmissionControlInterceptor interceptor) {
+        return MockMvcBuilders.standaloneSetup(new BeerController(beerService, stockCommandGateway, replicationState))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    private RequestBuilder decrement(String remoteAddr) {
+        return patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
+                .param("quantityToDecrement", "1")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package com.dio.beerstock.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+    // ✅ Teste: Rajada até a capacidade é aceita
+    @Test
+    void whenBurstIsWithinCapacityThenAllPermitsAreGranted() {
+        // then
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+    }
+
+    // ❌ Teste: Acima da capacidade, informa quanto esperar
+    @Test
+    void whenBucketIsEmptyThenWaitTimeIsReturned() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+
+        // when
+        long waitNanos = bucket.tryAcquire();
+
+        // then
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    // ✅ Teste: Permissões voltam na taxa configurada
+    @Test
+    void whenTimePassesThenPermitsAreRefilled() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+        assertThat(bucket.isIdle()).isFalse();
+
+        // when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // then
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bucket.isIdle()).isTrue();
+    }
+
+    // ✅ Teste: Permissão devolvida pode ser usada de novo
+    @Test
+    void whenPermitIsRefundedThenItCanBeAcquiredAgain() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+
+        // when
+        bucket.refund();
+
+        // then
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+}
@@ -0,0 +1,73 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.repository.BeerRepository;
+import com.dio.beerstock.repository.JpaBeerStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureJdbc
+@Import({CatalogSnapshotService.class, JpaBeerStore.class})
+class CatalogSnapshotServiceTest {
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    // ✅ Teste: O snapshot é lido do banco e só é refeito quando o catálogo no banco muda
+    @Test
+    void whenCatalogChangesInTheDatabaseThenSnapshotIsReloaded() {
+        // given
+        save("Brahma", "Ambev", 100, 40, BeerType.LAGER);
+        Beer indica = save("Colorado Indica", "Colorado", 50, 10, BeerType.IPA);
+
+        // when
+        CatalogSnapshot first = catalogSnapshotService.snapshot();
+        catalogSnapshotService.refresh();
+
+        // then
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(catalogSnapshotService.snapshot()).isSameAs(first);
+
+        // when
+        save("Bohemia", "Ambev", 80, 20, BeerType.PILSNER);
+        catalogSnapshotService.refresh();
+
+        // then
+        CatalogSnapshot second = catalogSnapshotService.snapshot();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.size()).isEqualTo(3);
+        assertThat(second.brandCount()).isEqualTo(2);
+        assertThat(second.brandRanking(1).get(0).getQuantity()).isEqualTo(60L);
+
+        // when
+        indica.setQuality(45);
+        beerRepository.saveAndFlush(indica);
+        catalogSnapshotService.refresh();
+
+        // then
+        CatalogSnapshot third = catalogSnapshotService.snapshot();
+        assertThat(third).isNotSameAs(second);
+        assertThat(third.brandRanking(2).get(1).getQuantity()).isEqualTo(45L);
+    }
+
+    // === Métodos auxiliares ===
+    private Beer save(String name, String brand, int max, int quantity, BeerType type) {
+        return beerRepository.saveAndFlush(Beer.builder()
+                .name(name)
+                .brand(brand)
+                .max(max)
+                .quality(quantity)
+                .type(type)
+                .build());
+    }
+}
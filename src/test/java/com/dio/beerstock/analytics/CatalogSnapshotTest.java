@@ -0,0 +1,101 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.BrandStockDTO;
+import com.dio.beerstock.dto.FillRatioBucketDTO;
+import com.dio.beerstock.dto.TypeStockDTO;
+import com.dio.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final Instant TAKEN_AT = Instant.parse("2024-01-01T10:00:00Z");
+
+    // ✅ Teste: Estoque e capacidade somados por tipo, ignorando tipos ausentes
+    @Test
+    void whenStockByTypeIsComputedThenTotalsAreGroupedByType() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.builder()
+                .add("Ambev", 100, 10, BeerType.LAGER)
+                .add("Heineken", 50, 20, BeerType.LAGER)
+                .add("Ambev", 30, 30, BeerType.IPA)
+                .build("v1", TAKEN_AT);
+
+        // when
+        List<TypeStockDTO> stock = snapshot.stockByType();
+
+        // then
+        assertThat(stock).containsExactly(
+                new TypeStockDTO(BeerType.LAGER, 2, 30L, 150L),
+                new TypeStockDTO(BeerType.IPA, 1, 30L, 30L));
+    }
+
+    // ✅ Teste: Marcas codificadas em dicionário e ordenadas pelo estoque total
+    @Test
+    void whenBrandRankingIsComputedThenBrandsAreSortedByQuantity() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.builder()
+                .add("Ambev", 100, 10, BeerType.LAGER)
+                .add("Heineken", 100, 50, BeerType.LAGER)
+                .add("Ambev", 100, 15, BeerType.STOUT)
+                .add("Colorado", 100, 25, BeerType.IPA)
+                .build("v1", TAKEN_AT);
+
+        // when
+        List<BrandStockDTO> ranking = snapshot.brandRanking(10);
+
+        // then
+        assertThat(snapshot.brandCount()).isEqualTo(3);
+        assertThat(ranking).containsExactly(
+                new BrandStockDTO("Heineken", 1, 50L),
+                new BrandStockDTO("Ambev", 2, 25L),
+                new BrandStockDTO("Colorado", 1, 25L));
+        assertThat(snapshot.brandRanking(1)).hasSize(1);
+    }
+
+    // ✅ Teste: Histograma de ocupação com a cerveja cheia na última faixa
+    @Test
+    void whenFillRatioHistogramIsComputedThenBeersFallIntoTheirBuckets() {
+        // given
+        CatalogSnapshot snapshot = CatalogSnapshot.builder()
+                .add("A", 100, 0, BeerType.LAGER)
+                .add("A", 100, 24, BeerType.LAGER)
+                .add("A", 100, 50, BeerType.LAGER)
+                .add("A", 100, 100, BeerType.LAGER)
+                .build("v1", TAKEN_AT);
+
+        // when
+        List<FillRatioBucketDTO> histogram = snapshot.fillRatioHistogram(4);
+
+        // then
+        assertThat(histogram).extracting(FillRatioBucketDTO::getBeers).containsExactly(2, 0, 1, 1);
+        assertThat(histogram.get(3).getFrom()).isEqualTo(0.75);
+        assertThat(histogram.get(3).getTo()).isEqualTo(1.0);
+    }
+
+    // ✅ Teste: Colunas crescem além da capacidade inicial e as agregações paralelas batem com as sequenciais
+    @Test
+    void whenSnapshotIsLargeThenParallelAggregationsMatchExpectedTotals() {
+        // given
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+        int beers = 50_000;
+        IntStream.range(0, beers).forEach(i ->
+                builder.add("Brand " + i % 7, 100, i % 101, BeerType.values()[i % BeerType.values().length]));
+        CatalogSnapshot snapshot = builder.build("v1", TAKEN_AT);
+
+        // when
+        long total = snapshot.stockByType().stream().mapToLong(TypeStockDTO::getQuantity).sum();
+        int histogramBeers = snapshot.fillRatioHistogram(10).stream().mapToInt(FillRatioBucketDTO::getBeers).sum();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(beers);
+        assertThat(total).isEqualTo(IntStream.range(0, beers).mapToLong(i -> i % 101).sum());
+        assertThat(histogramBeers).isEqualTo(beers);
+        assertThat(snapshot.brandRanking(100)).hasSize(7);
+    }
+}
@@ -0,0 +1,160 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.ReorderSuggestionDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReorderSuggestionServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final ReorderSuggestionService service = new ReorderSuggestionService(7, 3, 14);
+
+    // ✅ Teste: Consumo constante estima taxa diária, dias até acabar e pedido para 17 dias
+    @Test
+    void whenConsumptionIsSteadyThenSuggestionCoversTheHorizon() {
+        // given
+        record(1L, BeerEventType.CREATED, 100, 100, 0, 0);
+        for (int day = 0; day < 30; day++) {
+            record(1L, BeerEventType.DECREMENTED, 100, 100 - 3 * (day + 1), -3, days(day));
+        }
+
+        // when
+        ReorderSuggestionDTO suggestion = single(service.suggestions(10, T0.plus(Duration.ofDays(30))));
+
+        // then
+        assertThat(suggestion.getDailyConsumption()).isCloseTo(3.0, within(0.3));
+        assertThat(suggestion.getQuantity()).isEqualTo(10);
+        assertThat(suggestion.getDaysUntilStockOut()).isCloseTo(10 / suggestion.getDailyConsumption(), within(1e-9));
+        assertThat(suggestion.getSuggestedQuantity())
+                .isEqualTo((int) Math.ceil(suggestion.getDailyConsumption() * 17) - 10);
+    }
+
+    // ✅ Teste: Pedido sugerido nunca passa do máximo da cerveja
+    @Test
+    void whenDemandExceedsCapacityThenSuggestionIsCappedByMax() {
+        // given
+        record(1L, BeerEventType.CREATED, 100, 100, 0, 0);
+        for (int day = 0; day < 4; day++) {
+            record(1L, BeerEventType.INCREMENTED, 100, 100, 20, days(day));
+            record(1L, BeerEventType.DECREMENTED, 100, 20, -80, days(day) + 1);
+        }
+
+        // when
+        ReorderSuggestionDTO suggestion = single(service.suggestions(10, T0.plus(Duration.ofDays(4))));
+
+        // then
+        assertThat(suggestion.getSuggestedQuantity()).isEqualTo(80);
+    }
+
+    // ✅ Teste: A primeira venda não vira uma taxa maior que a de um dia
+    @Test
+    void whenOnlyOneSaleWasSeenThenRateIsSpreadOverAtLeastOneDay() {
+        // given
+        record(1L, BeerEventType.CREATED, 100, 10, 0, 0);
+        record(1L, BeerEventType.DECREMENTED, 100, 5, -5, 60);
+
+        // when
+        ReorderSuggestionDTO suggestion = single(service.suggestions(10, T0.plusSeconds(120)));
+
+        // then
+        assertThat(suggestion.getDailyConsumption()).isCloseTo(5.0, within(0.5));
+    }
+
+    // ✅ Teste: Sem consumo ou com estoque suficiente não há sugestão
+    @Test
+    void whenThereIsNoDemandOrStockIsEnoughThenNothingIsSuggested() {
+        // given
+        record(1L, BeerEventType.CREATED, 100, 10, 0, 0);
+        record(1L, BeerEventType.INCREMENTED, 100, 15, 5, days(1));
+        record(2L, BeerEventType.CREATED, 500, 400, 0, 0);
+        record(2L, BeerEventType.DECREMENTED, 500, 399, -1, days(1));
+
+        // then
+        assertThat(service.suggestions(10, T0.plus(Duration.ofDays(2)))).isEmpty();
+    }
+
+    // ✅ Teste: Sugestões ordenadas pelos dias até acabar; cerveja removida sai da lista
+    @Test
+    void whenSeveralBeersNeedRestockThenTheyAreSortedByDaysUntilStockOut() {
+        // given
+        record(1L, BeerEventType.CREATED, 100, 50, 0, 0);
+        record(1L, BeerEventType.DECREMENTED, 100, 40, -10, days(1));
+        record(2L, BeerEventType.CREATED, 100, 50, 0, 0);
+        record(2L, BeerEventType.DECREMENTED, 100, 10, -40, days(1));
+        record(3L, BeerEventType.CREATED, 100, 50, 0, 0);
+        record(3L, BeerEventType.DECREMENTED, 100, 20, -30, days(1));
+
+        // when
+        record(3L, BeerEventType.DELETED, 100, 20, -20, days(1) + 10);
+        List<ReorderSuggestionDTO> suggestions = service.suggestions(10, T0.plus(Duration.ofDays(2)));
+
+        // then
+        assertThat(suggestions).extracting(ReorderSuggestionDTO::getBeerId).containsExactly(2L, 1L);
+        assertThat(service.suggestions(1, T0.plus(Duration.ofDays(2))))
+                .extracting(ReorderSuggestionDTO::getBeerId).containsExactly(2L);
+    }
+
+    // ✅ Teste: O índice ordenado devolve as mesmas primeiras cervejas que ordenar todas
+    @Test
+    void whenManyBeersAreTrackedThenIndexedTopMatchesFullSort() {
+        // given
+        Random random = new Random(42);
+        for (long beerId = 1; beerId <= 200; beerId++) {
+            int startDay = random.nextInt(20);
+            record(beerId, BeerEventType.CREATED, 500, 100, 0, days(startDay));
+            int quantity = 100;
+            for (int day = startDay; day < 20; day++) {
+                int sold = random.nextInt(Math.min(quantity, 10) + 1);
+                quantity -= sold;
+                record(beerId, BeerEventType.DECREMENTED, 500, quantity, -sold, days(day) + random.nextInt(3600));
+            }
+        }
+        Instant now = T0.plus(Duration.ofDays(21));
+        List<ReorderSuggestionDTO> all = service.suggestions(Integer.MAX_VALUE, now);
+
+        // when
+        List<ReorderSuggestionDTO> top = service.suggestions(10, now);
+
+        // then
+        assertThat(all).hasSizeGreaterThan(10)
+                .isSortedAccordingTo(Comparator.comparing(ReorderSuggestionDTO::getDaysUntilStockOut));
+        assertThat(top).extracting(ReorderSuggestionDTO::getDaysUntilStockOut)
+                .containsExactlyElementsOf(all.subList(0, 10).stream()
+                        .map(ReorderSuggestionDTO::getDaysUntilStockOut)
+                        .toList());
+    }
+
+    // === Métodos auxiliares ===
+    private void record(long beerId, BeerEventType type, int max, int quantity, int delta, long secondsAfterT0) {
+        BeerDTO beer = BeerDTO.builder()
+                .id(beerId)
+                .name("Brahma")
+                .brand("Ambev")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+        service.onBeerChanged(new BeerChangedEvent(type, beer, null, delta, 0, T0.plusSeconds(secondsAfterT0)));
+    }
+
+    private static long days(int days) {
+        return Duration.ofDays(days).toSeconds();
+    }
+
+    private static ReorderSuggestionDTO single(List<ReorderSuggestionDTO> suggestions) {
+        assertThat(suggestions).hasSize(1);
+        return suggestions.get(0);
+    }
+}
@@ -0,0 +1,201 @@
+package com.dio.beerstock.analytics;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.StockSeriesPointDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.enums.SeriesResolution;
+import com.dio.beerstock.event.BeerChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StockTimeSeriesServiceTest {
+
+    private static final long BEER_ID = 1L;
+    private static final Instant T0 = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final StockTimeSeriesService service = new StockTimeSeriesService(3, 2);
+
+    // ✅ Teste: Alterações na mesma faixa viram min/max/último
+    @Test
+    void whenChangesFallInTheSameMinuteThenTheyAreRolledUp() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 25, 10);
+        record(BeerEventType.DECREMENTED, 5, 20);
+        record(BeerEventType.INCREMENTED, 8, 30);
+
+        // when
+        List<StockSeriesPointDTO> points = points(SeriesResolution.MINUTE);
+
+        // then
+        assertThat(points).containsExactly(point(0, 5, 25, 8));
+    }
+
+    // ✅ Teste: Faixa nova herda o nível da anterior e o buffer descarta as mais antigas
+    @Test
+    void whenRingIsFullThenOldestBucketsAreOverwritten() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 20, 60);
+        record(BeerEventType.DECREMENTED, 15, 120);
+        record(BeerEventType.DECREMENTED, 12, 180);
+
+        // when
+        List<StockSeriesPointDTO> points = points(SeriesResolution.MINUTE);
+
+        // then
+        assertThat(points).containsExactly(
+                point(60, 10, 20, 20),
+                point(120, 15, 20, 15),
+                point(180, 12, 15, 12));
+    }
+
+    // ✅ Teste: Buffer cresce sob demanda até a capacidade e mantém a ordem ao dar a volta
+    @Test
+    void whenRingGrowsPastInitialSizeThenBucketsStayInOrder() {
+        // given
+        StockTimeSeriesService wideService = new StockTimeSeriesService(10, 2);
+        for (int minute = 0; minute < 12; minute++) {
+            wideService.onBeerChanged(event(BeerEventType.INCREMENTED, minute, minute * 60L));
+        }
+
+        // when
+        List<StockSeriesPointDTO> points = wideService.series(BEER_ID, SeriesResolution.MINUTE).getPoints();
+
+        // then
+        assertThat(points).hasSize(10);
+        assertThat(points).extracting(StockSeriesPointDTO::getLast)
+                .containsExactly(2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    // ✅ Teste: Evento atrasado atualiza a faixa dele sem mudar o último nível
+    @Test
+    void whenEventArrivesLateThenItsBucketIsUpdated() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 20, 50);
+        record(BeerEventType.DECREMENTED, 18, 70);
+
+        // when
+        record(BeerEventType.DECREMENTED, 4, 40);
+
+        // then
+        assertThat(points(SeriesResolution.MINUTE)).containsExactly(
+                point(0, 4, 20, 20),
+                point(60, 18, 20, 18));
+    }
+
+    // ✅ Teste: Evento atrasado de uma faixa não gravada entra em ordem e corrige a faixa seguinte
+    @Test
+    void whenEventArrivesLateForAMissingBucketThenBucketIsInsertedInOrder() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 20, 150);
+
+        // when
+        record(BeerEventType.DECREMENTED, 5, 70);
+
+        // then
+        assertThat(points(SeriesResolution.MINUTE)).containsExactly(
+                point(0, 10, 10, 10),
+                point(60, 5, 10, 5),
+                point(120, 5, 20, 20));
+    }
+
+    // ✅ Teste: Evento atrasado que vira o último nível da faixa corrige o nível herdado pela seguinte
+    @Test
+    void whenLateEventBecomesLastOfItsBucketThenNextBucketInheritsIt() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 30, 60);
+
+        // when
+        record(BeerEventType.DECREMENTED, 2, 50);
+
+        // then
+        assertThat(points(SeriesResolution.MINUTE)).containsExactly(
+                point(0, 2, 10, 2),
+                point(60, 2, 30, 30));
+    }
+
+    // ✅ Teste: Com o buffer cheio, a faixa atrasada inserida descarta a mais antiga
+    @Test
+    void whenRingIsFullAndLateBucketIsInsertedThenOldestIsDropped() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 20, 120);
+        record(BeerEventType.DECREMENTED, 15, 180);
+
+        // when
+        record(BeerEventType.DECREMENTED, 4, 70);
+        record(BeerEventType.DECREMENTED, 1, -60);
+
+        // then
+        assertThat(points(SeriesResolution.MINUTE)).containsExactly(
+                point(60, 4, 10, 4),
+                point(120, 4, 20, 20),
+                point(180, 15, 20, 15));
+    }
+
+    // ✅ Teste: Resolução por hora agrega todas as alterações da hora
+    @Test
+    void whenHourResolutionIsRequestedThenMinutesAreRolledUp() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 30, 600);
+        record(BeerEventType.DECREMENTED, 2, 1800);
+        record(BeerEventType.INCREMENTED, 7, 3600);
+
+        // when
+        List<StockSeriesPointDTO> points = points(SeriesResolution.HOUR);
+
+        // then
+        assertThat(points).containsExactly(
+                point(0, 2, 30, 2),
+                point(3600, 2, 7, 7));
+    }
+
+    // ✅ Teste: Remoção da cerveja descarta a série
+    @Test
+    void whenBeerIsDeletedThenSeriesIsDiscarded() {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+
+        // when
+        record(BeerEventType.DELETED, 10, 10);
+
+        // then
+        assertThat(points(SeriesResolution.MINUTE)).isEmpty();
+        assertThat(points(SeriesResolution.HOUR)).isEmpty();
+    }
+
+    // === Métodos auxiliares ===
+    private void record(BeerEventType type, int quantity, long secondsAfterT0) {
+        service.onBeerChanged(event(type, quantity, secondsAfterT0));
+    }
+
+    private BeerChangedEvent event(BeerEventType type, int quantity, long secondsAfterT0) {
+        BeerDTO beer = BeerDTO.builder()
+                .id(BEER_ID)
+                .name("Brahma")
+                .brand("Ambev")
+                .max(100)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+        return new BeerChangedEvent(type, beer, null, 0, 0, T0.plusSeconds(secondsAfterT0));
+    }
+
+    private List<StockSeriesPointDTO> points(SeriesResolution resolution) {
+        return service.series(BEER_ID, resolution).getPoints();
+    }
+
+    private StockSeriesPointDTO point(long secondsAfterT0, int min, int max, int last) {
+        return new StockSeriesPointDTO(T0.plusSeconds(secondsAfterT0), min, max, last);
+    }
+}
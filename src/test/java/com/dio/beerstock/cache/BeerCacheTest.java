@@ -0,0 +1,181 @@
+package com.dio.beerstock.cache;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeerCacheTest {
+
+    private static final long BEER_ID = 1L;
+
+    private final BeerCache beerCache = new BeerCache(true, 100, 60_000, new SimpleMeterRegistry());
+
+    // ✅ Teste: Cerveja guardada é devolvida como cópia
+    @Test
+    void whenBeerIsCachedThenACopyIsReturned() {
+        // given
+        BeerDTO beer = createBeer(10);
+        beerCache.put(beer, 1);
+
+        // when
+        BeerDTO cached = beerCache.get(BEER_ID).orElseThrow();
+        cached.setQuantity(99);
+
+        // then
+        assertThat(beerCache.get(BEER_ID)).get().extracting(BeerDTO::getQuantity).isEqualTo(10);
+    }
+
+    // ✅ Teste: Invalidação remove versões anteriores
+    @Test
+    void whenNewerVersionIsInvalidatedThenEntryIsEvicted() {
+        // given
+        beerCache.put(createBeer(10), 1);
+
+        // when
+        boolean applied = beerCache.invalidate(BEER_ID, 2);
+
+        // then
+        assertThat(applied).isTrue();
+        assertThat(beerCache.get(BEER_ID)).isEmpty();
+    }
+
+    // ❌ Teste: Invalidação atrasada não remove uma versão mais nova
+    @Test
+    void whenStaleInvalidationArrivesThenItIsIgnored() {
+        // given
+        beerCache.invalidate(BEER_ID, 3);
+        beerCache.put(createBeer(12), 3);
+
+        // when
+        boolean applied = beerCache.invalidate(BEER_ID, 2);
+
+        // then
+        assertThat(applied).isFalse();
+        assertThat(beerCache.get(BEER_ID)).isPresent();
+    }
+
+    // ❌ Teste: Leitura lenta de uma versão já invalidada não repovoa o cache
+    @Test
+    void whenInvalidatedVersionIsPutThenItIsDropped() {
+        // given
+        beerCache.invalidate(BEER_ID, 2);
+
+        // when
+        beerCache.put(createBeer(10), 1);
+
+        // then
+        assertThat(beerCache.get(BEER_ID)).isEmpty();
+    }
+
+    // ❌ Teste: Cerveja removida nunca volta ao cache
+    @Test
+    void whenBeerIsDeletedThenItIsNeverCachedAgain() {
+        // given
+        beerCache.put(createBeer(10), 5);
+
+        // when
+        beerCache.invalidate(BEER_ID, BeerCache.DELETED);
+        beerCache.put(createBeer(10), 5);
+
+        // then
+        assertThat(beerCache.get(BEER_ID)).isEmpty();
+    }
+
+    // ✅ Teste: Cache desabilitado não guarda nada
+    @Test
+    void whenCacheIsDisabledThenNothingIsCached() {
+        // given
+        BeerCache disabled = new BeerCache(false, 100, 60_000, new SimpleMeterRegistry());
+
+        // when
+        disabled.put(createBeer(10), 1);
+
+        // then
+        assertThat(disabled.get(BEER_ID)).isEmpty();
+    }
+
+    // ❌ Teste: Entrada anterior à versão mínima é tratada como ausente
+    @Test
+    void whenCachedVersionIsBelowMinimumThenItIsAMiss() {
+        // given
+        beerCache.put(createBeer(10), 3);
+
+        // then
+        assertThat(beerCache.get(BEER_ID, 4)).isEmpty();
+        assertThat(beerCache.get(BEER_ID, 3)).isPresent();
+    }
+
+    // ✅ Teste: Cache cheio abre espaço para a cerveja nova
+    @Test
+    void whenCacheIsFullThenAnEntryIsEvicted() {
+        // given
+        BeerCache small = new BeerCache(true, 2, 60_000, new SimpleMeterRegistry());
+        small.put(createBeer(1L, 10), 1);
+        small.put(createBeer(2L, 10), 1);
+
+        // when
+        small.put(createBeer(3L, 10), 1);
+
+        // then
+        assertThat(small.get(3L)).isPresent();
+        assertThat(small.get(1L).isPresent() && small.get(2L).isPresent()).isFalse();
+    }
+
+    // ✅ Teste: A amostra de remoção começa em pontos sorteados, não sempre no início da tabela
+    @Test
+    void whenManyEntriesAreEvictedThenVictimsComeFromTheWholeTable() {
+        // given
+        BeerCache large = new BeerCache(true, 1000, 60_000, new SimpleMeterRegistry());
+        for (long id = 1; id <= 1000; id++) {
+            large.put(createBeer(id, 10), 1);
+        }
+
+        // when
+        for (long id = 1001; id <= 1300; id++) {
+            large.put(createBeer(id, 10), 1);
+        }
+
+        // then
+        long evictedInUpperHalf = LongStream.rangeClosed(501, 1000)
+                .filter(id -> large.get(id).isEmpty())
+                .count();
+        assertThat(evictedInUpperHalf).isPositive();
+    }
+
+    // ✅ Teste: Pisos mais velhos que o TTL são descartados
+    @Test
+    void whenFloorsOutliveTheTtlThenTheyArePruned() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BeerCache shortLived = new BeerCache(true, 100, 0, meterRegistry);
+        shortLived.invalidate(BEER_ID, 2);
+        assertThat(meterRegistry.get("beerstock.cache.floors").gauge().value()).isEqualTo(1);
+
+        // when
+        shortLived.pruneFloors();
+
+        // then
+        assertThat(meterRegistry.get("beerstock.cache.floors").gauge().value()).isZero();
+    }
+
+    // === Métodos auxiliares ===
+    private BeerDTO createBeer(int quantity) {
+        return createBeer(BEER_ID, quantity);
+    }
+
+    private BeerDTO createBeer(long id, int quantity) {
+        return BeerDTO.builder()
+                .id(id)
+                .name("Brahma")
+                .brand("Ambev")
+                .max(100)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+    }
+}
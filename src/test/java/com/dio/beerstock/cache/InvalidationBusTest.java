@@ -0,0 +1,174 @@
+package com.dio.beerstock.cache;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.service.CatalogVersionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InvalidationBusTest {
+
+    private static final long BEER_ID = 1L;
+
+    private final List<InvalidationTransport> transports = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (InvalidationTransport transport : transports) {
+            transport.close();
+        }
+    }
+
+    // ✅ Teste: Alteração em um nó invalida o cache do outro
+    @Test
+    void whenBeerChangesOnOneNodeThenOtherNodeIsInvalidated() throws IOException {
+        // given
+        String group = UUID.randomUUID().toString();
+        BeerCache cacheA = newCache();
+        BeerCache cacheB = newCache();
+        InvalidationBus busA = newBus(cacheA, new LoopbackInvalidationTransport(group));
+        newBus(cacheB, new LoopbackInvalidationTransport(group));
+        cacheA.put(createBeer(), 1);
+        cacheB.put(createBeer(), 1);
+
+        // when
+        busA.onBeerChanged(BeerChangedEvent.of(BeerEventType.DECREMENTED, createBeer(), -1, 2));
+
+        // then
+        assertThat(cacheA.get(BEER_ID)).isEmpty();
+        assertThat(cacheB.get(BEER_ID)).isPresent();
+        busA.flush();
+        assertThat(cacheB.get(BEER_ID)).isEmpty();
+    }
+
+    // ✅ Teste: Alteração em outro nó também muda a ETag da listagem
+    @Test
+    void whenBeerChangesOnOneNodeThenOtherNodeCatalogTagChanges() throws IOException {
+        // given
+        String group = UUID.randomUUID().toString();
+        CatalogVersionTracker trackerA = new CatalogVersionTracker();
+        CatalogVersionTracker trackerB = new CatalogVersionTracker();
+        InvalidationBus busA = newBus(newCache(), trackerA, new LoopbackInvalidationTransport(group));
+        newBus(newCache(), trackerB, new LoopbackInvalidationTransport(group));
+        String tagA = trackerA.currentTag();
+        String tagB = trackerB.currentTag();
+
+        // when
+        busA.onBeerChanged(BeerChangedEvent.of(BeerEventType.DECREMENTED, createBeer(), -1, 2));
+        busA.flush();
+
+        // then
+        assertThat(trackerB.currentTag()).isNotEqualTo(tagB);
+        assertThat(trackerA.currentTag()).isEqualTo(tagA);
+    }
+
+    // ✅ Teste: Alterações da mesma cerveja viram uma única entrada, com a maior versão
+    @Test
+    void whenSameBeerChangesRepeatedlyThenOneEntryIsSent() throws IOException {
+        // given
+        List<ByteBuffer> sent = new ArrayList<>();
+        InvalidationBus bus = newBus(newCache(), new InvalidationTransport() {
+            @Override
+            public void start(Consumer<ByteBuffer> receiver) {
+            }
+
+            @Override
+            public void send(ByteBuffer message) {
+                sent.add(message);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        // when
+        for (long version = 2; version <= 5; version++) {
+            bus.onBeerChanged(BeerChangedEvent.of(BeerEventType.INCREMENTED, createBeer(), 1, version));
+        }
+        bus.flush();
+
+        // then
+        assertThat(sent).hasSize(1);
+        ByteBuffer message = sent.get(0);
+        assertThat(message.getInt()).isEqualTo(InvalidationBus.MAGIC);
+        message.getLong();
+        assertThat(message.getInt()).isEqualTo(1);
+        assertThat(message.getLong()).isEqualTo(BEER_ID);
+        assertThat(message.getLong()).isEqualTo(5);
+    }
+
+    // ✅ Teste: Datagramas multicast chegam a outro socket no mesmo host
+    @Test
+    void whenMulticastMessageIsSentThenOtherMemberReceivesIt() throws Exception {
+        // given
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        InetAddress group = InetAddress.getByName("239.255.42.99");
+        NetworkInterface loopback = NetworkInterface.getByName("lo");
+        MulticastInvalidationTransport sender = new MulticastInvalidationTransport(group, port, loopback, 1);
+        MulticastInvalidationTransport receiver = new MulticastInvalidationTransport(group, port, loopback, 1);
+        transports.add(sender);
+        transports.add(receiver);
+        BlockingQueue<Long> received = new LinkedBlockingQueue<>();
+        sender.start(message -> { });
+        receiver.start(message -> {
+            message.position(InvalidationBus.HEADER_BYTES);
+            received.add(message.getLong());
+        });
+
+        // when
+        sender.send(InvalidationBus.encode(42L, List.<long[]>of(new long[]{BEER_ID, 7})));
+
+        // then
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(BEER_ID);
+    }
+
+    // === Métodos auxiliares ===
+    private BeerCache newCache() {
+        return new BeerCache(true, 100, 60_000, new SimpleMeterRegistry());
+    }
+
+    private InvalidationBus newBus(BeerCache cache, InvalidationTransport transport) throws IOException {
+        return newBus(cache, new CatalogVersionTracker(), transport);
+    }
+
+    private InvalidationBus newBus(BeerCache cache, CatalogVersionTracker tracker, InvalidationTransport transport)
+            throws IOException {
+        transports.add(transport);
+        InvalidationBus bus = new InvalidationBus(cache, tracker, transport, 256, new SimpleMeterRegistry());
+        bus.start();
+        return bus;
+    }
+
+    private BeerDTO createBeer() {
+        return BeerDTO.builder()
+                .id(BEER_ID)
+                .name("Brahma")
+                .brand("Ambev")
+                .max(100)
+                .quantity(10)
+                .type(BeerType.LAGER)
+                .build();
+    }
+}
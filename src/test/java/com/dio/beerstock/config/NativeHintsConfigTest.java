@@ -0,0 +1,34 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    // ✅ Teste: Entidade, DTO, enum e exceções ficam acessíveis por reflexão na imagem nativa
+    @Test
+    void whenHintsAreRegisteredThenDomainTypesAreReflective() {
+        // given
+        RuntimeHints hints = new RuntimeHints();
+
+        // when
+        new NativeHintsConfig.BeerstockRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then
+        for (Class<?> type : new Class<?>[]{Beer.class, BeerDTO.class, BeerType.class, BeerNotFoundException.class}) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                    .as(type.getSimpleName())
+                    .accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/sharding/shard_schema.sql")).accepts(hints);
+    }
+}
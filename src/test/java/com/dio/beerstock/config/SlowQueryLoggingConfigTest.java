@@ -0,0 +1,33 @@
+package com.dio.beerstock.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SlowQueryLoggingConfigTest {
+
+    // ✅ Teste: Só o DataSource que abre conexões é envolvido; os que delegam ficam de fora
+    @Test
+    void whenDataSourceOnlyDelegatesThenItIsNotProxiedAgain() {
+        // given
+        BeanPostProcessor postProcessor = SlowQueryLoggingConfig.slowQueryDataSourceProxy(new MockEnvironment());
+        DataSource pool = new DriverManagerDataSource("jdbc:h2:mem:slow-query-test");
+
+        // when
+        Object primary = postProcessor.postProcessAfterInitialization(pool, "primaryDataSource");
+        Object routing = postProcessor.postProcessAfterInitialization(
+                new LazyConnectionDataSourceProxy((DataSource) primary), "dataSource");
+
+        // then
+        assertThat(primary).isInstanceOf(ProxyDataSource.class);
+        assertThat(routing).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(postProcessor.postProcessAfterInitialization(primary, "primaryDataSource")).isSameAs(primary);
+    }
+}
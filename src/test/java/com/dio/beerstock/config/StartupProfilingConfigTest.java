@@ -0,0 +1,54 @@
+package com.dio.beerstock.config;
+
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockLedgerService;
+import com.dio.beerstock.startup.StartupRankingWebExtension;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StartupProfilingConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupProfilingConfig.scheduledBeansExcludeFilter();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(StartupProfilingConfig.class)
+            .withPropertyValues("spring.profiles.active=" + StartupProfilingConfig.PROFILE,
+                    "management.endpoints.web.exposure.include=startup");
+
+    // ✅ Teste: Todo bean com métodos @Scheduled continua ansioso, sem lista mantida à mão
+    @Test
+    void whenBeanHasScheduledMethodsThenItIsExcludedFromLazyInit() {
+        // then
+        assertThat(filter.isExcluded("stockLedgerService", null, StockLedgerService.class)).isTrue();
+        assertThat(filter.isExcluded("beerCache", null, BeerCache.class)).isTrue();
+    }
+
+    // ❌ Teste: Beans sem agendamento continuam preguiçosos
+    @Test
+    void whenBeanHasNoScheduledMethodsThenItStaysLazy() {
+        // then
+        assertThat(filter.isExcluded("beerService", null, BeerService.class)).isFalse();
+        assertThat(filter.isExcluded("unknown", null, null)).isFalse();
+    }
+
+    // ✅ Teste: Com a gravação dos passos ativa, o ranking é exposto
+    @Test
+    void whenStartupIsBufferedThenRankingExtensionIsRegistered() {
+        contextRunner
+                .withInitializer(context -> context.setApplicationStartup(new BufferingApplicationStartup(100)))
+                .run(context -> assertThat(context).hasSingleBean(StartupRankingWebExtension.class));
+    }
+
+    // ❌ Teste: Perfil ativo sem o listener sobe normalmente, só sem o ranking
+    @Test
+    void whenProfileIsActiveWithoutBufferingThenContextStartsWithoutRanking() {
+        contextRunner.run(context -> assertThat(context)
+                .hasNotFailed()
+                .doesNotHaveBean(StartupRankingWebExtension.class));
+    }
+}
@@ -1,26 +1,38 @@
 package com.dio.beerstock.controller;
 
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.dto.BatchGetItemDTO;
+import com.dio.beerstock.dto.BatchGetRequestDTO;
 import com.dio.beerstock.dto.BeerDTO;
 import com.dio.beerstock.enums.BeerType;
 import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
 import com.dio.beerstock.exception.BeerNotFoundException;
 import com.dio.beerstock.exception.BeerStockExceededException;
 import com.dio.beerstock.exception.GlobalExceptionHandler;
+import com.dio.beerstock.replication.ReplicationState;
 import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,6 +52,12 @@ class BeerControllerTest {
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private StockCommandGateway stockCommandGateway;
+
+    @Mock
+    private ObjectProvider<ReplicationState> replicationState;
+
     @InjectMocks
     private BeerController beerController;
 
@@ -118,10 +136,32 @@ class BeerControllerTest {
         verify(beerService, times(1)).createBeer(validBeerDTO);
     }
 
+    @Test
+    void whenPOSTBatchGetIsCalledThenItemsAreReturnedInRequestOrder() throws Exception {
+        // Given
+        BatchGetRequestDTO request = BatchGetRequestDTO.builder()
+                .ids(List.of(INVALID_BEER_ID, VALID_BEER_ID))
+                .build();
+        when(beerService.batchGet(request.getIds(), null)).thenReturn(List.of(
+                BatchGetItemDTO.builder().id(INVALID_BEER_ID).found(false).build(),
+                BatchGetItemDTO.builder().id(VALID_BEER_ID).found(true).beer(validBeerDTO).build()));
+
+        // When & Then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/_batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is((int) INVALID_BEER_ID)))
+                .andExpect(jsonPath("$[0].found", is(false)))
+                .andExpect(jsonPath("$[0].beer").doesNotExist())
+                .andExpect(jsonPath("$[1].found", is(true)))
+                .andExpect(jsonPath("$[1].beer.name", is(validBeerDTO.getName())));
+    }
+
     @Test
     void whenGETIsCalledWithValidIdThenOkStatusIsReturned() throws Exception {
         // Given
-        when(beerService.findById(VALID_BEER_ID)).thenReturn(validBeerDTO);
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 3L));
 
         // When & Then
         mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)
@@ -131,13 +171,79 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.brand", is(validBeerDTO.getBrand())))
                 .andExpect(jsonPath("$.type", is(validBeerDTO.getType().name())));
 
-        verify(beerService, times(1)).findById(VALID_BEER_ID);
+        verify(beerService, times(1)).findVersionedById(VALID_BEER_ID);
+    }
+
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedIsReturned() throws Exception {
+        // Given
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 3L));
+
+        // When & Then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenReadsMayHitALaggingReplicaThenConditionalGETIsSkipped() throws Exception {
+        // Given
+        ReplicationState lagging = new ReplicationState(1000, new SimpleMeterRegistry());
+        lagging.replicatorStarted();
+        lagging.recordPrimaryWrite();
+        when(replicationState.getIfAvailable()).thenReturn(lagging);
+        MockMvc replicaMockMvc = MockMvcBuilders
+                .standaloneSetup(new BeerController(beerService, stockCommandGateway, replicationState))
+                .build();
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 3L));
+        when(beerService.listAll()).thenReturn(List.of(validBeerDTO));
+
+        // When & Then
+        replicaMockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.name", is(validBeerDTO.getName())));
+        replicaMockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void whenGETIsCalledWithStaleETagThenOkWithNewETagIsReturned() throws Exception {
+        // Given
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 4L));
+
+        // When & Then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-4\""))
+                .andExpect(jsonPath("$.name", is(validBeerDTO.getName())));
+    }
+
+    @Test
+    void whenGETIsCalledAcceptingCborThenCborBodyIsReturned() throws Exception {
+        // Given
+        when(beerService.findVersionedById(VALID_BEER_ID)).thenReturn(new BeerCache.Versioned(validBeerDTO, 3L));
+
+        // When
+        byte[] body = mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertThat(new CBORMapper().readValue(body, BeerDTO.class), is(validBeerDTO));
     }
 
     @Test
     void whenGETIsCalledWithInvalidIdThenNotFoundIsReturned() throws Exception {
         // Given
-        when(beerService.findById(INVALID_BEER_ID))
+        when(beerService.findVersionedById(INVALID_BEER_ID))
                 .thenThrow(new BeerNotFoundException(INVALID_BEER_ID));
 
         // When & Then
@@ -147,13 +253,13 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", is("Beer with id '" + INVALID_BEER_ID + "' not found.")));
 
-        verify(beerService, times(1)).findById(INVALID_BEER_ID);
+        verify(beerService, times(1)).findVersionedById(INVALID_BEER_ID);
     }
 
     @Test
     void whenGETIsCalledWithValidNameThenOkStatusIsReturned() throws Exception {
         // Given
-        when(beerService.findByName(VALID_BEER_NAME)).thenReturn(validBeerDTO);
+        when(beerService.findVersionedByName(VALID_BEER_NAME)).thenReturn(new BeerCache.Versioned(validBeerDTO, 3L));
 
         // When & Then
         mockMvc.perform(get(BEER_API_URL_PATH + "/name/" + VALID_BEER_NAME)
@@ -162,13 +268,13 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.name", is(validBeerDTO.getName())))
                 .andExpect(jsonPath("$.type", is(validBeerDTO.getType().name())));
 
-        verify(beerService, times(1)).findByName(VALID_BEER_NAME);
+        verify(beerService, times(1)).findVersionedByName(VALID_BEER_NAME);
     }
 
     @Test
     void whenGETIsCalledWithInvalidNameThenNotFoundIsReturned() throws Exception {
         // Given
-        when(beerService.findByName(INVALID_BEER_NAME))
+        when(beerService.findVersionedByName(INVALID_BEER_NAME))
                 .thenThrow(new BeerNotFoundException(INVALID_BEER_NAME));
 
         // When & Then
@@ -178,7 +284,7 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", is("Beer with name '" + INVALID_BEER_NAME + "' not found.")));
 
-        verify(beerService, times(1)).findByName(INVALID_BEER_NAME);
+        verify(beerService, times(1)).findVersionedByName(INVALID_BEER_NAME);
     }
 
     @Test
@@ -198,6 +304,19 @@ class BeerControllerTest {
         verify(beerService, times(1)).listAll();
     }
 
+    @Test
+    void whenGETListIsCalledWithCurrentCatalogETagThenNotModifiedIsReturned() throws Exception {
+        // Given
+        when(beerService.catalogVersionTag()).thenReturn("abc-42");
+
+        // When & Then
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc-42\""))
+                .andExpect(status().isNotModified());
+
+        verify(beerService, never()).listAll();
+    }
+
     @Test
     void whenGETListIsCalledThenEmptyListIsReturned() throws Exception {
         // Given
@@ -299,105 +418,123 @@ class BeerControllerTest {
     void whenPATCHIncrementIsCalledThenOkStatusIsReturned() throws Exception {
         // Given
         int quantityToIncrement = 10;
-        when(beerService.increment(VALID_BEER_ID, quantityToIncrement)).thenReturn(validBeerDTO);
+        when(stockCommandGateway.increment(VALID_BEER_ID, quantityToIncrement)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
                         .param("quantityToIncrement", String.valueOf(quantityToIncrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(validBeerDTO.getName())))
                 .andExpect(jsonPath("$.type", is(validBeerDTO.getType().name())));
 
-        verify(beerService, times(1)).increment(VALID_BEER_ID, quantityToIncrement);
+        verify(stockCommandGateway, times(1)).increment(VALID_BEER_ID, quantityToIncrement);
     }
 
     @Test
     void whenPATCHIncrementIsCalledWithInvalidIdThenNotFoundIsReturned() throws Exception {
         // Given
         int quantityToIncrement = 10;
-        when(beerService.increment(INVALID_BEER_ID, quantityToIncrement))
-                .thenThrow(new BeerNotFoundException(INVALID_BEER_ID));
+        when(stockCommandGateway.increment(INVALID_BEER_ID, quantityToIncrement))
+                .thenReturn(CompletableFuture.failedFuture(new BeerNotFoundException(INVALID_BEER_ID)));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + "/increment")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + "/increment")
                         .param("quantityToIncrement", String.valueOf(quantityToIncrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", is("Beer with id '" + INVALID_BEER_ID + "' not found.")));
 
-        verify(beerService, times(1)).increment(INVALID_BEER_ID, quantityToIncrement);
+        verify(stockCommandGateway, times(1)).increment(INVALID_BEER_ID, quantityToIncrement);
     }
 
     @Test
     void whenPATCHIncrementIsCalledWithExceededStockThenBadRequestIsReturned() throws Exception {
         // Given
         int quantityToIncrement = 100;
-        when(beerService.increment(VALID_BEER_ID, quantityToIncrement))
-                .thenThrow(new BeerStockExceededException((int) VALID_BEER_ID, quantityToIncrement));
+        when(stockCommandGateway.increment(VALID_BEER_ID, quantityToIncrement))
+                .thenReturn(CompletableFuture.failedFuture(new BeerStockExceededException((int) VALID_BEER_ID, quantityToIncrement)));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
                         .param("quantityToIncrement", String.valueOf(quantityToIncrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error", is("Bad Request")))
                 .andExpect(jsonPath("$.message", is("Quantity " + VALID_BEER_ID + " exceeds max stock of " + quantityToIncrement + ".")));
 
-        verify(beerService, times(1)).increment(VALID_BEER_ID, quantityToIncrement);
+        verify(stockCommandGateway, times(1)).increment(VALID_BEER_ID, quantityToIncrement);
     }
 
     @Test
     void whenPATCHDecrementIsCalledThenOkStatusIsReturned() throws Exception {
         // Given
         int quantityToDecrement = 5;
-        when(beerService.decrement(VALID_BEER_ID, quantityToDecrement)).thenReturn(validBeerDTO);
+        when(stockCommandGateway.decrement(VALID_BEER_ID, quantityToDecrement)).thenReturn(CompletableFuture.completedFuture(validBeerDTO));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
                         .param("quantityToDecrement", String.valueOf(quantityToDecrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(validBeerDTO.getName())))
                 .andExpect(jsonPath("$.type", is(validBeerDTO.getType().name())));
 
-        verify(beerService, times(1)).decrement(VALID_BEER_ID, quantityToDecrement);
+        verify(stockCommandGateway, times(1)).decrement(VALID_BEER_ID, quantityToDecrement);
     }
 
     @Test
     void whenPATCHDecrementIsCalledWithInvalidIdThenNotFoundIsReturned() throws Exception {
         // Given
         int quantityToDecrement = 5;
-        when(beerService.decrement(INVALID_BEER_ID, quantityToDecrement))
-                .thenThrow(new BeerNotFoundException(INVALID_BEER_ID));
+        when(stockCommandGateway.decrement(INVALID_BEER_ID, quantityToDecrement))
+                .thenReturn(CompletableFuture.failedFuture(new BeerNotFoundException(INVALID_BEER_ID)));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + "/decrement")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + INVALID_BEER_ID + "/decrement")
                         .param("quantityToDecrement", String.valueOf(quantityToDecrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", is("Beer with id '" + INVALID_BEER_ID + "' not found.")));
 
-        verify(beerService, times(1)).decrement(INVALID_BEER_ID, quantityToDecrement);
+        verify(stockCommandGateway, times(1)).decrement(INVALID_BEER_ID, quantityToDecrement);
     }
 
     @Test
     void whenPATCHDecrementIsCalledWithInsufficientStockThenBadRequestIsReturned() throws Exception {
         // Given
         int quantityToDecrement = 100;
-        when(beerService.decrement(VALID_BEER_ID, quantityToDecrement))
-                .thenThrow(new BeerStockExceededException((int) VALID_BEER_ID, quantityToDecrement));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, quantityToDecrement))
+                .thenReturn(CompletableFuture.failedFuture(new BeerStockExceededException((int) VALID_BEER_ID, quantityToDecrement)));
 
         // When & Then
-        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
+        MvcResult mvcResult = mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/decrement")
                         .param("quantityToDecrement", String.valueOf(quantityToDecrement))
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error", is("Bad Request")))
                 .andExpect(jsonPath("$.message", is("Quantity " + VALID_BEER_ID + " exceeds max stock of " + quantityToDecrement + ".")));
 
-        verify(beerService, times(1)).decrement(VALID_BEER_ID, quantityToDecrement);
+        verify(stockCommandGateway, times(1)).decrement(VALID_BEER_ID, quantityToDecrement);
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.dio.beerstock.dto;
+
+import com.dio.beerstock.enums.BeerType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamanho e custo de serialização do catálogo completo em JSON, CBOR e Smile,
+ * com e sem gzip.
+ * Executar com: mvn test -Pbenchmark -Dtest=BeerDTOSerializationBenchmarkTest
+ */
+@Tag("benchmark")
+class BeerDTOSerializationBenchmarkTest {
+
+    private static final int CATALOG_SIZE = 1_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    void compareCatalogFormats() throws IOException {
+        List<BeerDTO> catalog = new ArrayList<>();
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            catalog.add(BeerDTO.builder()
+                    .id(id)
+                    .name("Beer " + id)
+                    .brand("Brand " + id % 50)
+                    .max(500)
+                    .quantity((int) (id % 100))
+                    .type(BeerType.values()[(int) (id % BeerType.values().length)])
+                    .build());
+        }
+
+        report("json", new ObjectMapper(), catalog);
+        report("cbor", new CBORMapper(), catalog);
+        report("smile", new SmileMapper(), catalog);
+    }
+
+    private void report(String format, ObjectMapper mapper, List<BeerDTO> catalog) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(catalog);
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            mapper.writeValueAsBytes(catalog);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(catalog);
+        }
+        double serializeMicros = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(payload, BeerDTO[].class);
+        }
+        double deserializeMicros = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+
+        System.out.printf("%-6s %7d bytes | gzip %6d bytes | write %7.1f us | read %7.1f us%n",
+                format, payload.length, gzip(payload).length, serializeMicros, deserializeMicros);
+    }
+
+    private byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,219 @@
+package com.dio.beerstock.eventlog;
+
+import com.dio.beerstock.enums.BeerEventType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dio.beerstock.eventlog.BeerEventLogTest.changed;
+import static com.dio.beerstock.eventlog.BeerEventLogTest.created;
+import static com.dio.beerstock.eventlog.BeerEventLogTest.deleted;
+import static org.assertj.core.api.Assertions.*;
+
+class BeerEventLogServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ✅ Teste: Replay fica com o registro de maior versão de cada cerveja
+    @Test
+    void whenLogIsReplayedThenFinalStateShouldBeRebuilt() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            log.append(created(1L, "Brahma", 10));
+            log.append(created(2L, "Skol", 20));
+            log.append(created(3L, "Bohemia", 30));
+            log.append(changed(1L, BeerEventType.INCREMENTED, 5, 15, 1));
+            log.append(changed(2L, BeerEventType.DECREMENTED, -7, 13, 1));
+            log.append(changed(2L, BeerEventType.UPDATED, 27, 40, 2).toBuilder().name("Skol Puro Malte").build());
+            log.append(changed(2L, BeerEventType.DECREMENTED, -1, 39, 3).toBuilder().name("Skol Puro Malte").build());
+            log.append(deleted(3L, 0));
+        }
+
+        // when
+        Map<Long, BeerEventRecord> state = replay(path, 4);
+
+        // then
+        assertThat(state).containsOnlyKeys(1L, 2L);
+        assertThat(state.get(1L).getQuantity()).isEqualTo(15);
+        assertThat(state.get(2L).getName()).isEqualTo("Skol Puro Malte");
+        assertThat(state.get(2L).getQuantity()).isEqualTo(39);
+        assertThat(state.get(1L).getVersion()).isEqualTo(1);
+        assertThat(state.get(2L).getVersion()).isEqualTo(3);
+    }
+
+    // ✅ Teste: Registro gravado fora da ordem dos commits não sobrescreve versão mais nova
+    @Test
+    void whenRecordsAreAppendedOutOfOrderThenHighestVersionShouldWin() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            log.append(created(1L, "Brahma", 10));
+            log.append(changed(1L, BeerEventType.INCREMENTED, 5, 25, 2));
+            log.append(changed(1L, BeerEventType.UPDATED, 10, 20, 1));
+        }
+
+        // when
+        Map<Long, BeerEventRecord> state = replay(path, 1);
+
+        // then
+        assertThat(state.get(1L).getQuantity()).isEqualTo(25);
+        assertThat(state.get(1L).getVersion()).isEqualTo(2);
+    }
+
+    // ✅ Teste: CREATED de um id já usado inicia uma nova vida, mesmo com versão menor que a remoção
+    @Test
+    void whenIdIsCreatedAgainAfterDeleteThenNewLifeShouldWin() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            log.append(created(1L, "Brahma", 10));
+            log.append(changed(1L, BeerEventType.INCREMENTED, 5, 15, 1));
+            log.append(deleted(1L, 1));
+            log.append(created(1L, "Reborn", 3));
+        }
+
+        // when
+        Map<Long, BeerEventRecord> state = replay(path, 2);
+
+        // then
+        assertThat(state.get(1L).getName()).isEqualTo("Reborn");
+        assertThat(state.get(1L).getQuantity()).isEqualTo(3);
+    }
+
+    // ✅ Teste: Remoção, novo cadastro e reinício: o id removido não é reaproveitado e a nova cerveja volta
+    @Test
+    void whenBeerIsDeletedRecreatedAndRestartedThenIdsShouldNotBeReused() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            log.append(created(1L, "Brahma", 10));
+            log.append(created(2L, "Skol", 20));
+            log.append(changed(2L, BeerEventType.INCREMENTED, 1, 21, 1));
+            log.append(deleted(2L, 1));
+        }
+        JdbcTemplate jdbcTemplate = beerTable("delete-recreate");
+
+        // when
+        long recreatedId;
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            new BeerEventLogService(log, jdbcTemplate, 2).afterSingletonsInstantiated();
+            jdbcTemplate.update("insert into beer (name, brand, max, quality, type, version) "
+                    + "values ('Bohemia', 'Ambev', 100, 5, 'LAGER', 0)");
+            recreatedId = jdbcTemplate.queryForObject("select id from beer where name = 'Bohemia'", Long.class);
+            log.append(created(recreatedId, "Bohemia", 5));
+        }
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            new BeerEventLogService(log, jdbcTemplate, 2).afterSingletonsInstantiated();
+        }
+
+        // then
+        assertThat(recreatedId).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForList("select name from beer order by id", String.class))
+                .containsExactly("Brahma", "Bohemia");
+    }
+
+    // ✅ Teste: Linhas já existentes são substituídas pelo estado do log
+    @Test
+    void whenTableHasRowsThenTheyShouldBeReplacedByLogState() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            log.append(created(1L, "Brahma", 10));
+        }
+        JdbcTemplate jdbcTemplate = beerTable("replace-rows");
+        jdbcTemplate.update("insert into beer (id, name, brand, max, quality, type, version) "
+                + "values (7, 'Stale', 'Ambev', 100, 1, 'LAGER', 0)");
+
+        // when
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            new BeerEventLogService(log, jdbcTemplate, 2).afterSingletonsInstantiated();
+        }
+
+        // then
+        assertThat(jdbcTemplate.queryForList("select name from beer", String.class)).containsExactly("Brahma");
+    }
+
+    // ❌ Teste: Tabela preenchida com log vazio
+    @Test
+    void whenTableHasRowsAndLogIsEmptyThenThrowAnException() throws IOException {
+        // given
+        JdbcTemplate jdbcTemplate = beerTable("empty-log");
+        jdbcTemplate.update("insert into beer (id, name, brand, max, quality, type, version) "
+                + "values (1, 'Brahma', 'Ambev', 100, 10, 'LAGER', 0)");
+
+        // then
+        try (BeerEventLog log = new BeerEventLog(tempDir.resolve("events.log"), false)) {
+            BeerEventLogService service = new BeerEventLogService(log, jdbcTemplate, 2);
+            assertThatThrownBy(service::afterSingletonsInstantiated)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("event log is empty");
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from beer", Integer.class)).isEqualTo(1);
+    }
+
+    // ⏱️ Benchmark: reconstrução de 1M cervejas (mvn test -Pbenchmark)
+    @Test
+    @Tag("benchmark")
+    void replayOneMillionBeers() throws IOException {
+        int beers = 1_000_000;
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            log.open((segment, offset, beerId) -> { });
+            for (long id = 1; id <= beers; id++) {
+                log.append(created(id, "Beer " + id, 10));
+                log.append(changed(id, BeerEventType.INCREMENTED, 1, 11, 1));
+            }
+        }
+
+        JdbcTemplate jdbcTemplate = beerTable("replay-benchmark");
+
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            BeerEventLogService service = new BeerEventLogService(log, jdbcTemplate, 0);
+            long start = System.nanoTime();
+            List<Map<Long, BeerEventRecord>> state = service.replay();
+            long replayed = System.nanoTime();
+            int loaded = service.load(state);
+            long end = System.nanoTime();
+
+            System.out.printf("Event log replay: %d beers, fold %d ms, load %d ms, total %d ms%n",
+                    loaded, (replayed - start) / 1_000_000, (end - replayed) / 1_000_000, (end - start) / 1_000_000);
+            assertThat(loaded).isEqualTo(beers);
+            assertThat(jdbcTemplate.queryForObject("select sum(quality) from beer", Long.class))
+                    .isEqualTo(11L * beers);
+        }
+    }
+
+    // === Métodos auxiliares ===
+    private JdbcTemplate beerTable(String database) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table beer (id bigint generated by default as identity primary key, "
+                + "name varchar(255) not null unique, brand varchar(255) not null, "
+                + "max integer not null, quality integer not null, type varchar(255) not null, version bigint)");
+        return jdbcTemplate;
+    }
+
+    private Map<Long, BeerEventRecord> replay(Path path, int partitions) throws IOException {
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            Map<Long, BeerEventRecord> merged = new HashMap<>();
+            new BeerEventLogService(log, null, partitions).replay().forEach(merged::putAll);
+            return merged;
+        }
+    }
+}
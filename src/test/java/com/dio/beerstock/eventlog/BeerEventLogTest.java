@@ -0,0 +1,166 @@
+package com.dio.beerstock.eventlog;
+
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeerEventLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ✅ Teste: Registros gravados são lidos de volta na reabertura
+    @Test
+    void whenLogIsReopenedThenRecordsShouldBeReadBack() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = openEmpty(path)) {
+            log.append(created(1L, "Brahma", 10));
+            log.append(changed(1L, BeerEventType.INCREMENTED, 5, 15, 1));
+            log.append(deleted(1L, 1));
+        }
+
+        // when
+        List<BeerEventRecord> records = readAll(new BeerEventLog(path, false));
+
+        // then
+        assertThat(records).containsExactly(
+                created(1L, "Brahma", 10),
+                changed(1L, BeerEventType.INCREMENTED, 5, 15, 1),
+                deleted(1L, 1));
+    }
+
+    // ✅ Teste: Escrita interrompida no fim do arquivo é descartada
+    @Test
+    void whenTailIsTornThenItShouldBeTruncated() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = openEmpty(path)) {
+            log.append(created(1L, "Brahma", 10));
+            log.append(created(2L, "Skol", 20));
+        }
+        long validSize = Files.size(path);
+        Files.write(path, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        // when
+        BeerEventLog log = new BeerEventLog(path, false);
+        List<BeerEventRecord> records = readAll(log);
+
+        // then
+        assertThat(records).hasSize(2);
+        assertThat(Files.size(path)).isEqualTo(validSize);
+    }
+
+    // ✅ Teste: Registro com checksum inválido encerra o log
+    @Test
+    void whenChecksumDoesNotMatchThenLogShouldEndBeforeRecord() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = openEmpty(path)) {
+            log.append(created(1L, "Brahma", 10));
+            log.append(created(2L, "Skol", 20));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), Files.size(path) - 1);
+        }
+
+        // when
+        List<BeerEventRecord> records = readAll(new BeerEventLog(path, false));
+
+        // then
+        assertThat(records).extracting(BeerEventRecord::getBeerId).containsExactly(1L);
+    }
+
+    // ✅ Teste: Registros são lidos corretamente através de vários segmentos mapeados
+    @Test
+    void whenLogSpansSeveralSegmentsThenAllRecordsShouldBeRead() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        try (BeerEventLog log = openEmpty(path)) {
+            for (long id = 1; id <= 200; id++) {
+                log.append(created(id, "Beer " + id, (int) id % 100));
+            }
+        }
+
+        // when
+        List<BeerEventRecord> records = readAll(new BeerEventLog(path, false, 256));
+
+        // then
+        assertThat(records).hasSize(200);
+        assertThat(records).extracting(BeerEventRecord::getBeerId).startsWith(1L, 2L).endsWith(200L);
+    }
+
+    // ❌ Teste: Arquivo que não é um log de eventos
+    @Test
+    void whenFileIsNotAnEventLogThenThrowAnException() throws IOException {
+        // given
+        Path path = tempDir.resolve("events.log");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5});
+
+        // then
+        try (BeerEventLog log = new BeerEventLog(path, false)) {
+            assertThatThrownBy(() -> log.open((segment, offset, beerId) -> { }))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    // === Métodos auxiliares ===
+    private BeerEventLog openEmpty(Path path) throws IOException {
+        BeerEventLog log = new BeerEventLog(path, false);
+        log.open((segment, offset, beerId) -> { });
+        return log;
+    }
+
+    private List<BeerEventRecord> readAll(BeerEventLog log) throws IOException {
+        try (log) {
+            List<long[]> positions = new ArrayList<>();
+            log.open((segment, offset, beerId) -> positions.add(new long[]{segment, offset}));
+            List<BeerEventRecord> records = new ArrayList<>();
+            positions.forEach(position -> records.add(log.read((int) position[0], (int) position[1])));
+            return records;
+        }
+    }
+
+    static BeerEventRecord created(long id, String name, int quantity) {
+        return BeerEventRecord.builder()
+                .type(BeerEventType.CREATED)
+                .beerId(id)
+                .timestamp(1_700_000_000_000L)
+                .delta(quantity)
+                .max(100)
+                .quantity(quantity)
+                .name(name)
+                .brand("Ambev")
+                .beerType(BeerType.LAGER)
+                .build();
+    }
+
+    static BeerEventRecord changed(long id, BeerEventType type, int delta, int quantity, long version) {
+        return created(id, "Beer " + id, quantity).toBuilder()
+                .type(type)
+                .delta(delta)
+                .version(version)
+                .build();
+    }
+
+    static BeerEventRecord deleted(long id, long version) {
+        return BeerEventRecord.builder()
+                .type(BeerEventType.DELETED)
+                .beerId(id)
+                .timestamp(1_700_000_000_000L)
+                .version(version)
+                .build();
+    }
+}
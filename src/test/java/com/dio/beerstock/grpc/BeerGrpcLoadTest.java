@@ -0,0 +1,115 @@
+package com.dio.beerstock.grpc;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.grpc.proto.BeerStockGrpc;
+import com.dio.beerstock.grpc.proto.GetBeerRequest;
+import com.dio.beerstock.service.BeerService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara lookups unários por id via REST (HTTP/1.1 + JSON) e via gRPC (HTTP/2 + protobuf)
+ * contra a mesma aplicação.
+ * Executar com: mvn test -Pbenchmark -Dtest=BeerGrpcLoadTest
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "beerstock.grpc.enabled=true",
+        "beerstock.grpc.port=0",
+        "spring.profiles.active=prod"
+})
+class BeerGrpcLoadTest {
+
+    private static final int BEERS = 100;
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 2_000;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @Autowired
+    private GrpcServerLifecycle grpcServer;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void compareRestAndGrpcLookups() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            ids.add(beerService.createBeer(BeerDTO.builder()
+                    .name("Load " + i)
+                    .brand("Brand")
+                    .max(500)
+                    .quantity(100)
+                    .type(BeerType.IPA)
+                    .build()).getId());
+        }
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        Callable<Void> rest = () -> {
+            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + httpPort + "/api/v1/beers/" + ids.get(i % BEERS))).build();
+                httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            }
+            return null;
+        };
+
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort())
+                .usePlaintext()
+                .build();
+        BeerStockGrpc.BeerStockBlockingStub stub = BeerStockGrpc.newBlockingStub(channel);
+        Callable<Void> grpc = () -> {
+            for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                stub.getBeer(GetBeerRequest.newBuilder().setId(ids.get(i % BEERS)).build());
+            }
+            return null;
+        };
+
+        try {
+            // aquecimento
+            measure(rest);
+            measure(grpc);
+
+            System.out.printf("REST %8.0f calls/s%n", measure(rest));
+            System.out.printf("gRPC %8.0f calls/s%n", measure(grpc));
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    private double measure(Callable<Void> client) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(client));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            return THREADS * CALLS_PER_THREAD / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
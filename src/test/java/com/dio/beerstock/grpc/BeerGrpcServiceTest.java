@@ -0,0 +1,296 @@
+package com.dio.beerstock.grpc;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.grpc.proto.Beer;
+import com.dio.beerstock.grpc.proto.BeerStockGrpc;
+import com.dio.beerstock.grpc.proto.GetBeerRequest;
+import com.dio.beerstock.grpc.proto.ListBeersRequest;
+import com.dio.beerstock.grpc.proto.StockMovement;
+import com.dio.beerstock.grpc.proto.StockMovementResult;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockCommandGateway;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BeerGrpcServiceTest {
+
+    private static final long VALID_BEER_ID = 1L;
+    private static final long INVALID_BEER_ID = 2L;
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private StockCommandGateway stockCommandGateway;
+
+    private Server server;
+    private ManagedChannel channel;
+    private BeerDTO validBeerDTO;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new BeerGrpcService(beerService, stockCommandGateway, new BeerProtoMapper()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+
+        validBeerDTO = BeerDTO.builder()
+                .id(VALID_BEER_ID)
+                .name("Heineken")
+                .brand("Heineken")
+                .max(50)
+                .quantity(10)
+                .type(BeerType.LAGER)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void whenGetBeerIsCalledWithValidIdThenBeerIsReturned() throws Exception {
+        // Given
+        when(beerService.findById(VALID_BEER_ID)).thenReturn(validBeerDTO);
+
+        // When
+        Beer beer = BeerStockGrpc.newBlockingStub(channel)
+                .getBeer(GetBeerRequest.newBuilder().setId(VALID_BEER_ID).build());
+
+        // Then
+        assertThat(beer.getName()).isEqualTo("Heineken");
+        assertThat(beer.getQuantity()).isEqualTo(10);
+        assertThat(beer.getType()).isEqualTo(com.dio.beerstock.grpc.proto.BeerType.LAGER);
+    }
+
+    @Test
+    void whenGetBeerIsCalledWithInvalidIdThenNotFoundIsReturned() throws Exception {
+        // Given
+        when(beerService.findById(INVALID_BEER_ID)).thenThrow(new BeerNotFoundException(INVALID_BEER_ID));
+
+        // When & Then
+        assertThatThrownBy(() -> BeerStockGrpc.newBlockingStub(channel)
+                .getBeer(GetBeerRequest.newBuilder().setId(INVALID_BEER_ID).build()))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.NOT_FOUND);
+    }
+
+    @Test
+    void whenListBeersIsCalledThenCatalogIsStreamed() {
+        // Given
+        BeerDTO otherBeerDTO = validBeerDTO.toBuilder().id(3L).name("Amstel").build();
+        when(beerService.listPage(0L, BeerGrpcService.LIST_PAGE_SIZE)).thenReturn(List.of(validBeerDTO, otherBeerDTO));
+        when(beerService.listPage(3L, BeerGrpcService.LIST_PAGE_SIZE)).thenReturn(List.of());
+
+        // When
+        List<String> names = new ArrayList<>();
+        BeerStockGrpc.newBlockingStub(channel)
+                .listBeers(ListBeersRequest.getDefaultInstance())
+                .forEachRemaining(beer -> names.add(beer.getName()));
+
+        // Then
+        assertThat(names).containsExactly("Heineken", "Amstel");
+    }
+
+    @Test
+    void whenStockMovementsAreStreamedThenEachOneIsAnswered() throws Exception {
+        // Given
+        BeerDTO incremented = validBeerDTO.toBuilder().quantity(15).build();
+        when(stockCommandGateway.increment(VALID_BEER_ID, 5)).thenReturn(CompletableFuture.completedFuture(incremented));
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 100)).thenReturn(CompletableFuture.failedFuture(
+                new BeerStockExceededException("Cannot remove 100 units. Only 15 available.")));
+
+        // When
+        List<StockMovementResult> results = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<StockMovement> requests = BeerStockGrpc.newStub(channel)
+                .streamStockMovements(new StreamObserver<>() {
+                    @Override
+                    public void onNext(StockMovementResult result) {
+                        results.add(result);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(movement("a", StockMovement.Direction.INCREMENT, 5));
+        requests.onNext(movement("b", StockMovement.Direction.DECREMENT, 100));
+        requests.onCompleted();
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getCorrelationId()).isEqualTo("a");
+        assertThat(results.get(0).getBeer().getQuantity()).isEqualTo(15);
+        assertThat(results.get(1).getCorrelationId()).isEqualTo("b");
+        assertThat(results.get(1).getError()).contains("Only 15 available");
+    }
+
+    @Test
+    void whenAMovementFailsUnexpectedlyThenOnlyThatMovementReportsTheError() throws Exception {
+        // Given
+        BeerDTO incremented = validBeerDTO.toBuilder().quantity(15).build();
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 5)).thenReturn(CompletableFuture.failedFuture(
+                new ObjectOptimisticLockingFailureException(com.dio.beerstock.entity.Beer.class, VALID_BEER_ID)));
+        when(stockCommandGateway.increment(VALID_BEER_ID, 5)).thenReturn(CompletableFuture.completedFuture(incremented));
+
+        // When
+        List<StockMovementResult> results = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        List<Throwable> errors = new ArrayList<>();
+        StreamObserver<StockMovement> requests = BeerStockGrpc.newStub(channel)
+                .streamStockMovements(new StreamObserver<>() {
+                    @Override
+                    public void onNext(StockMovementResult result) {
+                        results.add(result);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        errors.add(throwable);
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(movement("a", StockMovement.Direction.DECREMENT, 5));
+        requests.onNext(movement("b", StockMovement.Direction.INCREMENT, 5));
+        requests.onCompleted();
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getResultCase()).isEqualTo(StockMovementResult.ResultCase.ERROR);
+        assertThat(results.get(1).getBeer().getQuantity()).isEqualTo(15);
+    }
+
+    @Test
+    void whenEarlierMovementCompletesLaterThenResultsKeepArrivalOrder() throws Exception {
+        // Given
+        CompletableFuture<BeerDTO> slow = new CompletableFuture<>();
+        when(stockCommandGateway.increment(VALID_BEER_ID, 5)).thenReturn(slow);
+        when(stockCommandGateway.decrement(VALID_BEER_ID, 1))
+                .thenReturn(CompletableFuture.completedFuture(validBeerDTO.toBuilder().quantity(9).build()));
+
+        // When
+        List<String> correlationIds = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<StockMovement> requests = BeerStockGrpc.newStub(channel)
+                .streamStockMovements(new StreamObserver<>() {
+                    @Override
+                    public void onNext(StockMovementResult result) {
+                        correlationIds.add(result.getCorrelationId());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(movement("a", StockMovement.Direction.INCREMENT, 5));
+        requests.onNext(movement("b", StockMovement.Direction.DECREMENT, 1));
+        requests.onCompleted();
+        assertThat(correlationIds).isEmpty();
+        slow.complete(validBeerDTO.toBuilder().quantity(15).build());
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(correlationIds).containsExactly("a", "b");
+    }
+
+    @Test
+    void whenTooManyMovementsAreInFlightThenNextOnesWaitForResults() throws Exception {
+        // Given
+        CompletableFuture<BeerDTO> slow = new CompletableFuture<>();
+        when(stockCommandGateway.increment(VALID_BEER_ID, 1)).thenReturn(slow);
+        int movements = BeerGrpcService.MOVEMENTS_IN_FLIGHT + 10;
+
+        // When
+        List<String> correlationIds = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<StockMovement> requests = BeerStockGrpc.newStub(channel)
+                .streamStockMovements(new StreamObserver<>() {
+                    @Override
+                    public void onNext(StockMovementResult result) {
+                        correlationIds.add(result.getCorrelationId());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        for (int i = 0; i < movements; i++) {
+            requests.onNext(movement(String.valueOf(i), StockMovement.Direction.INCREMENT, 1));
+        }
+        requests.onCompleted();
+        verify(stockCommandGateway, times(BeerGrpcService.MOVEMENTS_IN_FLIGHT)).increment(VALID_BEER_ID, 1);
+        slow.complete(validBeerDTO.toBuilder().quantity(11).build());
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(correlationIds).hasSize(movements);
+        verify(stockCommandGateway, times(movements)).increment(VALID_BEER_ID, 1);
+    }
+
+    private StockMovement movement(String correlationId, StockMovement.Direction direction, int quantity) {
+        return StockMovement.newBuilder()
+                .setCorrelationId(correlationId)
+                .setBeerId(VALID_BEER_ID)
+                .setDirection(direction)
+                .setQuantity(quantity)
+                .build();
+    }
+}
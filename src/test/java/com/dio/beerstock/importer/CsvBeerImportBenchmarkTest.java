@@ -0,0 +1,55 @@
+package com.dio.beerstock.importer;
+
+import com.dio.beerstock.dto.CsvImportReportDTO;
+import com.dio.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vazão da importação de CSV com um catálogo sintético de 100 mil linhas.
+ * Meta: 100 mil linhas/s em um notebook de 8 núcleos.
+ * Executar com: mvn test -Pbenchmark -Dtest=CsvBeerImportBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class CsvBeerImportBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROWS = 20_000;
+
+    @Autowired
+    private CsvBeerImportService csvBeerImportService;
+
+    @Test
+    void importHundredThousandRows() throws Exception {
+        csvBeerImportService.importCsv(new ByteArrayInputStream(catalog("Warmup Beer ", WARMUP_ROWS)));
+
+        CsvImportReportDTO report = csvBeerImportService.importCsv(new ByteArrayInputStream(catalog("Benchmark Beer ", ROWS)));
+
+        double rowsPerSecond = report.getRows() * 1000.0 / Math.max(report.getElapsedMs(), 1);
+        System.out.printf("csv import: %d rows, %d imported, %d ms, %.0f rows/s, %d CPUs%n",
+                report.getRows(), report.getImported(), report.getElapsedMs(), rowsPerSecond,
+                Runtime.getRuntime().availableProcessors());
+        assertThat(report.getImported()).isEqualTo(ROWS);
+    }
+
+    private static byte[] catalog(String namePrefix, int rows) {
+        StringBuilder csv = new StringBuilder(rows * 40).append("name,brand,max,quantity,type\n");
+        BeerType[] types = BeerType.values();
+        for (int i = 0; i < rows; i++) {
+            csv.append(namePrefix).append(i).append(",Brand ").append(i % 50).append(",500,")
+                    .append(i % 100).append(',').append(types[i % types.length]).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
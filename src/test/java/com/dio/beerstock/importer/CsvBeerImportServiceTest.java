@@ -0,0 +1,126 @@
+package com.dio.beerstock.importer;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.CsvImportReportDTO;
+import com.dio.beerstock.dto.CsvRowErrorDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.service.BeerService;
+import com.dio.beerstock.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "beerstock.import.chunk-size=2",
+        "beerstock.import.validators=2",
+        "beerstock.import.queue-capacity=1",
+        "spring.jpa.show-sql=false"
+})
+class CsvBeerImportServiceTest {
+
+    @Autowired
+    private CsvBeerImportService csvBeerImportService;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    // ✅ Teste: Linhas válidas são gravadas e cada recusa é relatada com a linha do arquivo
+    @Test
+    void whenCsvIsImportedThenValidRowsAreCreatedAndRejectionsReported() throws Exception {
+        // given
+        beerService.createBeer(BeerDTO.builder()
+                .name("Import Existing").brand("Ambev").max(50).quantity(10).type(BeerType.LAGER).build());
+        String csv = String.join("\n",
+                "type,name,brand,quantity,max",
+                "LAGER,Import Pilsen,Ambev,10,50",
+                "ipa,\"Import \"\"Hoppy\"\", Double\",Colorado,20,100",
+                "",
+                "LAGER,Import Over Limit,Ambev,150,500",
+                "CIDER,Import Cider,Ambev,1,10",
+                "LAGER,Import NaN,Ambev,ten,50",
+                "LAGER,Import Over Max,Ambev,60,50",
+                "LAGER,Import Short",
+                "STOUT,Import Pilsen,Ambev,1,10",
+                "LAGER,Import Existing,Ambev,1,10",
+                "PORTER,Import Porter,Ambev,5,10");
+
+        // when
+        CsvImportReportDTO report = importCsv(csv);
+
+        // then
+        assertThat(report.getRows()).isEqualTo(10);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(7);
+        assertThat(report.getErrorsTruncated()).isFalse();
+        assertThat(report.getErrors())
+                .extracting(CsvRowErrorDTO::getLine)
+                .containsExactly(5, 6, 7, 8, 9, 10, 11);
+        assertThat(report.getErrors().get(0).getMessage()).contains("quantity");
+        assertThat(report.getErrors().get(5).getMessage()).contains("line 2");
+        assertThat(report.getErrors().get(6).getMessage()).contains("already registered");
+
+        assertThat(beerService.findByName("Import Pilsen").getType()).isEqualTo(BeerType.LAGER);
+        BeerDTO quoted = beerService.findByName("Import \"Hoppy\", Double");
+        assertThat(quoted.getType()).isEqualTo(BeerType.IPA);
+        assertThat(beerService.findById(quoted.getId()).getQuantity()).isEqualTo(20);
+        assertThat(beerService.findByName("Import Porter").getQuantity()).isEqualTo(5);
+    }
+
+    // ✅ Teste: A importação altera a versão do catálogo, como o cadastro individual
+    @Test
+    void whenRowsAreImportedThenCatalogVersionChanges() throws Exception {
+        // given
+        String before = beerService.catalogVersionTag();
+
+        // when
+        importCsv("name,brand,max,quantity,type\nImport Version,Ambev,10,1,ALE\n");
+
+        // then
+        assertThat(beerService.catalogVersionTag()).isNotEqualTo(before);
+    }
+
+    // ✅ Teste: Cada cerveja importada entra no ledger, gravado na transação do bloco
+    @Test
+    void whenRowsAreImportedThenLedgerRecordsTheirStock() throws Exception {
+        // when
+        importCsv("name,brand,max,quantity,type\nImport Ledger A,Ambev,10,4,ALE\nImport Ledger B,Ambev,10,7,ALE\n"
+                + "Import Ledger C,Ambev,10,9,ALE\n");
+
+        // then
+        for (String name : new String[]{"Import Ledger A", "Import Ledger B", "Import Ledger C"}) {
+            BeerDTO beer = beerService.findByName(name);
+            assertThat(stockLedgerService.stockAt(beer.getId(), Instant.now()).getQuantity())
+                    .isEqualTo(beer.getQuantity());
+        }
+    }
+
+    // ❌ Teste: Cabeçalho sem colunas obrigatórias
+    @Test
+    void whenHeaderMissesColumnsThenNothingIsImported() throws Exception {
+        // when
+        CsvImportReportDTO report = importCsv("name,brand,max\nImport Headless,Ambev,10\n");
+
+        // then
+        assertThat(report.getRows()).isZero();
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> {
+                    assertThat(error.getLine()).isEqualTo(1);
+                    assertThat(error.getMessage()).contains("quantity", "type");
+                });
+    }
+
+    // === Métodos auxiliares ===
+    private CsvImportReportDTO importCsv(String csv) throws Exception {
+        return csvBeerImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
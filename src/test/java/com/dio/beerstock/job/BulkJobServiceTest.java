@@ -0,0 +1,282 @@
+package com.dio.beerstock.job;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.BulkJobDTO;
+import com.dio.beerstock.dto.BulkJobErrorDTO;
+import com.dio.beerstock.dto.BulkStockItemDTO;
+import com.dio.beerstock.entity.BulkJob;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.enums.JobStatus;
+import com.dio.beerstock.enums.JobType;
+import com.dio.beerstock.exception.JobNotFoundException;
+import com.dio.beerstock.repository.BulkJobRepository;
+import com.dio.beerstock.service.BeerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "beerstock.jobs.chunk-size=2",
+        "spring.jpa.show-sql=false"
+})
+class BulkJobServiceTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private BulkJobService bulkJobService;
+
+    @Autowired
+    private BulkJobRunner bulkJobRunner;
+
+    @Autowired
+    private BulkJobRepository jobRepository;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // ✅ Teste: Cadastro em massa aplica os itens válidos e relata os recusados
+    @Test
+    void whenBulkCreateIsSubmittedThenValidBeersAreCreatedAndRejectionsReported() throws Exception {
+        // given
+        List<BeerDTO> beers = List.of(
+                beer("Job Pilsen", 50, 10),
+                beer("Job Over Limit", 50, 150),
+                beer("Job Over Max", 50, 60),
+                beer("Job Pilsen", 50, 5),
+                beer("Job Stout", 80, 20));
+
+        // when
+        BulkJobDTO job = awaitFinished(bulkJobService.submitBulkCreate(beers).getId());
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.getProcessed()).isEqualTo(5);
+        assertThat(job.getSucceeded()).isEqualTo(2);
+        assertThat(job.getFailed()).isEqualTo(3);
+        assertThat(bulkJobService.errors(job.getId(), 0, 100))
+                .extracting(BulkJobErrorDTO::getIndex)
+                .containsExactly(1, 2, 3);
+        assertThat(bulkJobService.errors(job.getId(), 2, 1))
+                .extracting(BulkJobErrorDTO::getIndex)
+                .containsExactly(2);
+        assertThat(beerService.findByName("Job Pilsen").getQuantity()).isEqualTo(10);
+        assertThat(beerService.findByName("Job Stout").getQuantity()).isEqualTo(20);
+    }
+
+    // ✅ Teste: Movimentações em massa reaproveitam as regras de estoque do BeerService
+    @Test
+    void whenBulkStockIsSubmittedThenStockRulesAreApplied() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Stock", 100, 10));
+        List<BulkStockItemDTO> items = List.of(
+                stock(created.getId(), BeerEventType.INCREMENTED, 5),
+                stock(created.getId(), BeerEventType.DECREMENTED, 100),
+                stock(created.getId(), BeerEventType.DECREMENTED, 3),
+                stock(999_999L, BeerEventType.INCREMENTED, 1));
+
+        // when
+        BulkJobDTO job = awaitFinished(bulkJobService.submitBulkStock(items).getId());
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.getSucceeded()).isEqualTo(2);
+        assertThat(bulkJobService.errors(job.getId(), 0, 100))
+                .extracting(BulkJobErrorDTO::getIndex)
+                .containsExactly(1, 3);
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(12);
+    }
+
+    // ✅ Teste: Job interrompido é retomado a partir do primeiro item não confirmado
+    @Test
+    void whenJobIsResumedThenOnlyUnconfirmedItemsAreApplied() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Resume", 100, 10));
+        BulkJob job = saveJob(JobStatus.RUNNING, 2, false, List.of(
+                stock(created.getId(), BeerEventType.INCREMENTED, 1),
+                stock(created.getId(), BeerEventType.INCREMENTED, 1),
+                stock(created.getId(), BeerEventType.INCREMENTED, 1)));
+
+        // when
+        bulkJobRunner.run(job.getId(), () -> true);
+
+        // then
+        BulkJobDTO finished = bulkJobService.findById(job.getId());
+        assertThat(finished.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(finished.getProcessed()).isEqualTo(3);
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(11);
+    }
+
+    // ✅ Teste: Cancelamento e encerramento param o job antes do próximo bloco
+    @Test
+    void whenJobIsCancelledOrPausedThenNoFurtherChunkRuns() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Cancel", 100, 10));
+        List<BulkStockItemDTO> items = List.of(stock(created.getId(), BeerEventType.INCREMENTED, 1));
+        BulkJob cancelled = saveJob(JobStatus.QUEUED, 0, true, items);
+        BulkJob paused = saveJob(JobStatus.QUEUED, 0, false, items);
+
+        // when
+        bulkJobRunner.run(cancelled.getId(), () -> true);
+        bulkJobRunner.run(paused.getId(), () -> false);
+
+        // then
+        assertThat(bulkJobService.findById(cancelled.getId()).getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(bulkJobService.findById(paused.getId()).getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(bulkJobService.findById(paused.getId()).getProcessed()).isZero();
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(10);
+    }
+
+    // ❌ Teste: Um job despachado de novo enquanto pertence a esta instância não roda duas vezes
+    @Test
+    void whenJobIsAlreadyClaimedThenSecondRunDoesNothing() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Claimed", 100, 10));
+        BulkJob job = saveJob(JobStatus.QUEUED, 0, false,
+                List.of(stock(created.getId(), BeerEventType.INCREMENTED, 1)));
+        bulkJobRunner.run(job.getId(), () -> false);
+
+        // when
+        bulkJobRunner.run(job.getId(), () -> true);
+
+        // then
+        assertThat(bulkJobService.findById(job.getId()).getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(bulkJobService.findById(job.getId()).getProcessed()).isZero();
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(10);
+    }
+
+    // ❌ Teste: Bloco que encontra o job já avançado por outro runner é desfeito e o runner para
+    @Test
+    void whenJobWasAdvancedElsewhereThenChunkIsRolledBackAndRunnerStops() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Advanced", 100, 10));
+        BulkStockItemDTO item = stock(created.getId(), BeerEventType.INCREMENTED, 1);
+        BulkJob job = saveJob(JobStatus.QUEUED, 0, false, List.of(item, item, item, item));
+        AtomicInteger chunks = new AtomicInteger();
+
+        // when
+        bulkJobRunner.run(job.getId(), () -> {
+            if (chunks.incrementAndGet() == 2) {
+                transactionTemplate.executeWithoutResult(status ->
+                        jobRepository.advance(job.getId(), ownerOf(job.getId()), 2, 4, 2, 0, Instant.now()));
+            }
+            return true;
+        });
+
+        // then
+        BulkJobDTO stopped = bulkJobService.findById(job.getId());
+        assertThat(stopped.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(stopped.getSucceeded()).isEqualTo(4);
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(12);
+    }
+
+    // ❌ Teste: Runner que perdeu o job para outra instância desfaz o bloco e para
+    @Test
+    void whenJobIsClaimedByAnotherOwnerThenChunkIsRolledBackAndRunnerStops() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Job Stolen", 100, 10));
+        BulkStockItemDTO item = stock(created.getId(), BeerEventType.INCREMENTED, 1);
+        BulkJob job = saveJob(JobStatus.QUEUED, 0, false, List.of(item, item, item, item));
+        AtomicInteger chunks = new AtomicInteger();
+
+        // when
+        bulkJobRunner.run(job.getId(), () -> {
+            if (chunks.incrementAndGet() == 2) {
+                transactionTemplate.executeWithoutResult(status -> jobRepository.claim(job.getId(), "other-node",
+                        List.of(JobStatus.RUNNING), Instant.now()));
+            }
+            return true;
+        });
+
+        // then
+        BulkJobDTO stopped = bulkJobService.findById(job.getId());
+        assertThat(stopped.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(stopped.getProcessed()).isEqualTo(2);
+        assertThat(ownerOf(job.getId())).isEqualTo("other-node");
+        assertThat(beerService.findById(created.getId()).getQuantity()).isEqualTo(12);
+    }
+
+    // ❌ Teste: Cancelamento não altera um job já finalizado
+    @Test
+    void whenFinishedJobIsCancelledThenNothingChanges() throws Exception {
+        // given
+        BulkJob job = saveJob(JobStatus.SUCCEEDED, 0, false, List.of());
+
+        // when
+        BulkJobDTO cancelled = bulkJobService.cancel(job.getId());
+
+        // then
+        assertThat(cancelled.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(cancelled.getCancelRequested()).isFalse();
+    }
+
+    // ❌ Teste: Cancelar um job inexistente
+    @Test
+    void whenCancellingUnknownJobThenThrowAnException() {
+        assertThatThrownBy(() -> bulkJobService.cancel(999_999L))
+                .isInstanceOf(JobNotFoundException.class);
+    }
+
+    // === Métodos auxiliares ===
+    private BulkJobDTO awaitFinished(Long id) throws JobNotFoundException, InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        BulkJobDTO job = bulkJobService.findById(id);
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = bulkJobService.findById(id);
+        }
+        return job;
+    }
+
+    private String ownerOf(Long id) {
+        return transactionTemplate.execute(status -> jobRepository.findById(id).orElseThrow().getOwner());
+    }
+
+    private BulkJob saveJob(JobStatus status, int processed, boolean cancelRequested,
+                            List<BulkStockItemDTO> items) throws Exception {
+        Instant now = Instant.now();
+        return jobRepository.save(BulkJob.builder()
+                .type(JobType.BULK_STOCK)
+                .status(status)
+                .total(items.size())
+                .processed(processed)
+                .cancelRequested(cancelRequested)
+                .payload(objectMapper.writeValueAsString(items))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private static BeerDTO beer(String name, int max, int quantity) {
+        return BeerDTO.builder()
+                .name(name)
+                .brand("Ambev")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+    }
+
+    private static BulkStockItemDTO stock(Long beerId, BeerEventType type, int quantity) {
+        return BulkStockItemDTO.builder()
+                .beerId(beerId)
+                .type(type)
+                .quantity(quantity)
+                .build();
+    }
+}
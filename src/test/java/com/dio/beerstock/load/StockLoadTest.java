@@ -0,0 +1,293 @@
+package com.dio.beerstock.load;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Gerador de carga HTTP com mistura de operações parecida com a de produção.
+ * <p>
+ * Sobe a aplicação em porta efêmera, cadastra {@code beers} cervejas cobrindo todos os
+ * {@link BeerType} e dispara {@code findById}, {@code listAll}, {@code increment} e
+ * {@code decrement} sobre SKUs sorteados com distribuição de Zipf. Ao final, imprime
+ * throughput e percentis de latência (HdrHistogram) por operação e confere os invariantes
+ * de estoque: nenhuma quantidade negativa ou acima de {@code max}, e cada quantidade final
+ * igual à inicial mais os deltas aceitos. Uma escrita sem resposta (timeout ou erro de
+ * transporte) pode ter sido aplicada ou não, então o SKU dela sai da conferência da soma.
+ * <p>
+ * Executar com: {@code mvn test -Pload}. Parâmetros (propriedades de sistema, prefixo
+ * {@code beerstock.load.}): {@code beers}, {@code threads}, {@code warmup-s},
+ * {@code duration-s}, {@code zipf-s}, {@code timeout-s} e {@code mix}
+ * (ex.: {@code findById=60,listAll=2,increment=19,decrement=19}).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "beerstock.admission.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.com.dio.beerstock=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class StockLoadTest {
+
+    private static final int BEERS = Integer.getInteger("beerstock.load.beers", 1_000);
+    private static final int THREADS = Integer.getInteger("beerstock.load.threads", 8);
+    private static final int WARMUP_SECONDS = Integer.getInteger("beerstock.load.warmup-s", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("beerstock.load.duration-s", 20);
+    private static final double ZIPF_S = Double.parseDouble(System.getProperty("beerstock.load.zipf-s", "0.99"));
+    private static final int TIMEOUT_SECONDS = Integer.getInteger("beerstock.load.timeout-s", 10);
+    private static final String MIX = System.getProperty("beerstock.load.mix",
+            "findById=60,listAll=2,increment=19,decrement=19");
+
+    private static final int MAX = 500;
+    private static final int INITIAL_QUANTITY = 100;
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // sem resposta: timeout ou erro de transporte
+    private static final int NO_RESPONSE = 599;
+
+    private enum Operation {
+        findById, listAll, increment, decrement
+    }
+
+    /**
+     * Resultado de um worker: latências e respostas por operação, e deltas aceitos por SKU.
+     */
+    private static final class WorkerStats {
+        final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, long[]> statuses = new EnumMap<>(Operation.class);
+
+        WorkerStats() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new Histogram(HIGHEST_LATENCY_NANOS, 3));
+                // [2xx, 4xx, 5xx/erro]
+                statuses.put(operation, new long[3]);
+            }
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().build();
+
+    @Test
+    void runProductionLikeTrafficMix() throws Exception {
+        Operation[] schedule = schedule(MIX);
+        List<BeerDTO> beers = seed();
+        ZipfianGenerator hotSkus = new ZipfianGenerator(BEERS, ZIPF_S);
+        AtomicLongArray acceptedDeltas = new AtomicLongArray(BEERS);
+        // uma escrita do aquecimento sem resposta ainda pode chegar depois do snapshot
+        AtomicIntegerArray unknownWrites = new AtomicIntegerArray(BEERS);
+
+        drive(schedule, beers, hotSkus, new AtomicLongArray(BEERS), unknownWrites, WARMUP_SECONDS);
+        Map<Long, BeerDTO> afterWarmup = snapshot();
+
+        long start = System.nanoTime();
+        List<WorkerStats> stats = drive(schedule, beers, hotSkus, acceptedDeltas, unknownWrites, DURATION_SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(stats, seconds);
+        verifyInvariants(beers, afterWarmup, acceptedDeltas, unknownWrites);
+    }
+
+    // === Métodos auxiliares ===
+    private List<BeerDTO> seed() throws Exception {
+        BeerType[] types = BeerType.values();
+        List<BeerDTO> beers = new ArrayList<>(BEERS);
+        for (int i = 0; i < BEERS; i++) {
+            BeerDTO beer = BeerDTO.builder()
+                    .name("Load " + i)
+                    .brand("Brand " + i % 25)
+                    .max(MAX)
+                    .quantity(INITIAL_QUANTITY)
+                    .type(types[i % types.length])
+                    .build();
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/beers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(beer))));
+            assertThat(response.statusCode()).isEqualTo(201);
+            beers.add(objectMapper.readValue(response.body(), BeerDTO.class));
+        }
+        return beers;
+    }
+
+    private List<WorkerStats> drive(Operation[] schedule, List<BeerDTO> beers, ZipfianGenerator hotSkus,
+                                    AtomicLongArray acceptedDeltas, AtomicIntegerArray unknownWrites,
+                                    int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<WorkerStats>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    WorkerStats stats = new WorkerStats();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = schedule[random.nextInt(schedule.length)];
+                        int sku = hotSkus.next();
+                        int amount = 1 + random.nextInt(5);
+                        long begin = System.nanoTime();
+                        int status = execute(operation, beers.get(sku).getId(), amount);
+                        stats.latencies.get(operation).recordValue(
+                                Math.min(System.nanoTime() - begin, HIGHEST_LATENCY_NANOS));
+                        stats.statuses.get(operation)[status / 100 == 2 ? 0 : status / 100 == 4 ? 1 : 2]++;
+                        if (status == 200 && operation == Operation.increment) {
+                            acceptedDeltas.addAndGet(sku, amount);
+                        } else if (status == 200 && operation == Operation.decrement) {
+                            acceptedDeltas.addAndGet(sku, -amount);
+                        } else if (status == NO_RESPONSE
+                                && (operation == Operation.increment || operation == Operation.decrement)) {
+                            unknownWrites.incrementAndGet(sku);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+            List<WorkerStats> results = new ArrayList<>();
+            for (Future<WorkerStats> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int execute(Operation operation, Long id, int amount) {
+        HttpRequest.Builder request = switch (operation) {
+            case findById -> HttpRequest.newBuilder(uri("/api/v1/beers/" + id)).GET();
+            case listAll -> HttpRequest.newBuilder(uri("/api/v1/beers")).GET();
+            case increment -> HttpRequest.newBuilder(uri("/api/v1/beers/" + id + "/increment?quantityToIncrement=" + amount))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+            case decrement -> HttpRequest.newBuilder(uri("/api/v1/beers/" + id + "/decrement?quantityToDecrement=" + amount))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+        };
+        try {
+            return send(request).statusCode();
+        } catch (Exception e) {
+            return NO_RESPONSE;
+        }
+    }
+
+    private void report(List<WorkerStats> stats, double seconds) {
+        System.out.printf("%nLoad: %d beers, %d threads, %ds, zipf s=%.2f, mix %s%n",
+                BEERS, THREADS, DURATION_SECONDS, ZIPF_S, MIX);
+        System.out.printf("%-10s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "ops/s", "2xx", "4xx", "5xx", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+            long[] statuses = new long[3];
+            for (WorkerStats worker : stats) {
+                histogram.add(worker.latencies.get(operation));
+                long[] workerStatuses = worker.statuses.get(operation);
+                for (int i = 0; i < statuses.length; i++) {
+                    statuses[i] += workerStatuses[i];
+                }
+            }
+            total.add(histogram);
+            printRow(operation.name(), histogram, seconds, statuses);
+        }
+        printRow("total", total, seconds, null);
+    }
+
+    private void printRow(String label, Histogram histogram, double seconds, long[] statuses) {
+        System.out.printf("%-10s %9.0f %9s %7s %7s %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label,
+                histogram.getTotalCount() / seconds,
+                statuses != null ? statuses[0] : "", statuses != null ? statuses[1] : "",
+                statuses != null ? statuses[2] : "",
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private void verifyInvariants(List<BeerDTO> beers, Map<Long, BeerDTO> initial, AtomicLongArray acceptedDeltas,
+                                  AtomicIntegerArray unknownWrites) throws Exception {
+        Map<Long, BeerDTO> finalState = snapshot();
+        int unchecked = 0;
+        for (int i = 0; i < beers.size(); i++) {
+            Long id = beers.get(i).getId();
+            BeerDTO beer = finalState.get(id);
+            assertThat(beer).as("beer %d", id).isNotNull();
+            assertThat(beer.getQuantity()).as("quantity of %s", beer.getName()).isBetween(0, beer.getMax());
+            if (unknownWrites.get(i) > 0) {
+                unchecked++;
+                continue;
+            }
+            assertThat(beer.getQuantity()).as("quantity of %s", beer.getName())
+                    .isEqualTo(initial.get(id).getQuantity() + acceptedDeltas.get(i));
+        }
+        System.out.printf("Invariants OK for %d beers (%d with unanswered writes checked only for bounds)%n",
+                beers.size(), unchecked);
+    }
+
+    private Map<Long, BeerDTO> snapshot() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/beers")).GET());
+        List<BeerDTO> beers = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+        Map<Long, BeerDTO> byId = new LinkedHashMap<>();
+        beers.forEach(beer -> byId.put(beer.getId(), beer));
+        return byId;
+    }
+
+    private static Operation[] schedule(String mix) {
+        List<Operation> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = Operation.valueOf(parts[0].trim());
+            for (int i = 0; i < Integer.parseInt(parts[1].trim()); i++) {
+                schedule.add(operation);
+            }
+        }
+        assertThat(schedule).as("traffic mix").isNotEmpty();
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(TIMEOUT_SECONDS)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
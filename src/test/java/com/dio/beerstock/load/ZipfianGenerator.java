@@ -0,0 +1,36 @@
+package com.dio.beerstock.load;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorteia índices em {@code [0, n)} com distribuição de Zipf: o índice {@code k} tem peso
+ * {@code 1 / (k + 1)^s}. Com {@code s} perto de 1, poucos SKUs concentram a maior parte do
+ * tráfego, como nos produtos mais vendidos. A CDF é pré-calculada; cada sorteio é uma
+ * busca binária.
+ */
+class ZipfianGenerator {
+
+    private final double[] cdf;
+
+    ZipfianGenerator(int n, double s) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, s);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.dio.beerstock.replication;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.service.BeerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "beerstock.replica.enabled=true",
+        "beerstock.replica.url=jdbc:h2:mem:replica-test-replica;DB_CLOSE_DELAY=-1",
+        "beerstock.replica.lag-ms=1000",
+        "beerstock.replica.max-lag-ms=300",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private ReplicationState replicationState;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private final ExecutorService otherClient = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        otherClient.shutdownNow();
+        ReplicationState.clearRequiredPosition();
+    }
+
+    // ✅ Teste: Quem escreveu lê a própria escrita no primário, antes de a réplica aplicá-la
+    @Test
+    void whenThreadWroteThenItsReadsGoToPrimaryUntilReplicaCatchesUp() throws Exception {
+        // given
+        ReplicationState.trackWrites();
+        BeerDTO created = beerService.createBeer(beer("Read Your Writes"));
+        double primaryReads = reads("primary");
+
+        // when
+        BeerDTO found = beerService.findById(created.getId());
+
+        // then
+        assertThat(found.getName()).isEqualTo("Read Your Writes");
+        assertThat(reads("primary")).isEqualTo(primaryReads + 1);
+        assertThat(replicaCount(created.getId())).isZero();
+
+        // when
+        awaitReplicaCaughtUp();
+        double replicaReads = reads("replica");
+        BeerDTO fromReplica = beerService.findById(created.getId());
+
+        // then
+        assertThat(fromReplica.getName()).isEqualTo("Read Your Writes");
+        assertThat(reads("replica")).isEqualTo(replicaReads + 1);
+    }
+
+    // ✅ Teste: Outros clientes leem da réplica dentro do atraso tolerado e do primário acima dele
+    @Test
+    void whenReplicaLagsThenOtherClientsFallBackToPrimaryAboveMaxLag() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Lagging Replica"));
+        awaitReplicaCaughtUp();
+
+        // when
+        beerService.increment(created.getId(), 5);
+        int staleQuantity = readFromOtherClient(created.getId());
+        TimeUnit.MILLISECONDS.sleep(500);
+        int freshQuantity = readFromOtherClient(created.getId());
+
+        // then
+        assertThat(staleQuantity).isEqualTo(10);
+        assertThat(freshQuantity).isEqualTo(15);
+
+        // when
+        awaitReplicaCaughtUp();
+
+        // then
+        assertThat(new JdbcTemplate(replicaDataSource)
+                .queryForObject("select quality from beer where id = ?", Integer.class, created.getId()))
+                .isEqualTo(15);
+    }
+
+    // ✅ Teste: Remoções também são replicadas
+    @Test
+    void whenBeerIsDeletedThenReplicaConverges() throws Exception {
+        // given
+        BeerDTO created = beerService.createBeer(beer("Deleted Beer"));
+        awaitReplicaCaughtUp();
+        assertThat(replicaCount(created.getId())).isEqualTo(1);
+
+        // when
+        beerService.deleteById(created.getId());
+        awaitReplicaCaughtUp();
+
+        // then
+        assertThat(replicaCount(created.getId())).isZero();
+    }
+
+    // === Métodos auxiliares ===
+    private BeerDTO beer(String name) {
+        return BeerDTO.builder()
+                .name(name)
+                .brand("Replica")
+                .max(100)
+                .quantity(10)
+                .type(BeerType.LAGER)
+                .build();
+    }
+
+    private int readFromOtherClient(Long id) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return beerService.findById(id).getQuantity();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, otherClient).get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitReplicaCaughtUp() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (replicationState.replicaPosition() < replicationState.primaryPosition()) {
+            assertThat(System.nanoTime()).as("replica caught up").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private long replicaCount(Long id) {
+        return new JdbcTemplate(replicaDataSource)
+                .queryForObject("select count(*) from beer where id = ?", Long.class, id);
+    }
+
+    private double reads(String target) {
+        return meterRegistry.counter("beerstock.replica.reads", "target", target).count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dio.beerstock.replication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplicationStateTest {
+
+    private final ReplicationState replicationState = new ReplicationState(1000, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        ReplicationState.clearRequiredPosition();
+    }
+
+    // ❌ Teste: Sem replicador informando posições, a réplica não atende leituras
+    @Test
+    void whenNoReplicatorIsRunningThenReadsStayOnPrimary() {
+        // then
+        assertThat(replicationState.canReadFromReplica()).isFalse();
+    }
+
+    // ✅ Teste: Com o replicador ativo e em dia, a réplica atende leituras até ele parar
+    @Test
+    void whenReplicatorRunsThenReplicaServesReadsUntilItStops() {
+        // when
+        replicationState.replicatorStarted();
+
+        // then
+        assertThat(replicationState.canReadFromReplica()).isTrue();
+
+        // when
+        replicationState.replicatorStopped();
+
+        // then
+        assertThat(replicationState.canReadFromReplica()).isFalse();
+    }
+
+    // ✅ Teste: Só a thread que acompanha as próprias escritas passa a exigir a posição delas
+    @Test
+    void whenThreadDoesNotTrackWritesThenCommittedWriteLeavesNoRequiredPosition() {
+        // given
+        replicationState.replicatorStarted();
+
+        // when
+        replicationState.recordPrimaryWrite();
+
+        // then
+        assertThat(replicationState.canReadFromReplica()).isTrue();
+        assertThat(replicationState.mayReadBehindPrimary()).isTrue();
+
+        // when
+        ReplicationState.trackWrites();
+        replicationState.recordPrimaryWrite();
+
+        // then
+        assertThat(replicationState.canReadFromReplica()).isFalse();
+        assertThat(replicationState.mayReadBehindPrimary()).isFalse();
+
+        // when
+        ReplicationState.clearRequiredPosition();
+        replicationState.recordReplicaApplied(2, 0);
+
+        // then
+        assertThat(replicationState.canReadFromReplica()).isTrue();
+        assertThat(replicationState.mayReadBehindPrimary()).isFalse();
+    }
+}
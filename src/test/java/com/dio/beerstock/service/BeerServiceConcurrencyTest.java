@@ -0,0 +1,127 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "beerstock.stock.retry.max-attempts=50",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class BeerServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 25;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // ✅ Teste: Incrementos concorrentes não perdem atualizações
+    @Test
+    void whenConcurrentIncrementsThenNoUpdateShouldBeLost() throws Exception {
+        // given
+        BeerDTO beer = createBeer("Concurrent Increments");
+
+        // when
+        runConcurrently(() -> beerService.increment(beer.getId(), 1));
+
+        // then
+        int expected = beer.getQuantity() + THREADS * INCREMENTS_PER_THREAD;
+        assertThat(beerService.findById(beer.getId()).getQuantity()).isEqualTo(expected);
+    }
+
+    // ⏱️ Benchmark: optimistic locking com retry x pessimistic locking (mvn test -Pbenchmark)
+    @Test
+    @Tag("benchmark")
+    void compareOptimisticAndPessimisticThroughput() throws Exception {
+        BeerDTO optimistic = createBeer("Optimistic Benchmark");
+        long start = System.nanoTime();
+        runConcurrently(() -> beerService.increment(optimistic.getId(), 1));
+        double optimisticSeconds = (System.nanoTime() - start) / 1e9;
+
+        BeerDTO pessimistic = createBeer("Pessimistic Benchmark");
+        start = System.nanoTime();
+        runConcurrently(() -> transactionTemplate.execute(status -> {
+            Beer beer = entityManager.find(Beer.class, pessimistic.getId(), LockModeType.PESSIMISTIC_WRITE);
+            beer.setQuality(beer.getQuality() + 1);
+            return beer;
+        }));
+        double pessimisticSeconds = (System.nanoTime() - start) / 1e9;
+
+        int operations = THREADS * INCREMENTS_PER_THREAD;
+        System.out.printf("optimistic  %8.0f ops/s (conflicts so far: %.0f)%n", operations / optimisticSeconds, conflicts());
+        System.out.printf("pessimistic %8.0f ops/s%n", operations / pessimisticSeconds);
+        assertThat(beerService.findById(pessimistic.getId()).getQuantity())
+                .isEqualTo(pessimistic.getQuantity() + operations);
+    }
+
+    // === Métodos auxiliares ===
+    private BeerDTO createBeer(String name) throws Exception {
+        return beerService.createBeer(BeerDTO.builder()
+                .name(name)
+                .brand("Concurrency")
+                .max(500)
+                .quantity(0)
+                .type(BeerType.LAGER)
+                .build());
+    }
+
+    private void runConcurrently(Callable<?> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        operation.call();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double conflicts() {
+        return Search.in(meterRegistry).name("beerstock.stock.conflicts").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -1,22 +1,31 @@
 package com.dio.beerstock.service;
 
+import com.dio.beerstock.cache.BeerCache;
+import com.dio.beerstock.dto.BatchGetItemDTO;
 import com.dio.beerstock.dto.BeerDTO;
 import com.dio.beerstock.entity.Beer;
 import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.event.BeerChangedEvent;
 import com.dio.beerstock.exception.BeerAlreadyRegisteredException;
 import com.dio.beerstock.exception.BeerNotFoundException;
 import com.dio.beerstock.exception.BeerStockExceededException;
 import com.dio.beerstock.mapper.BeerMapper;
-import com.dio.beerstock.repository.BeerRepository;
+import com.dio.beerstock.repository.BeerStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -32,11 +41,26 @@ public class BeerServiceTest {
     private static final String BEER_BRAND = "Ambev";
 
     @Mock
-    private BeerRepository beerRepository;
+    private BeerStore beerStore;
 
     @Mock
     private BeerMapper beerMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Spy
+    private BeerReadCoalescer readCoalescer = new BeerReadCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private BeerCache beerCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private BeerService beerService;
 
@@ -48,9 +72,9 @@ public class BeerServiceTest {
         Beer expectedSavedBeer = createValidBeer();
 
         // when
-        when(beerRepository.findByName(beerDTO.getName())).thenReturn(Optional.empty());
+        when(beerStore.findByName(beerDTO.getName())).thenReturn(Optional.empty());
         when(beerMapper.toModel(beerDTO)).thenReturn(expectedSavedBeer);
-        when(beerRepository.save(expectedSavedBeer)).thenReturn(expectedSavedBeer);
+        when(beerStore.insert(expectedSavedBeer)).thenReturn(expectedSavedBeer);
         when(beerMapper.toDTO(expectedSavedBeer)).thenReturn(beerDTO);
 
         // then
@@ -68,7 +92,7 @@ public class BeerServiceTest {
         BeerDTO beerDTO = createValidBeerDTO();
 
         // when
-        when(beerRepository.findByName(beerDTO.getName())).thenReturn(Optional.of(createValidBeer()));
+        when(beerStore.findByName(beerDTO.getName())).thenReturn(Optional.of(createValidBeer()));
 
         // then
         assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeer(beerDTO));
@@ -82,7 +106,7 @@ public class BeerServiceTest {
         BeerDTO expectedBeerDTO = createValidBeerDTO();
 
         // when
-        when(beerRepository.findByName(BEER_NAME)).thenReturn(Optional.of(validBeer));
+        when(beerStore.findByName(BEER_NAME)).thenReturn(Optional.of(validBeer));
         when(beerMapper.toDTO(validBeer)).thenReturn(expectedBeerDTO);
 
         // then
@@ -96,7 +120,7 @@ public class BeerServiceTest {
     @Test
     void whenInvalidBeerNameIsGivenThenThrowAnException() {
         // when
-        when(beerRepository.findByName(String.valueOf(INVALID_BEER_ID))).thenReturn(Optional.empty());
+        when(beerStore.findByName(String.valueOf(INVALID_BEER_ID))).thenReturn(Optional.empty());
 
         // then
         assertThrows(BeerNotFoundException.class, () -> beerService.findByName(String.valueOf(INVALID_BEER_ID)));
@@ -114,15 +138,15 @@ public class BeerServiceTest {
         expectedBeerDTO.setQuantity(expectedQuantityAfterIncrement); // Atualiza o DTO com a quantidade esperada
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
-        when(beerRepository.save(beer)).thenReturn(beer);
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
+        when(beerStore.update(beer)).thenReturn(beer);
         when(beerMapper.toDTO(beer)).thenReturn(expectedBeerDTO);
 
         BeerDTO incrementedBeerDTO = beerService.increment(VALID_BEER_ID, quantityToIncrement);
 
         // then
         assertThat(incrementedBeerDTO.getQuantity(), equalTo(expectedQuantityAfterIncrement)); // Deve ser 20
-        verify(beerRepository).save(beer); // Verifica se o save foi chamado
+        verify(beerStore).update(beer); // Verifica se o save foi chamado
         assertThat(beer.getQuality(), equalTo(expectedQuantityAfterIncrement)); // Verifica se a entidade foi atualizada
     }
 
@@ -135,7 +159,7 @@ public class BeerServiceTest {
         int quantityToIncrement = 20; // excede o max (100)
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
 
         // then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(VALID_BEER_ID, quantityToIncrement));
@@ -153,15 +177,15 @@ public class BeerServiceTest {
         expectedBeerDTO.setQuantity(expectedQuantityAfterDecrement); // Atualiza o DTO com a quantidade esperada
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
-        when(beerRepository.save(beer)).thenReturn(beer);
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
+        when(beerStore.update(beer)).thenReturn(beer);
         when(beerMapper.toDTO(beer)).thenReturn(expectedBeerDTO);
 
         BeerDTO decrementedBeerDTO = beerService.decrement(VALID_BEER_ID, quantityToDecrement);
 
         // then
         assertThat(decrementedBeerDTO.getQuantity(), equalTo(expectedQuantityAfterDecrement)); // Deve ser 5
-        verify(beerRepository).save(beer); // Verifica se o save foi chamado
+        verify(beerStore).update(beer); // Verifica se o save foi chamado
         assertThat(beer.getQuality(), equalTo(expectedQuantityAfterDecrement)); // Verifica se a entidade foi atualizada
     }
 
@@ -174,7 +198,7 @@ public class BeerServiceTest {
         int quantityToDecrement = 10; // maior que o estoque
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
 
         // then
         assertThrows(BeerStockExceededException.class, () -> beerService.decrement(VALID_BEER_ID, quantityToDecrement));
@@ -188,7 +212,7 @@ public class BeerServiceTest {
         BeerDTO beerDTO = createValidBeerDTO();
 
         // when
-        when(beerRepository.findAll()).thenReturn(Collections.singletonList(validBeer));
+        when(beerStore.findAll()).thenReturn(Collections.singletonList(validBeer));
         when(beerMapper.toDTO(validBeer)).thenReturn(beerDTO);
 
         List<BeerDTO> beerDTOList = beerService.listAll();
@@ -207,9 +231,9 @@ public class BeerServiceTest {
         Beer beer = createValidBeer();
 
         // when
-        when(beerRepository.findById(id)).thenReturn(Optional.of(beer));
+        when(beerStore.findById(id)).thenReturn(Optional.of(beer));
         when(beerMapper.toModel(beerDTO)).thenReturn(beer);
-        when(beerRepository.save(beer)).thenReturn(beer);
+        when(beerStore.update(beer)).thenReturn(beer);
         when(beerMapper.toDTO(beer)).thenReturn(beerDTO);
 
         BeerDTO updatedBeer = beerService.updateBeer(id, beerDTO);
@@ -218,6 +242,30 @@ public class BeerServiceTest {
         assertThat(updatedBeer, is(equalTo(beerDTO)));
     }
 
+    // ✅ Teste: Renomear cerveja publica o nome anterior
+    @Test
+    void whenBeerIsRenamedThenEventCarriesPreviousName() throws BeerNotFoundException, BeerStockExceededException {
+        // given
+        BeerDTO renamedDTO = createValidBeerDTO().toBuilder().name("Skol").build();
+        Beer existingBeer = createValidBeer();
+        Beer renamedBeer = createValidBeer();
+        renamedBeer.setName("Skol");
+
+        // when
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(existingBeer));
+        when(beerMapper.toModel(renamedDTO)).thenReturn(renamedBeer);
+        when(beerStore.update(renamedBeer)).thenReturn(renamedBeer);
+        when(beerMapper.toDTO(renamedBeer)).thenReturn(renamedDTO);
+
+        beerService.updateBeer(VALID_BEER_ID, renamedDTO);
+
+        // then
+        ArgumentCaptor<BeerChangedEvent> event = ArgumentCaptor.forClass(BeerChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getBeer().getName(), is(equalTo("Skol")));
+        assertThat(event.getValue().getPreviousName(), is(equalTo(BEER_NAME)));
+    }
+
     // ✅ Teste: Buscar cerveja por ID
     @Test
     void whenValidBeerIdIsGivenThenReturnBeer() throws BeerNotFoundException {
@@ -226,7 +274,7 @@ public class BeerServiceTest {
         BeerDTO expectedBeerDTO = createValidBeerDTO();
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(validBeer));
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(validBeer));
         when(beerMapper.toDTO(validBeer)).thenReturn(expectedBeerDTO);
 
         // then
@@ -236,11 +284,74 @@ public class BeerServiceTest {
         assertThat(foundBeerDTO.getId(), is(equalTo(VALID_BEER_ID)));
     }
 
+    // ✅ Teste: Cerveja em cache não consulta o banco
+    @Test
+    void whenBeerIsCachedThenRepositoryIsNotQueried() throws BeerNotFoundException {
+        // given
+        BeerDTO cachedBeerDTO = createValidBeerDTO();
+
+        // when
+        when(beerCache.getVersioned(VALID_BEER_ID)).thenReturn(Optional.of(new BeerCache.Versioned(cachedBeerDTO, 3L)));
+
+        // then
+        assertThat(beerService.findById(VALID_BEER_ID), is(equalTo(cachedBeerDTO)));
+        verify(beerStore, never()).findById(anyLong());
+    }
+
+    // ✅ Teste: Corpo e versão vêm da mesma leitura
+    @Test
+    void whenVersionedBeerIsRequestedThenBodyAndVersionComeFromOneRead() throws BeerNotFoundException {
+        // given
+        Beer validBeer = createValidBeer();
+        validBeer.setVersion(3L);
+        BeerDTO expectedBeerDTO = createValidBeerDTO();
+
+        // when
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(validBeer));
+        when(beerMapper.toDTO(validBeer)).thenReturn(expectedBeerDTO);
+
+        // then
+        BeerCache.Versioned found = beerService.findVersionedById(VALID_BEER_ID);
+
+        assertThat(found.beer(), is(equalTo(expectedBeerDTO)));
+        assertThat(found.version(), is(equalTo(3L)));
+        assertThat(BeerService.versionTag(VALID_BEER_ID, found.version()), is(equalTo("1-3")));
+        verify(beerStore, times(1)).findById(VALID_BEER_ID);
+        verify(beerCache).put(expectedBeerDTO, 3L);
+    }
+
+    // ✅ Teste: Busca em lote com uma consulta por tipo de chave, na ordem do pedido
+    @Test
+    void whenBatchGetIsCalledThenResultsFollowRequestOrder() {
+        // given
+        Beer beer = createValidBeer();
+        BeerDTO beerDTO = createValidBeerDTO();
+
+        // when
+        when(beerStore.findAllById(Set.of(VALID_BEER_ID, INVALID_BEER_ID))).thenReturn(List.of(beer));
+        when(beerStore.findByNameIn(Set.of(BEER_NAME))).thenReturn(List.of(beer));
+        when(beerMapper.toDTO(beer)).thenReturn(beerDTO);
+
+        // then
+        List<BatchGetItemDTO> items = beerService.batchGet(
+                List.of(INVALID_BEER_ID, VALID_BEER_ID, VALID_BEER_ID), List.of(BEER_NAME));
+
+        assertThat(items, hasSize(4));
+        assertThat(items.get(0).getId(), is(equalTo(INVALID_BEER_ID)));
+        assertThat(items.get(0).isFound(), is(false));
+        assertThat(items.get(1).getBeer(), is(equalTo(beerDTO)));
+        assertThat(items.get(2).getBeer(), is(equalTo(beerDTO)));
+        assertThat(items.get(3).getName(), is(equalTo(BEER_NAME)));
+        assertThat(items.get(3).isFound(), is(true));
+        verify(beerStore, times(1)).findAllById(any());
+        verify(beerStore, times(1)).findByNameIn(any());
+    }
+
     // ❌ Teste: Buscar cerveja por ID inexistente
     @Test
     void whenInvalidBeerIdIsGivenThenThrowException() {
         // when
-        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
+        when(beerStore.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
 
         // then
         assertThrows(BeerNotFoundException.class, () -> beerService.findById(INVALID_BEER_ID));
@@ -253,12 +364,11 @@ public class BeerServiceTest {
         Beer beer = createValidBeer();
 
         // when
-        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
-        doNothing().when(beerRepository).deleteById(VALID_BEER_ID);
+        when(beerStore.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
 
         // then
         assertDoesNotThrow(() -> beerService.deleteById(VALID_BEER_ID));
-        verify(beerRepository).deleteById(VALID_BEER_ID);
+        verify(beerStore).delete(beer);
     }
 
     // === Métodos auxiliares ===
@@ -281,6 +391,7 @@ public class BeerServiceTest {
                 .type(BeerType.LAGER)
                 .quality(10)
                 .max(100)
+                .version(0L)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.exception.BeerNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    // ✅ Teste: Chamadas concorrentes com a mesma chave compartilham uma execução
+    @Test
+    void whenConcurrentCallsShareAKeyThenLoaderRunsOnce() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("Brahma", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            awaitWaiting(CALLERS - 1);
+            release.countDown();
+
+            // then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("beerstock.singleflight.calls").tag("role", "waiter").counter().count())
+                .isEqualTo(CALLERS - 1);
+        assertThat(singleFlight.coalescingRatio()).isEqualTo((CALLERS - 1) / (double) CALLERS);
+    }
+
+    // ❌ Teste: A exceção do líder é entregue a quem aguardava
+    @Test
+    void whenLeaderFailsThenWaitersReceiveTheSameException() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("Brahma", () -> {
+                release.await();
+                throw new BeerNotFoundException("Brahma");
+            }));
+            awaitInFlight();
+            Future<String> waiter = executor.submit(() -> singleFlight.<BeerNotFoundException>execute("Brahma",
+                    () -> "not used"));
+            awaitWaiting(1);
+            release.countDown();
+
+            // then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BeerNotFoundException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BeerNotFoundException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ✅ Teste: Sem chamada em andamento, cada execução consulta de novo
+    @Test
+    void whenCallsAreSequentialThenNothingIsCached() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        singleFlight.execute("Brahma", () -> "v" + loads.incrementAndGet());
+        String second = singleFlight.execute("Brahma", () -> "v" + loads.incrementAndGet());
+
+        // then
+        assertThat(second).isEqualTo("v2");
+        assertThat(singleFlight.coalescingRatio()).isZero();
+    }
+
+    // === Métodos auxiliares ===
+    private void awaitWaiting(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("beerstock.singleflight.waiting").gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("beerstock.singleflight.calls").tag("role", "leader").counter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.dto.StockLevelDTO;
+import com.dio.beerstock.enums.BeerEventType;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.event.BeerChangedEvent;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.repository.StockMovementRepository;
+import com.dio.beerstock.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(StockLedgerService.class)
+@TestPropertySource(properties = "beerstock.ledger.snapshot-threshold=3")
+class StockLedgerServiceTest {
+
+    private static final long BEER_ID = 1L;
+    private static final Instant T0 = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    // ✅ Teste: Movimentações são gravadas na transação da alteração
+    @Test
+    void whenMovementsAreRecordedThenTheyShouldBePersisted() {
+        // when
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 5, 1);
+        record(BeerEventType.DECREMENTED, -3, 2);
+
+        // then
+        assertThat(movementRepository.count()).isEqualTo(3);
+    }
+
+    // ✅ Teste: Reconstrução do estoque em instantes passados
+    @Test
+    void whenStockAtIsQueriedThenReturnQuantityAtThatInstant() throws BeerNotFoundException {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        record(BeerEventType.INCREMENTED, 5, 10);
+        record(BeerEventType.DECREMENTED, -3, 20);
+        record(BeerEventType.UPDATED, 8, 30);
+        record(BeerEventType.DECREMENTED, -1, 40);
+
+        // then
+        assertThat(stockAt(0)).isEqualTo(10);
+        assertThat(stockAt(15)).isEqualTo(15);
+        assertThat(stockAt(25)).isEqualTo(12);
+        assertThat(stockAt(35)).isEqualTo(20);
+        assertThat(stockAt(45)).isEqualTo(19);
+    }
+
+    // ✅ Teste: Compactação gera snapshots e mantém a reconstrução correta
+    @Test
+    void whenThresholdIsReachedThenSnapshotShouldBeTaken() throws BeerNotFoundException {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        for (int i = 1; i <= 7; i++) {
+            record(BeerEventType.INCREMENTED, 1, i * 10);
+        }
+
+        // when
+        stockLedgerService.compact();
+
+        // then
+        assertThat(snapshotRepository.count()).isPositive();
+        assertThat(snapshotRepository.findTopByBeerIdOrderByLastMovementIdDesc(BEER_ID))
+                .get()
+                .satisfies(snapshot -> assertThat(movementRepository
+                        .countByBeerIdAndIdGreaterThan(BEER_ID, snapshot.getLastMovementId())).isLessThan(3));
+        assertThat(stockAt(5)).isEqualTo(10);
+        assertThat(stockAt(35)).isEqualTo(13);
+        assertThat(stockAt(75)).isEqualTo(17);
+    }
+
+    // ✅ Teste: Cauda da reconstrução termina no snapshot seguinte ao instante
+    @Test
+    void whenLaterSnapshotsExistThenPastStockIgnoresLaterMovements() throws BeerNotFoundException {
+        // given
+        record(BeerEventType.CREATED, 10, 0);
+        for (int i = 1; i <= 3; i++) {
+            record(BeerEventType.INCREMENTED, 1, i * 10);
+        }
+        stockLedgerService.compact();
+        for (int i = 4; i <= 6; i++) {
+            record(BeerEventType.DECREMENTED, -2, i * 10);
+        }
+        stockLedgerService.compact();
+
+        // then
+        assertThat(snapshotRepository.count()).isEqualTo(2);
+        assertThat(stockAt(15)).isEqualTo(11);
+        assertThat(stockAt(45)).isEqualTo(11);
+        assertThat(stockAt(65)).isEqualTo(7);
+    }
+
+    // ❌ Teste: Consulta antes da primeira movimentação
+    @Test
+    void whenNoMovementExistsBeforeInstantThenThrowAnException() {
+        // given
+        record(BeerEventType.CREATED, 10, 10);
+
+        // then
+        assertThatThrownBy(() -> stockLedgerService.stockAt(BEER_ID, T0))
+                .isInstanceOf(BeerNotFoundException.class);
+    }
+
+    // === Métodos auxiliares ===
+    private void record(BeerEventType type, int delta, long secondsAfterT0) {
+        BeerDTO beer = BeerDTO.builder()
+                .id(BEER_ID)
+                .name("Brahma")
+                .brand("Ambev")
+                .max(100)
+                .quantity(0)
+                .type(BeerType.LAGER)
+                .build();
+        stockLedgerService.onBeerChanged(
+                new BeerChangedEvent(type, beer, null, delta, 0, T0.plusSeconds(secondsAfterT0)));
+    }
+
+    private int stockAt(long secondsAfterT0) throws BeerNotFoundException {
+        StockLevelDTO stockLevel = stockLedgerService.stockAt(BEER_ID, T0.plusSeconds(secondsAfterT0));
+        return stockLevel.getQuantity();
+    }
+}
@@ -0,0 +1,214 @@
+package com.dio.beerstock.service;
+
+import com.dio.beerstock.BeerstockApplication;
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.repository.BeerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "beerstock.stock.mode=sharded",
+        "beerstock.stock.shards=2",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class StockShardExecutorTest {
+
+    private static final int COMMANDS = 200;
+
+    @Autowired
+    private StockCommandGateway stockCommandGateway;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    // ✅ Teste: Comandos concorrentes são aplicados em lote, sem perder atualizações
+    @Test
+    void whenCommandsAreSubmittedConcurrentlyThenAllAreAppliedInFewWrites() throws Exception {
+        // given
+        BeerDTO beer = createBeer("Sharded Increments", 0);
+
+        // when
+        List<CompletableFuture<BeerDTO>> results = new ArrayList<>();
+        for (int i = 0; i < COMMANDS; i++) {
+            results.add(stockCommandGateway.increment(beer.getId(), 1));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(beerService.findById(beer.getId()).getQuantity()).isEqualTo(COMMANDS);
+        assertThat(results).extracting(CompletableFuture::join)
+                .extracting(BeerDTO::getQuantity)
+                .isSorted()
+                .doesNotHaveDuplicates();
+        Beer saved = beerRepository.findById(beer.getId()).orElseThrow();
+        assertThat(saved.getVersion()).isLessThan(COMMANDS);
+    }
+
+    // ❌ Teste: Um comando recusado não afeta os demais do mesmo ciclo
+    @Test
+    void whenOneCommandIsInvalidThenOnlyItFails() throws Exception {
+        // given
+        BeerDTO beer = createBeer("Sharded Rejection", 5);
+
+        // when
+        CompletableFuture<BeerDTO> first = stockCommandGateway.decrement(beer.getId(), 3);
+        CompletableFuture<BeerDTO> tooMuch = stockCommandGateway.decrement(beer.getId(), 3);
+        CompletableFuture<BeerDTO> last = stockCommandGateway.increment(beer.getId(), 1);
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS).getQuantity()).isEqualTo(2);
+        assertThatThrownBy(() -> tooMuch.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BeerStockExceededException.class);
+        assertThat(last.get(5, TimeUnit.SECONDS).getQuantity()).isEqualTo(3);
+    }
+
+    // ❌ Teste: Cerveja inexistente
+    @Test
+    void whenBeerDoesNotExistThenFutureFailsWithNotFound() {
+        // when
+        CompletableFuture<BeerDTO> result = stockCommandGateway.increment(Long.MAX_VALUE, 1);
+
+        // then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BeerNotFoundException.class);
+    }
+
+    // ❌ Teste: Shard preso no desligamento é interrompido e recusa o que ficou na fila
+    @Test
+    void whenShardDoesNotDrainOnShutdownThenQueuedCommandsAreRejected() throws Exception {
+        // given
+        CountDownLatch applying = new CountDownLatch(1);
+        BeerService blockedService = mock(BeerService.class);
+        when(blockedService.applyStockCommands(any(), anyList())).thenAnswer(invocation -> {
+            applying.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("interrupted");
+        });
+        StockShardExecutor executor = new StockShardExecutor(blockedService, 1, 256, 1, 100, new SimpleMeterRegistry());
+        CompletableFuture<BeerDTO> inFlight = executor.submit(1L, StockCommand.increment(1));
+        assertThat(applying.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<BeerDTO> queued = executor.submit(2L, StockCommand.increment(1));
+
+        // when
+        executor.shutdown();
+
+        // then
+        assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> executor.submit(3L, StockCommand.increment(1)).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    // ⏱️ Benchmark: modo direto x shards, comandos concorrentes em poucas cervejas (mvn test -Pbenchmark)
+    // Reporta comandos aceitos por segundo; no modo direto, conflitos que esgotam o retry contam como falha.
+    @Test
+    @Tag("benchmark")
+    void compareDirectAndShardedThroughput() throws Exception {
+        run("direct", 1);
+        System.out.printf("%-10s %8.0f ops/s%n", "direct", run("direct", 1));
+        for (int shards : new int[]{1, 2, 4, 8}) {
+            System.out.printf("%-10s %8.0f ops/s%n", "sharded-" + shards, run("sharded", shards));
+        }
+    }
+
+    // === Métodos auxiliares ===
+    private BeerDTO createBeer(String name, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTO.builder()
+                .name(name + " " + System.nanoTime())
+                .brand("Brand")
+                .max(500)
+                .quantity(quantity)
+                .type(BeerType.IPA)
+                .build());
+    }
+
+    private double run(String mode, int shards) throws Exception {
+        int threads = 32;
+        int beers = 8;
+        int commandsPerThread = 200;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .properties("server.port=0",
+                        "beerstock.stock.mode=" + mode,
+                        "beerstock.stock.shards=" + shards,
+                        "beerstock.stock.retry.max-attempts=100",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            BeerService service = context.getBean(BeerService.class);
+            StockCommandGateway gateway = context.getBean(StockCommandGateway.class);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < beers; i++) {
+                ids.add(service.createBeer(BeerDTO.builder()
+                        .name("Bench " + i + " " + System.nanoTime())
+                        .brand("Brand")
+                        .max(500)
+                        .quantity(250)
+                        .type(BeerType.IPA)
+                        .build()).getId());
+            }
+
+            AtomicInteger failed = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> clients = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int client = t;
+                clients.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < commandsPerThread; i++) {
+                        Long id = ids.get((client + i) % beers);
+                        // chamada síncrona por cliente, como em uma requisição HTTP
+                        (i % 2 == 0 ? gateway.increment(id, 1) : gateway.decrement(id, 1))
+                                .exceptionally(e -> {
+                                    failed.incrementAndGet();
+                                    return null;
+                                })
+                                .join();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            executor.shutdown();
+            if (failed.get() > 0) {
+                System.out.printf("%-10s %8d failed (retries exhausted)%n", mode + "-" + shards, failed.get());
+            }
+            return (threads * commandsPerThread - failed.get()) / seconds;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dio.beerstock.sharding;
+
+import com.dio.beerstock.entity.Beer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardRebalancerTest {
+
+    private static final int BEERS = 200;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    // ✅ Teste: Ao adicionar um shard, as linhas vão para o shard do novo hash
+    @Test
+    void whenShardIsAddedThenRowsMoveToTheirNewShard() {
+        // given
+        DataSource index = newDatabase();
+        List<DataSource> twoShards = List.of(newDatabase(), newDatabase());
+        ShardedBeerStore before = new ShardedBeerStore(twoShards, index, executor);
+        before.initializeSchema();
+        List<Beer> inserted = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            inserted.add(before.insert(ShardedBeerStoreTest.createBeer("Beer " + i)));
+        }
+        List<DataSource> threeShards = List.of(twoShards.get(0), twoShards.get(1), newDatabase());
+        ShardedBeerStore.initializeShardSchema(threeShards);
+
+        // when
+        RebalanceReport report = new ShardRebalancer(32).rebalance(twoShards, threeShards);
+
+        // then
+        // linhas movidas para um shard ainda não percorrido são lidas de novo (e ficam onde estão)
+        assertThat(report.getScanned()).isGreaterThanOrEqualTo(BEERS);
+        assertThat(report.getMoved()).isPositive().isLessThan(BEERS);
+        assertThat(report.getRowsPerShard()).doesNotContain(0L);
+        assertThat(report.getRowsPerShard()[0] + report.getRowsPerShard()[1] + report.getRowsPerShard()[2])
+                .isEqualTo(BEERS);
+
+        ShardedBeerStore after = new ShardedBeerStore(threeShards, index, executor);
+        for (Beer beer : inserted) {
+            assertThat(after.findById(beer.getId())).contains(beer);
+            assertThat(after.findByName(beer.getName())).contains(beer);
+        }
+    }
+
+    // ✅ Teste: Repetir o rebalanceamento não move nada
+    @Test
+    void whenRebalanceIsRepeatedThenNothingMoves() {
+        // given
+        DataSource index = newDatabase();
+        List<DataSource> shards = List.of(newDatabase(), newDatabase());
+        ShardedBeerStore store = new ShardedBeerStore(shards, index, executor);
+        store.initializeSchema();
+        for (int i = 0; i < 20; i++) {
+            store.insert(ShardedBeerStoreTest.createBeer("Beer " + i));
+        }
+
+        // when
+        RebalanceReport report = new ShardRebalancer(8).rebalance(shards, shards);
+
+        // then
+        assertThat(report.getScanned()).isEqualTo(20);
+        assertThat(report.getMoved()).isZero();
+    }
+
+    // === Métodos auxiliares ===
+    private EmbeddedDatabase newDatabase() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databases.add(database);
+        return database;
+    }
+}
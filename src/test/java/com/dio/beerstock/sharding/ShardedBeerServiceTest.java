@@ -0,0 +1,59 @@
+package com.dio.beerstock.sharding;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerNotFoundException;
+import com.dio.beerstock.repository.BeerRepository;
+import com.dio.beerstock.repository.BeerStore;
+import com.dio.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-service-primary;DB_CLOSE_DELAY=-1",
+        "beerstock.sharding.enabled=true",
+        "beerstock.sharding.shard-urls=jdbc:h2:mem:sharded-service-0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:sharded-service-1;DB_CLOSE_DELAY=-1",
+        "beerstock.sharding.index-url=jdbc:h2:mem:sharded-service-index;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class ShardedBeerServiceTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerStore beerStore;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    // ✅ Teste: Com sharding ligado, o BeerService grava e lê nos shards
+    @Test
+    void whenShardingIsEnabledThenBeerServiceUsesTheShards() throws Exception {
+        // when
+        BeerDTO created = beerService.createBeer(BeerDTO.builder()
+                .name("Sharded Lager")
+                .brand("Ambev")
+                .max(100)
+                .quantity(10)
+                .type(BeerType.LAGER)
+                .build());
+        beerService.increment(created.getId(), 5);
+        beerService.updateBeer(created.getId(), beerService.findById(created.getId()).toBuilder()
+                .name("Sharded Pilsen")
+                .build());
+
+        // then
+        assertThat(beerStore).isInstanceOf(ShardedBeerStore.class);
+        assertThat(beerRepository.count()).isZero();
+        assertThat(beerService.findByName("Sharded Pilsen").getQuantity()).isEqualTo(15);
+        assertThatThrownBy(() -> beerService.findByName("Sharded Lager")).isInstanceOf(BeerNotFoundException.class);
+
+        beerService.deleteById(created.getId());
+        assertThat(beerStore.findById(created.getId())).isEmpty();
+    }
+}
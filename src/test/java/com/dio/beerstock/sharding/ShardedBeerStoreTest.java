@@ -0,0 +1,293 @@
+package com.dio.beerstock.sharding;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.entity.Beer;
+import com.dio.beerstock.enums.BeerType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardedBeerStoreTest {
+
+    private static final int SHARDS = 3;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(SHARDS);
+    private List<DataSource> shards;
+    private DataSource index;
+    private ShardedBeerStore store;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(newDatabase());
+        }
+        index = newDatabase();
+        store = new ShardedBeerStore(shards, index, executor);
+        store.initializeSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    // ✅ Teste: Cervejas são distribuídas entre os shards pelo hash do id
+    @Test
+    void whenBeersAreInsertedThenTheyAreSpreadAcrossShards() {
+        // when
+        for (int i = 0; i < 30; i++) {
+            store.insert(createBeer("Beer " + i));
+        }
+
+        // then
+        for (int i = 0; i < SHARDS; i++) {
+            assertThat(new JdbcTemplate(shards.get(i)).queryForObject("select count(*) from beer", Integer.class))
+                    .isPositive();
+        }
+        assertThat(store.findAll()).hasSize(30).isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+    }
+
+    // ✅ Teste: Busca por id e por nome (via índice global)
+    @Test
+    void whenBeerIsInsertedThenItCanBeFoundByIdAndName() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+
+        // then
+        assertThat(store.findById(saved.getId())).get().extracting(Beer::getName).isEqualTo("Brahma");
+        assertThat(store.findByName("Brahma")).get().extracting(Beer::getId).isEqualTo(saved.getId());
+        assertThat(store.findByName("Skol")).isEmpty();
+    }
+
+    // ❌ Teste: Nome único em todos os shards
+    @Test
+    void whenNameIsAlreadyUsedOnAnyShardThenInsertFails() {
+        // given
+        store.insert(createBeer("Brahma"));
+
+        // then
+        assertThatThrownBy(() -> store.insert(createBeer("Brahma"))).isInstanceOf(DuplicateKeyException.class);
+        assertThat(store.findAll()).hasSize(1);
+    }
+
+    // ✅ Teste: Renomear atualiza o índice global
+    @Test
+    void whenBeerIsRenamedThenIndexFollows() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+
+        // when
+        saved.setName("Brahma Duplo Malte");
+        Beer updated = store.update(saved);
+
+        // then
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(store.findByName("Brahma")).isEmpty();
+        assertThat(store.findByName("Brahma Duplo Malte")).isPresent();
+    }
+
+    // ❌ Teste: Atualização com versão antiga
+    @Test
+    void whenVersionIsStaleThenUpdateFails() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+        Beer stale = store.findById(saved.getId()).orElseThrow();
+        saved.setQuality(20);
+        store.update(saved);
+
+        // when
+        stale.setQuality(30);
+
+        // then
+        assertThatThrownBy(() -> store.update(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(store.findById(saved.getId())).get().extracting(Beer::getQuality).isEqualTo(20);
+    }
+
+    // ✅ Teste: Busca em lote e remoção
+    @Test
+    void whenBeersAreFetchedByIdsThenOnlyExistingOnesAreReturned() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(store.insert(createBeer("Beer " + i)).getId());
+        }
+
+        // when
+        store.delete(store.findById(ids.get(0)).orElseThrow());
+
+        // then
+        assertThat(store.findAllById(List.of(ids.get(0), ids.get(1), ids.get(5), Long.MAX_VALUE)))
+                .extracting(Beer::getId)
+                .containsExactly(ids.get(1), ids.get(5));
+        assertThat(store.findByName("Beer 0")).isEmpty();
+    }
+
+    // ❌ Teste: Renomeação recusada pelo shard libera o nome reservado no índice
+    @Test
+    void whenRenameFailsOnTheShardThenNewNameIsReleased() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+        Beer stale = store.findById(saved.getId()).orElseThrow();
+        saved.setQuality(20);
+        store.update(saved);
+
+        // when
+        stale.setName("Skol");
+
+        // then
+        assertThatThrownBy(() -> store.update(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(store.findByName("Brahma")).isPresent();
+        assertThat(store.findByName("Skol")).isEmpty();
+        assertThat(store.insert(createBeer("Skol")).getName()).isEqualTo("Skol");
+    }
+
+    // ❌ Teste: Remoção com versão antiga mantém o nome no índice
+    @Test
+    void whenDeleteUsesStaleVersionThenBeerKeepsItsName() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+        Beer stale = store.findById(saved.getId()).orElseThrow();
+        saved.setQuality(20);
+        store.update(saved);
+
+        // then
+        assertThatThrownBy(() -> store.delete(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(store.findByName("Brahma")).get().extracting(Beer::getQuality).isEqualTo(20);
+        assertThatThrownBy(() -> store.insert(createBeer("Brahma"))).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    // ✅ Teste: Entrada órfã no índice não é devolvida na busca por nome
+    @Test
+    void whenIndexEntryIsOrphanedThenFindByNameIgnoresIt() {
+        // given
+        Beer saved = store.insert(createBeer("Brahma"));
+        new JdbcTemplate(index).update("insert into beer_name_index (name, beer_id) values (?, ?)",
+                "Skol", saved.getId());
+
+        // then
+        assertThat(store.findByName("Skol")).isEmpty();
+        assertThat(store.findByNameIn(List.of("Brahma", "Skol"))).extracting(Beer::getName).containsExactly("Brahma");
+    }
+
+    // ✅ Teste: Paginação em ordem de id reunindo todos os shards
+    @Test
+    void whenPagesAreRequestedThenTheyFollowIdOrderAcrossShards() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(store.insert(createBeer("Beer " + i)).getId());
+        }
+
+        // when
+        List<Beer> first = store.findPage(0, 4);
+        List<Beer> second = store.findPage(first.get(3).getId(), 4);
+
+        // then
+        assertThat(first).extracting(Beer::getId).containsExactlyElementsOf(ids.subList(0, 4));
+        assertThat(second).extracting(Beer::getId).containsExactlyElementsOf(ids.subList(4, 8));
+    }
+
+    // ✅ Teste: Colunas de estoque e resumo do catálogo reúnem todos os shards
+    @Test
+    void whenStockIsScannedThenAllShardsAreIncluded() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            store.insert(createBeer("Beer " + i));
+        }
+        String before = store.catalogFingerprint();
+
+        // when
+        List<Integer> quantities = new ArrayList<>();
+        store.scanStock((brand, max, quantity, type) -> quantities.add(quantity));
+        Beer beer = store.findByName("Beer 3").orElseThrow();
+        beer.setQuality(20);
+        store.update(beer);
+
+        // then
+        assertThat(quantities).hasSize(10).containsOnly(10);
+        assertThat(before).isEqualTo("10-10-0");
+        assertThat(store.catalogFingerprint()).isEqualTo("10-10-1");
+    }
+
+    // ✅ Teste: Escritas no shard e no índice acompanham a transação de quem chama
+    @Test
+    void whenCallerTransactionRollsBackThenShardWritesAreUndone() {
+        // given
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(newDatabase()));
+
+        // when
+        Long rolledBack = transaction.execute(status -> {
+            Beer saved = store.insert(createBeer("Brahma"));
+            assertThat(store.findById(saved.getId())).isPresent();
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+        Long committed = transaction.execute(status -> store.insert(createBeer("Brahma")).getId());
+
+        // then
+        assertThat(store.findById(rolledBack)).isEmpty();
+        assertThat(store.findById(committed)).isPresent();
+        assertThat(store.findByName("Brahma")).get().extracting(Beer::getId).isEqualTo(committed);
+    }
+
+    // ✅ Teste: Inserção em lote devolve os ids na ordem recebida, com um batch por shard
+    @Test
+    void whenBeersAreInsertedInBatchThenIdsFollowInputOrder() {
+        // given
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            beers.add(BeerDTO.builder().name("Batch " + i).brand("Ambev").max(100).quantity(i)
+                    .type(BeerType.LAGER).build());
+        }
+
+        // when
+        List<Long> ids = store.insertBatch(beers);
+
+        // then
+        assertThat(ids).hasSize(10).isSorted();
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.findById(ids.get(i))).get().extracting(Beer::getQuality).isEqualTo(i);
+        }
+        assertThat(store.findExistingNames(List.of("Batch 0", "Batch 9", "Other")))
+                .containsExactlyInAnyOrder("Batch 0", "Batch 9");
+    }
+
+    // === Métodos auxiliares ===
+    private EmbeddedDatabase newDatabase() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        databases.add(database);
+        return database;
+    }
+
+    static Beer createBeer(String name) {
+        return Beer.builder()
+                .name(name)
+                .brand("Ambev")
+                .max(100)
+                .quality(10)
+                .type(BeerType.LAGER)
+                .build();
+    }
+}
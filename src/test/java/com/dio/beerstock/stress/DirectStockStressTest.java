@@ -0,0 +1,25 @@
+package com.dio.beerstock.stress;
+
+import com.dio.beerstock.dto.BeerDTO;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Motor padrão: {@code BeerService.increment/decrement} na thread de quem chama,
+ * com optimistic locking e retry.
+ */
+@SpringBootTest(properties = "beerstock.stock.mode=direct")
+class DirectStockStressTest extends StockEngineStressTest {
+
+    @Override
+    protected CompletableFuture<BeerDTO> apply(Long id, int delta) {
+        try {
+            return CompletableFuture.completedFuture(delta >= 0
+                    ? beerService.increment(id, delta)
+                    : beerService.decrement(id, -delta));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
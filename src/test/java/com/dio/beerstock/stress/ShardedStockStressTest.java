@@ -0,0 +1,25 @@
+package com.dio.beerstock.stress;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.service.StockCommandGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Motor com escritor único por shard ({@code beerstock.stock.mode=sharded}).
+ */
+@SpringBootTest(properties = {"beerstock.stock.mode=sharded", "beerstock.stock.shards=4"})
+class ShardedStockStressTest extends StockEngineStressTest {
+
+    @Autowired
+    private StockCommandGateway stockCommandGateway;
+
+    @Override
+    protected CompletableFuture<BeerDTO> apply(Long id, int delta) {
+        return delta >= 0
+                ? stockCommandGateway.increment(id, delta)
+                : stockCommandGateway.decrement(id, -delta);
+    }
+}
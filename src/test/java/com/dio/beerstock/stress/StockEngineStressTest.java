@@ -0,0 +1,273 @@
+package com.dio.beerstock.stress;
+
+import com.dio.beerstock.dto.BeerDTO;
+import com.dio.beerstock.enums.BeerType;
+import com.dio.beerstock.exception.BeerStockExceededException;
+import com.dio.beerstock.repository.BeerRepository;
+import com.dio.beerstock.service.BeerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Contrato de correção concorrente para motores de estoque.
+ * <p>
+ * Cada subclasse liga um motor ({@link #apply}) em um contexto Spring real com H2 embarcado;
+ * os cenários disparam incrementos e decrementos de muitas threads ao mesmo tempo e conferem
+ * que a quantidade final é exatamente a inicial mais a soma dos deltas aceitos, sem nunca
+ * sair de {@code [0, max]}. Um novo motor de estoque só entra com uma subclasse verde.
+ * <p>
+ * Também mede a contenção: throughput, comandos recusados por limite de estoque, conflitos
+ * de versão que esgotaram o retry e retries feitos ({@code beerstock.stock.retries}).
+ * Executar com: {@code mvn test -Pstress}.
+ */
+@Tag("stress")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.com.dio.beerstock=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.orm.jdbc.batch=OFF"
+})
+abstract class StockEngineStressTest {
+
+    private static final int THREADS = Integer.getInteger("beerstock.stress.threads", 16);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("beerstock.stress.operations", 300);
+
+    @Autowired
+    protected BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Aplica {@code delta} (positivo = entrada, negativo = saída) à cerveja pelo motor testado.
+     */
+    protected abstract CompletableFuture<BeerDTO> apply(Long id, int delta);
+
+    // ✅ Teste: Deltas aleatórios em uma única cerveja quente somam exatamente o estoque final
+    @Test
+    void whenManyThreadsHitOneBeerThenFinalQuantityEqualsAcceptedDeltas() throws Exception {
+        // given
+        List<BeerDTO> beers = createBeers("Hot", 1, 500, 50);
+
+        // when
+        Run run = hammer(beers, OPERATIONS_PER_THREAD, () -> randomDelta(5));
+
+        // then
+        run.report("single hot beer");
+        assertConserved(beers, run);
+    }
+
+    // ✅ Teste: Deltas espalhados entre várias cervejas, com contenção parcial
+    @Test
+    void whenThreadsSpreadAcrossBeersThenEveryBeerIsConserved() throws Exception {
+        // given
+        List<BeerDTO> beers = createBeers("Spread", 20, 300, 30);
+
+        // when
+        Run run = hammer(beers, OPERATIONS_PER_THREAD, () -> randomDelta(10));
+
+        // then
+        run.report("20 beers");
+        assertConserved(beers, run);
+    }
+
+    // ✅ Teste: Saídas concorrentes esgotam o estoque exatamente até zero, nunca abaixo
+    @Test
+    void whenThreadsRaceToDrainStockThenExactlyTheInitialQuantityIsAccepted() throws Exception {
+        // given
+        List<BeerDTO> beers = createBeers("Drain", 1, 500, 100);
+
+        // when
+        Run run = untilRejected(beers.get(0).getId(), -1);
+
+        // then
+        run.report("drain to zero");
+        assertThat(run.acceptedDeltas.get(0)).isEqualTo(-100);
+        assertThat(quantity(beers.get(0))).isZero();
+    }
+
+    // ✅ Teste: Entradas concorrentes enchem o estoque exatamente até o máximo, nunca acima
+    @Test
+    void whenThreadsRaceToFillStockThenItStopsExactlyAtMax() throws Exception {
+        // given
+        List<BeerDTO> beers = createBeers("Fill", 1, 150, 0);
+
+        // when
+        Run run = untilRejected(beers.get(0).getId(), 1);
+
+        // then
+        run.report("fill to max");
+        assertThat(run.acceptedDeltas.get(0)).isEqualTo(150);
+        assertThat(quantity(beers.get(0))).isEqualTo(150);
+    }
+
+    // === Métodos auxiliares ===
+    private interface DeltaSource {
+        int next();
+    }
+
+    /**
+     * Resultado de um comando: a cerveja atualizada, ou {@code null} se não foi aplicado.
+     */
+    private record Outcome(BeerDTO beer, boolean rejected) {
+    }
+
+    private final class Run {
+        final AtomicLongArray acceptedDeltas;
+        final LongAdder accepted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final double retriesBefore = retries();
+        long elapsedNanos;
+
+        Run(int beers) {
+            acceptedDeltas = new AtomicLongArray(beers);
+        }
+
+        void report(String scenario) {
+            long total = accepted.sum() + rejected.sum() + conflicts.sum();
+            System.out.printf("%-22s %-16s %8.0f ops/s | accepted %6d | rejected %6d | conflicts %5d | retries %6.0f%n",
+                    StockEngineStressTest.this.getClass().getSimpleName(), scenario, total / (elapsedNanos / 1e9), accepted.sum(), rejected.sum(), conflicts.sum(),
+                    retries() - retriesBefore);
+        }
+    }
+
+    private Run hammer(List<BeerDTO> beers, int operationsPerThread, DeltaSource deltas) throws Exception {
+        Run run = new Run(beers.size());
+        runThreads(run, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < operationsPerThread; i++) {
+                int index = random.nextInt(beers.size());
+                int delta = deltas.next();
+                BeerDTO beer = execute(run, beers.get(index).getId(), index, delta).beer();
+                if (beer != null) {
+                    assertThat(beer.getQuantity()).isBetween(0, beer.getMax());
+                }
+            }
+        });
+        return run;
+    }
+
+    private Run untilRejected(Long id, int delta) throws Exception {
+        Run run = new Run(1);
+        runThreads(run, () -> {
+            // o estoque só anda em um sentido: a primeira recusa significa que o limite foi
+            // atingido; conflitos de versão esgotados não encerram a thread
+            boolean rejected = false;
+            while (!rejected) {
+                rejected = execute(run, id, 0, delta).rejected();
+            }
+        });
+        return run;
+    }
+
+    private void runThreads(Run run, Runnable worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run();
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            run.elapsedNanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Outcome execute(Run run, Long id, int index, int delta) {
+        try {
+            BeerDTO beer = apply(id, delta).get(30, TimeUnit.SECONDS);
+            run.acceptedDeltas.addAndGet(index, delta);
+            run.accepted.increment();
+            return new Outcome(beer, false);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BeerStockExceededException) {
+                run.rejected.increment();
+                return new Outcome(null, true);
+            }
+            if (cause instanceof OptimisticLockingFailureException) {
+                run.conflicts.increment();
+                return new Outcome(null, false);
+            }
+            throw new AssertionError("Unexpected failure applying delta " + delta, cause);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void assertConserved(List<BeerDTO> beers, Run run) throws Exception {
+        for (int i = 0; i < beers.size(); i++) {
+            BeerDTO initial = beers.get(i);
+            assertThat(quantity(initial))
+                    .as("quantity of %s", initial.getName())
+                    .isBetween(0, initial.getMax())
+                    .isEqualTo(initial.getQuantity() + run.acceptedDeltas.get(i));
+        }
+    }
+
+    private List<BeerDTO> createBeers(String prefix, int count, int max, int quantity) throws Exception {
+        List<BeerDTO> beers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            beers.add(beerService.createBeer(BeerDTO.builder()
+                    .name(prefix + " " + getClass().getSimpleName() + " " + System.nanoTime() + " " + i)
+                    .brand("Stress")
+                    .max(max)
+                    .quantity(quantity)
+                    .type(BeerType.values()[i % BeerType.values().length])
+                    .build()));
+        }
+        return beers;
+    }
+
+    private int quantity(BeerDTO beer) throws Exception {
+        return beerRepository.findById(beer.getId()).orElseThrow().getQuality();
+    }
+
+    private double retries() {
+        return meterRegistry.find("beerstock.stock.retries").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static int randomDelta(int bound) {
+        int delta = 1 + ThreadLocalRandom.current().nextInt(bound);
+        return ThreadLocalRandom.current().nextBoolean() ? delta : -delta;
+    }
+}